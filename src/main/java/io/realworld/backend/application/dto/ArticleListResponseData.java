@@ -0,0 +1,64 @@
+package io.realworld.backend.application.dto;
+
+import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
+import io.realworld.backend.application.util.SortedLongSet;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import io.realworld.backend.rest.api.ArticleData;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import java.util.List;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A MultipleArticlesResponse that keeps its article list rows and is written straight from them by
+ * {@link ArticleListResponseSerializer}.
+ *
+ * <p>The {@code ArticleData} objects are only built when {@link #getArticles()} is called from
+ * Java code.
+ */
+@JsonSerialize(using = ArticleListResponseSerializer.class)
+public class ArticleListResponseData extends MultipleArticlesResponseData {
+  private final List<ArticleListItem> items;
+  private final MultipleFavouriteInfo favouriteInfo;
+  private final SortedLongSet followingIds;
+  private boolean mapped;
+
+  /** Creates the response for one page of rows out of {@code count}. */
+  public ArticleListResponseData(
+      List<ArticleListItem> items,
+      MultipleFavouriteInfo favouriteInfo,
+      SortedLongSet followingIds,
+      int count) {
+    this.items = items;
+    this.favouriteInfo = favouriteInfo;
+    this.followingIds = followingIds;
+    setArticlesCount(count);
+  }
+
+  @Override
+  public List<ArticleData> getArticles() {
+    if (!mapped) {
+      setArticles(Mappers.toArticleDataList(items, favouriteInfo, followingIds));
+      mapped = true;
+    }
+    return super.getArticles();
+  }
+
+  List<ArticleListItem> items() {
+    return items;
+  }
+
+  boolean isFavourited(ArticleListItem item) {
+    return favouriteInfo.getFavouritedArticleIds().contains(item.articleId());
+  }
+
+  int favouritesCount(ArticleListItem item) {
+    return favouriteInfo
+        .getFavouritedCountByArticleId()
+        .getOrDefault(item.articleId(), 0L)
+        .intValue();
+  }
+
+  boolean isFollowingAuthor(ArticleListItem item) {
+    return followingIds.contains(item.authorId());
+  }
+}
@@ -1,18 +1,27 @@
 package io.realworld.backend.application.dto;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
+import io.realworld.backend.application.service.ProfileCache.CachedProfile;
+import io.realworld.backend.application.util.SortedLongSet;
 import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.Tag;
 import io.realworld.backend.domain.aggregate.comment.Comment;
 import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
 import io.realworld.backend.rest.api.ArticleData;
+import io.realworld.backend.rest.api.BatchArticleResultData;
+import io.realworld.backend.rest.api.BatchArticlesResponseData;
+import io.realworld.backend.rest.api.BatchProfileResultData;
+import io.realworld.backend.rest.api.BatchProfilesResponseData;
 import io.realworld.backend.rest.api.CommentData;
 import io.realworld.backend.rest.api.MultipleArticlesResponseData;
 import io.realworld.backend.rest.api.MultipleCommentsResponseData;
+import io.realworld.backend.rest.api.MultipleProfilesResponseData;
 import io.realworld.backend.rest.api.NewArticleData;
 import io.realworld.backend.rest.api.NewCommentData;
 import io.realworld.backend.rest.api.ProfileData;
-import io.realworld.backend.rest.api.ProfileResponseData;
+import io.realworld.backend.rest.api.PublicProfileData;
+import io.realworld.backend.rest.api.PublicProfileResponseData;
 import io.realworld.backend.rest.api.SingleArticleResponseData;
 import io.realworld.backend.rest.api.SingleCommentResponseData;
 import io.realworld.backend.rest.api.TagsResponseData;
@@ -24,6 +33,7 @@ import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Value;
@@ -66,12 +76,46 @@ public class Mappers {
     }
   }
 
-  /** Constructs ProfileResponseData response. */
-  public static ProfileResponseData toProfileResponse(User user, boolean isFollowing) {
-    final var profileResponse = new ProfileResponseData();
-    final ProfileData profile = toProfile(user, isFollowing);
-    profileResponse.setProfile(profile);
-    return profileResponse;
+  /** Constructs PublicProfileResponseData response. */
+  public static PublicProfileResponseData toPublicProfileResponse(
+      CachedProfile cached, boolean isFollowing) {
+    final var resp = new PublicProfileResponseData();
+    resp.setProfile(toPublicProfile(cached, isFollowing));
+    return resp;
+  }
+
+  /** Constructs BatchProfilesResponseData response, in the order of {@code usernames}. */
+  public static BatchProfilesResponseData toBatchProfilesResponseData(
+      List<String> usernames, Map<String, CachedProfile> profiles, SortedLongSet followingIds) {
+    final var resp = new BatchProfilesResponseData();
+    resp.setProfiles(
+        usernames.stream()
+            .map(
+                username -> {
+                  final var result = new BatchProfileResultData();
+                  result.setUsername(username);
+                  final var cached = profiles.get(username);
+                  result.setFound(cached != null);
+                  if (cached != null) {
+                    result.setProfile(
+                        toPublicProfile(cached, followingIds.contains(cached.userId())));
+                  }
+                  return result;
+                })
+            .collect(Collectors.toList()));
+    return resp;
+  }
+
+  private static PublicProfileData toPublicProfile(CachedProfile cached, boolean isFollowing) {
+    final var profile = new PublicProfileData();
+    profile.setUsername(cached.username());
+    Optional.ofNullable(cached.bio()).ifPresent(profile::setBio);
+    Optional.ofNullable(cached.image()).ifPresent(profile::setImage);
+    profile.setFollowing(isFollowing);
+    profile.setFollowersCount(cached.followersCount());
+    profile.setFollowingCount(cached.followingCount());
+    profile.setArticlesCount(cached.articlesCount());
+    return profile;
   }
 
   /** Constructs ProfileData response. */
@@ -84,6 +128,18 @@ public class Mappers {
     return profile;
   }
 
+  /** Constructs MultipleProfilesResponseData response. */
+  public static MultipleProfilesResponseData toMultipleProfilesResponseData(
+      Collection<User> users, SortedLongSet followingIds, int count) {
+    final var resp = new MultipleProfilesResponseData();
+    resp.setProfiles(
+        users.stream()
+            .map(u -> toProfile(u, followingIds.contains(u.getId())))
+            .collect(Collectors.toList()));
+    resp.setProfilesCount(count);
+    return resp;
+  }
+
   @Value
   public static class FavouriteInfo {
     private final boolean isFavorited;
@@ -99,14 +155,23 @@ public class Mappers {
     return resp;
   }
 
-  /** Constructs Article from the request. */
-  public static Article fromNewArticleData(NewArticleData newArticleData, User user) {
+  /** Constructs SingleArticleResponseData response from an article row. */
+  public static SingleArticleResponseData toSingleArticleResponse(
+      ArticleListItem article, FavouriteInfo favouriteInfo, boolean isFollowingAuthor) {
+    final var resp = new SingleArticleResponseData();
+    resp.setArticle(toArticleData(article, favouriteInfo, isFollowingAuthor));
+    return resp;
+  }
+
+  /** Constructs Article from the request, labelled with the resolved {@code tags}. */
+  public static Article fromNewArticleData(
+      NewArticleData newArticleData, User user, Set<Tag> tags) {
     final var article = new Article();
     article.setTitle(newArticleData.getTitle());
     article.setDescription(newArticleData.getDescription());
     article.setBody(newArticleData.getBody());
     article.setAuthor(user);
-    article.setTags(ImmutableSet.copyOf(newArticleData.getTagList()));
+    article.setTags(tags);
     return article;
   }
 
@@ -152,7 +217,7 @@ public class Mappers {
 
   /** Constructs MultipleCommentsResponseData response. */
   public static MultipleCommentsResponseData toMultipleCommentsResponseData(
-      Collection<Comment> comments, Set<Long> followingIds) {
+      Collection<Comment> comments, SortedLongSet followingIds) {
     final var commentsResponseData = new MultipleCommentsResponseData();
     final var commentDataList =
         comments.stream()
@@ -178,34 +243,76 @@ public class Mappers {
     private final Map<Long, Long> favouritedCountByArticleId;
   }
 
-  /** Constructs MultipleArticlesResponseData response. */
+  /** Constructs MultipleArticlesResponseData response from article list rows. */
   public static MultipleArticlesResponseData toMultipleArticlesResponseData(
-      Collection<Article> articles,
+      Collection<ArticleListItem> articles,
       MultipleFavouriteInfo multipleFavouriteInfo,
-      Set<Long> followingIds,
+      SortedLongSet followingIds,
       int count) {
     final var multipleArticlesResponseData = new MultipleArticlesResponseData();
-    final var articleDataList =
-        articles.stream()
-            .map(
-                article ->
-                    toArticleData(
-                        article,
-                        new FavouriteInfo(
-                            multipleFavouriteInfo
-                                .getFavouritedArticleIds()
-                                .contains(article.getId()),
-                            multipleFavouriteInfo
-                                .getFavouritedCountByArticleId()
-                                .getOrDefault(article.getId(), 0L)
-                                .intValue()),
-                        followingIds.contains(article.getAuthor().getId())))
-            .collect(Collectors.toList());
-    multipleArticlesResponseData.setArticles(articleDataList);
+    multipleArticlesResponseData.setArticles(
+        toArticleDataList(articles, multipleFavouriteInfo, followingIds));
     multipleArticlesResponseData.setArticlesCount(count);
     return multipleArticlesResponseData;
   }
 
+  /** Constructs the ArticleData of article list rows. */
+  public static List<ArticleData> toArticleDataList(
+      Collection<ArticleListItem> articles,
+      MultipleFavouriteInfo multipleFavouriteInfo,
+      SortedLongSet followingIds) {
+    return articles.stream()
+        .map(
+            article ->
+                toArticleData(
+                    article,
+                    new FavouriteInfo(
+                        multipleFavouriteInfo
+                            .getFavouritedArticleIds()
+                            .contains(article.articleId()),
+                        multipleFavouriteInfo
+                            .getFavouritedCountByArticleId()
+                            .getOrDefault(article.articleId(), 0L)
+                            .intValue()),
+                    followingIds.contains(article.authorId())))
+        .collect(Collectors.toList());
+  }
+
+  /** Constructs BatchArticlesResponseData response, in the order of {@code slugs}. */
+  public static BatchArticlesResponseData toBatchArticlesResponseData(
+      List<String> slugs,
+      Map<String, Article> articles,
+      MultipleFavouriteInfo multipleFavouriteInfo,
+      SortedLongSet followingIds) {
+    final var resp = new BatchArticlesResponseData();
+    resp.setArticles(
+        slugs.stream()
+            .map(
+                slug -> {
+                  final var result = new BatchArticleResultData();
+                  result.setSlug(slug);
+                  final var article = articles.get(slug);
+                  result.setFound(article != null);
+                  if (article != null) {
+                    result.setArticle(
+                        toArticleData(
+                            article,
+                            new FavouriteInfo(
+                                multipleFavouriteInfo
+                                    .getFavouritedArticleIds()
+                                    .contains(article.getId()),
+                                multipleFavouriteInfo
+                                    .getFavouritedCountByArticleId()
+                                    .getOrDefault(article.getId(), 0L)
+                                    .intValue()),
+                            followingIds.contains(article.getAuthor().getId())));
+                  }
+                  return result;
+                })
+            .collect(Collectors.toList()));
+    return resp;
+  }
+
   /** Constructs TagsResponseData response. */
   public static TagsResponseData toTagsResponseData(List<String> tags) {
     final var tagsResponseData = new TagsResponseData();
@@ -220,7 +327,7 @@ public class Mappers {
     articleData.setTitle(article.getTitle());
     articleData.setDescription(article.getDescription());
     articleData.setBody(article.getBody());
-    articleData.setTagList(ImmutableList.copyOf(article.getTags()));
+    articleData.setTagList(article.getTagNames());
     articleData.setCreatedAt(article.getCreatedAt().atOffset(ZoneOffset.UTC));
     articleData.setUpdatedAt(article.getUpdatedAt().atOffset(ZoneOffset.UTC));
     articleData.setFavorited(favouriteInfo.isFavorited());
@@ -228,4 +335,25 @@ public class Mappers {
     articleData.setAuthor(toProfile(article.getAuthor(), isFollowingAuthor));
     return articleData;
   }
+
+  private static ArticleData toArticleData(
+      ArticleListItem article, FavouriteInfo favouriteInfo, boolean isFollowingAuthor) {
+    final var articleData = new ArticleData();
+    articleData.setSlug(article.slug());
+    articleData.setTitle(article.title());
+    articleData.setDescription(article.description());
+    articleData.setBody(article.body());
+    articleData.setTagList(ImmutableList.copyOf(article.tags()));
+    articleData.setCreatedAt(article.createdAt().atOffset(ZoneOffset.UTC));
+    articleData.setUpdatedAt(article.updatedAt().atOffset(ZoneOffset.UTC));
+    articleData.setFavorited(favouriteInfo.isFavorited());
+    articleData.setFavoritesCount(favouriteInfo.getFavoritesCount());
+    final var author = new ProfileData();
+    author.setUsername(article.authorUsername());
+    Optional.ofNullable(article.authorBio()).ifPresent(author::setBio);
+    Optional.ofNullable(article.authorImage()).ifPresent(author::setImage);
+    author.setFollowing(isFollowingAuthor);
+    articleData.setAuthor(author);
+    return articleData;
+  }
 }
@@ -0,0 +1,21 @@
+package io.realworld.backend.application.dto;
+
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+
+/**
+ * A MultipleArticlesResponse that the database has already rendered to JSON.
+ *
+ * <p>The web layer writes {@link #getJson()} as the response body unchanged; the inherited
+ * properties stay empty.
+ */
+public class RenderedArticlesResponseData extends MultipleArticlesResponseData {
+  private final String json;
+
+  public RenderedArticlesResponseData(String json) {
+    this.json = json;
+  }
+
+  public String getJson() {
+    return json;
+  }
+}
@@ -0,0 +1,35 @@
+package io.realworld.backend.application.dto;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import tools.jackson.core.io.SerializedString;
+
+/**
+ * Recently written timestamps, rendered as Jackson writes a UTC {@code OffsetDateTime} and
+ * encoded once.
+ *
+ * <p>A small direct-mapped table: a slot holds the last instant hashed to it. Unsynchronized, since
+ * entries are immutable and a lost update only costs another rendering.
+ */
+final class TimestampCache {
+  private static final int SIZE = 4096;
+
+  private final @Nullable Entry[] entries = new Entry[SIZE];
+
+  private record Entry(Instant instant, SerializedString text) {}
+
+  SerializedString get(Instant instant) {
+    final var slot = (instant.hashCode() * 0x9E3779B9) >>> 20;
+    final var entry = entries[slot];
+    if (entry != null && entry.instant().equals(instant)) {
+      return entry.text();
+    }
+    final var text =
+        new SerializedString(
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC)));
+    entries[slot] = new Entry(instant, text);
+    return text;
+  }
+}
@@ -1,22 +1,40 @@
 package io.realworld.backend.application.service;
 
+import io.realworld.backend.application.dto.ArticleListResponseData;
 import io.realworld.backend.application.dto.Mappers;
 import io.realworld.backend.application.dto.Mappers.FavouriteInfo;
 import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
+import io.realworld.backend.application.dto.RenderedArticlesResponseData;
 import io.realworld.backend.application.exception.ArticleNotFoundException;
+import io.realworld.backend.application.service.PublicReadCache.ArticleListKey;
+import io.realworld.backend.application.service.PublicReadCache.CachedArticle;
 import io.realworld.backend.application.util.BaseService;
+import io.realworld.backend.application.util.SortedLongSet;
 import io.realworld.backend.domain.aggregate.article.Article;
 import io.realworld.backend.domain.aggregate.article.ArticleRepository;
 import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
 import io.realworld.backend.domain.aggregate.comment.CommentRepository;
-import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteId;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository.FavouriteCount;
-import io.realworld.backend.domain.aggregate.follow.FollowRelationId;
-import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.event.DomainEvent.ArticleCreated;
+import io.realworld.backend.domain.event.DomainEvent.ArticleDeleted;
+import io.realworld.backend.domain.event.DomainEvent.ArticleUpdated;
+import io.realworld.backend.domain.event.DomainEvent.CommentAdded;
+import io.realworld.backend.domain.event.DomainEvent.CommentDeleted;
+import io.realworld.backend.domain.event.DomainEvent.Favourited;
+import io.realworld.backend.domain.event.DomainEvent.Unfavourited;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import io.realworld.backend.domain.readmodel.ArticleListJson;
+import io.realworld.backend.domain.readmodel.ArticleSummaryRepository;
 import io.realworld.backend.domain.service.AuthenticationService;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import io.realworld.backend.domain.service.FavouriteBuffer;
 import io.realworld.backend.rest.api.ArticlesApiDelegate;
+import io.realworld.backend.rest.api.BatchArticlesRequestData;
+import io.realworld.backend.rest.api.BatchArticlesResponseData;
 import io.realworld.backend.rest.api.MultipleArticlesResponseData;
 import io.realworld.backend.rest.api.MultipleCommentsResponseData;
 import io.realworld.backend.rest.api.NewArticleRequestData;
@@ -27,11 +45,17 @@ import io.realworld.backend.rest.api.TagsApiDelegate;
 import io.realworld.backend.rest.api.TagsResponseData;
 import io.realworld.backend.rest.api.UpdateArticleRequestData;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
@@ -45,9 +69,18 @@ import org.springframework.web.context.request.NativeWebRequest;
 @Transactional
 public class ArticleService extends BaseService implements ArticlesApiDelegate, TagsApiDelegate {
   private final ArticleRepository articleRepository;
-  private final FollowRelationRepository followRelationRepository;
+  private final TagRepository tagRepository;
+  private final TagDictionary tagDictionary;
+  private final ArticleSummaryRepository articleSummaryRepository;
+  private final ArticleListJson articleListJson;
+  private final FollowGraphService followGraphService;
   private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final FavouriteBuffer favouriteBuffer;
   private final CommentRepository commentRepository;
+  private final TrendingService trendingService;
+  private final ProfileCache profileCache;
+  private final PublicReadCache publicReadCache;
+  private final DomainEventPublisher domainEventPublisher;
   private final AuthenticationService authenticationService;
 
   /** {@inheritDoc} */
@@ -62,21 +95,86 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
     final var currentUser = currentUserOrThrow();
 
     final var newArticleData = req.getArticle();
-    final var article = Mappers.fromNewArticleData(newArticleData, currentUser);
+    final var article =
+        Mappers.fromNewArticleData(
+            newArticleData, currentUser, tagDictionary.resolve(newArticleData.getTagList()));
     articleRepository.save(article);
+    profileCache.evict(currentUser.getUsername());
+    domainEventPublisher.publish(new ArticleCreated(article.getId(), currentUser.getId()));
 
-    return articleResponse(article);
+    return articleResponse(article, Optional.of(currentUser));
   }
 
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<SingleArticleResponseData> getArticle(String slug) {
+    final var viewer = getAuthenticationService().getCurrentUser();
+    if (viewer.isEmpty()) {
+      final var cached =
+          publicReadCache.article(
+              slug,
+              s -> {
+                final var article =
+                    articleRepository
+                        .findBySlug(s)
+                        .orElseThrow(() -> new ArticleNotFoundException(s));
+                return new CachedArticle(
+                    article.getId(),
+                    Objects.requireNonNull(articleResponse(article, viewer).getBody()));
+              });
+      trendingService.viewed(cached.articleId());
+      return ok(cached.response());
+    }
     return articleRepository
         .findBySlug(slug)
-        .map(this::articleResponse)
+        .map(
+            article -> {
+              trendingService.viewed(article.getId());
+              return articleResponse(article, viewer);
+            })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<BatchArticlesResponseData> getArticlesBatch(BatchArticlesRequestData req) {
+    final var slugs = req.getSlugs();
+    final var viewer = getAuthenticationService().getCurrentUser();
+    final var articles = articleRepository.findBySlugs(slugs.stream().distinct().toList());
+    if (articles.isEmpty()) {
+      return ok(
+          Mappers.toBatchArticlesResponseData(
+              slugs,
+              Map.of(),
+              new MultipleFavouriteInfo(Collections.emptySet(), Collections.emptyMap()),
+              SortedLongSet.EMPTY));
+    }
+    final var articleIds = articles.stream().map(Article::getId).toList();
+    final var favouritedCounts =
+        articleFavouriteRepository.countByIdArticleIds(articleIds).stream()
+            .collect(Collectors.toMap(FavouriteCount::getArticleId, FavouriteCount::getCount));
+    final var favourited =
+        viewer
+            .map(
+                currentUser ->
+                    articleFavouriteRepository
+                        .findByIdUserIdAndIdArticleIdIn(currentUser.getId(), articleIds)
+                        .stream()
+                        .map(f -> f.getId().getArticleId())
+                        .collect(Collectors.toSet()))
+            .orElse(Collections.emptySet());
+    final var favouriteInfo =
+        favouriteBuffer.isEnabled()
+            ? withPendingFavourites(articleIds, viewer, favourited, favouritedCounts)
+            : new MultipleFavouriteInfo(favourited, favouritedCounts);
+    articles.forEach(article -> trendingService.viewed(article.getId()));
+    final var articlesBySlug =
+        articles.stream().collect(Collectors.toMap(Article::getSlug, Function.identity()));
+    return ok(
+        Mappers.toBatchArticlesResponseData(
+            slugs, articlesBySlug, favouriteInfo, followingIds(viewer)));
+  }
+
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<SingleArticleResponseData> updateArticle(
@@ -88,7 +186,9 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
               final var updateArticleData = req.getArticle();
               Mappers.updateArticle(article, updateArticleData);
               articleRepository.save(article);
-              return articleResponse(article);
+              publicReadCache.evictArticles(slug);
+              domainEventPublisher.publish(new ArticleUpdated(article.getId()));
+              return articleResponse(article, getAuthenticationService().getCurrentUser());
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -102,6 +202,11 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
             article -> {
               commentRepository.deleteByArticleId(article.getId());
               articleRepository.delete(article);
+              trendingService.forget(article.getId());
+              profileCache.evict(article.getAuthor().getUsername());
+              publicReadCache.evictArticles(slug);
+              domainEventPublisher.publish(
+                  new ArticleDeleted(article.getId(), article.getAuthor().getId()));
             });
     return new ResponseEntity<>(HttpStatus.OK);
   }
@@ -115,15 +220,10 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
         .findBySlug(slug)
         .map(
             article -> {
-              final var favId = new ArticleFavouriteId(currentUser.getId(), article.getId());
-              articleFavouriteRepository
-                  .findById(favId)
-                  .orElseGet(
-                      () -> {
-                        final var fav = new ArticleFavourite(currentUser.getId(), article.getId());
-                        return articleFavouriteRepository.save(fav);
-                      });
-              return articleResponse(article);
+              if (writeFavourite(currentUser, article, true)) {
+                trendingService.favourited(article.getId());
+              }
+              return articleResponse(article, Optional.of(currentUser), true);
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -136,9 +236,8 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
         .findBySlug(slug)
         .map(
             article -> {
-              final var favId = new ArticleFavouriteId(currentUser.getId(), article.getId());
-              articleFavouriteRepository.deleteById(favId);
-              return articleResponse(article);
+              writeFavourite(currentUser, article, false);
+              return articleResponse(article, Optional.of(currentUser), false);
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -152,12 +251,14 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
         .findBySlug(slug)
         .map(
             article -> {
-              final var isFollowingAuthor = isFollowingAuthor(article);
+              final var isFollowingAuthor = isFollowingAuthor(article, Optional.of(currentUser));
               final var comment =
                   Mappers.fromNewCommentData(commentData.getComment(), article, currentUser);
-              return ok(
-                  Mappers.toSingleCommentResponseData(
-                      commentRepository.save(comment), isFollowingAuthor));
+              final var saved = commentRepository.save(comment);
+              trendingService.commented(article.getId());
+              domainEventPublisher.publish(
+                  new CommentAdded(saved.getId(), article.getId(), currentUser.getId()));
+              return ok(Mappers.toSingleCommentResponseData(saved, isFollowingAuthor));
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -165,19 +266,27 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<Void> deleteArticleComment(String slug, Integer id) {
-    commentRepository.deleteById(id.longValue());
+    commentRepository
+        .findById(id.longValue())
+        .ifPresent(
+            comment -> {
+              commentRepository.delete(comment);
+              domainEventPublisher.publish(
+                  new CommentDeleted(comment.getId(), comment.getArticle().getId()));
+            });
     return new ResponseEntity<>(HttpStatus.OK);
   }
 
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<MultipleCommentsResponseData> getArticleComments(String slug) {
+    final var viewer = getAuthenticationService().getCurrentUser();
     return articleRepository
         .findBySlug(slug)
         .map(
             article -> {
               final var comments = commentRepository.findByArticleId(article.getId());
-              return ok(Mappers.toMultipleCommentsResponseData(comments, followingIds()));
+              return ok(Mappers.toMultipleCommentsResponseData(comments, followingIds(viewer)));
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -186,13 +295,24 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
   @Override
   public ResponseEntity<MultipleArticlesResponseData> getArticlesFeed(
       Integer limit, Integer offset) {
-    final var followingIds = followingIds();
+    final var viewer = getAuthenticationService().getCurrentUser();
+    final var followingIds = followingIds(viewer);
+    if (followingIds.isEmpty()) {
+      return articlesResponse(List.of(), 0, viewer);
+    }
+    final var authorIds = followingIds.toList();
+    if (isRenderedByDatabase()) {
+      return ok(
+          new RenderedArticlesResponseData(
+              articleListJson.findByAuthorIdIn(
+                  authorIds, viewer.map(User::getId).orElse(null), offset, limit)));
+    }
     final var articles =
-        articleRepository.findByAuthorIdIn(
-            followingIds,
+        articleSummaryRepository.findByAuthorIdIn(
+            authorIds,
             OffsetBasedPageRequest.of(offset, limit, Sort.by(Direction.DESC, "createdAt")));
-    final var articleCount = articleRepository.countByAuthorIdIn(followingIds);
-    return articlesResponse(articles, articleCount);
+    final var articleCount = articleSummaryRepository.countByAuthorIdIn(authorIds);
+    return articlesResponse(articles, articleCount, viewer);
   }
 
   /** {@inheritDoc} */
@@ -200,81 +320,211 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
   @Override
   public ResponseEntity<MultipleArticlesResponseData> getArticles(
       String tag, String author, String favorited, Integer limit, Integer offset) {
+    final var viewer = getAuthenticationService().getCurrentUser();
+    if (viewer.isEmpty()) {
+      return ok(
+          publicReadCache.articleList(
+              new ArticleListKey(tag, author, favorited, limit, offset),
+              key ->
+                  Objects.requireNonNull(
+                      findArticles(
+                              key.tag(),
+                              key.author(),
+                              key.favorited(),
+                              key.limit(),
+                              key.offset(),
+                              viewer)
+                          .getBody())));
+    }
+    return findArticles(tag, author, favorited, limit, offset, viewer);
+  }
+
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  private ResponseEntity<MultipleArticlesResponseData> findArticles(
+      @Nullable String tag,
+      @Nullable String author,
+      @Nullable String favorited,
+      int limit,
+      int offset,
+      Optional<User> viewer) {
+    Long tagId = null;
+    if (tag != null) {
+      final var id = tagDictionary.idOf(tag);
+      if (id.isEmpty()) {
+        // No article can have a tag that does not exist
+        return articlesResponse(List.of(), 0, viewer);
+      }
+      tagId = id.getAsLong();
+    }
+    if (isRenderedByDatabase()) {
+      return ok(
+          new RenderedArticlesResponseData(
+              articleListJson.findByFilters(
+                  tagId, author, favorited, viewer.map(User::getId).orElse(null), offset, limit)));
+    }
     final var articles =
-        articleRepository.findByFilters(
-            tag,
+        articleSummaryRepository.findByFilters(
+            tagId,
             author,
             favorited,
             OffsetBasedPageRequest.of(offset, limit, Sort.by(Direction.DESC, "createdAt")));
-    final var articleCount = articleRepository.countByFilter(tag, author, favorited);
-    return articlesResponse(articles, articleCount);
+    final var articleCount = articleSummaryRepository.countByFilters(tagId, author, favorited);
+    return articlesResponse(articles, articleCount, viewer);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<MultipleArticlesResponseData> getTrendingArticles(Integer limit) {
+    final var ids = trendingService.top(limit);
+    final var articlesById =
+        articleSummaryRepository.findByArticleIdIn(ids).stream()
+            .collect(Collectors.toMap(ArticleListItem::articleId, Function.identity()));
+    final var articles = ids.stream().map(articlesById::get).filter(Objects::nonNull).toList();
+    return articlesResponse(articles, articles.size(), getAuthenticationService().getCurrentUser());
   }
 
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<TagsResponseData> tagsGet() {
-    return ok(Mappers.toTagsResponseData(articleRepository.findAllTags()));
+    return ok(
+        publicReadCache.tags(key -> Mappers.toTagsResponseData(tagRepository.findNamesInUse())));
   }
 
   private ResponseEntity<MultipleArticlesResponseData> articlesResponse(
-      List<Article> articles, int articleCount) {
-    final var articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+      List<ArticleListItem> articles, int articleCount, Optional<User> viewer) {
+    if (articles.isEmpty()) {
+      return ok(
+          new ArticleListResponseData(
+              articles,
+              new MultipleFavouriteInfo(Collections.emptySet(), Collections.emptyMap()),
+              SortedLongSet.EMPTY,
+              articleCount));
+    }
+    final var articleIds =
+        articles.stream().map(ArticleListItem::articleId).collect(Collectors.toList());
     final var favouritedCounts =
-        articleFavouriteRepository.countByIdArticleIds(articleIds).stream()
-            .collect(Collectors.groupingBy(FavouriteCount::getArticleId, Collectors.counting()));
+        articles.stream()
+            .collect(
+                Collectors.toMap(ArticleListItem::articleId, ArticleListItem::favouritesCount));
     final var favourited =
-        getAuthenticationService()
-            .getCurrentUser()
+        viewer
             .map(
                 currentUser ->
                     articleFavouriteRepository.findByIdUserId(currentUser.getId()).stream()
                         .map(f -> f.getId().getArticleId())
                         .collect(Collectors.toSet()))
             .orElse(Collections.emptySet());
-    final var favouriteInfo = new MultipleFavouriteInfo(favourited, favouritedCounts);
+    final var favouriteInfo =
+        favouriteBuffer.isEnabled()
+            ? withPendingFavourites(articleIds, viewer, favourited, favouritedCounts)
+            : new MultipleFavouriteInfo(favourited, favouritedCounts);
 
     return ok(
-        Mappers.toMultipleArticlesResponseData(
-            articles, favouriteInfo, followingIds(), articleCount));
+        new ArticleListResponseData(articles, favouriteInfo, followingIds(viewer), articleCount));
   }
 
-  private ResponseEntity<SingleArticleResponseData> articleResponse(Article article) {
-    final var isFollowingAuthor = isFollowingAuthor(article);
+  /**
+   * Whether list pages come from the database as JSON. Not while favourites are buffered, since
+   * the database does not see the pending ones yet.
+   */
+  private boolean isRenderedByDatabase() {
+    return articleListJson.isEnabled() && !favouriteBuffer.isEnabled();
+  }
+
+  private ResponseEntity<SingleArticleResponseData> articleResponse(
+      Article article, Optional<User> viewer) {
     final var isFavoured =
-        getAuthenticationService()
-            .getCurrentUser()
+        viewer
             .map(
                 currentUser ->
-                    articleFavouriteRepository
-                        .findById(new ArticleFavouriteId(currentUser.getId(), article.getId()))
-                        .isPresent())
+                    favouriteBuffer
+                        .pendingState(currentUser.getId(), article.getId())
+                        .orElseGet(() -> isPersistedFavourite(currentUser, article)))
             .orElse(false);
-    final var favouritesCount = articleFavouriteRepository.countByIdArticleId(article.getId());
+    return articleResponse(article, viewer, isFavoured);
+  }
+
+  private ResponseEntity<SingleArticleResponseData> articleResponse(
+      Article article, Optional<User> viewer, boolean isFavoured) {
+    final var isFollowingAuthor = isFollowingAuthor(article, viewer);
+    final var favouritesCount =
+        (int)
+            Math.max(
+                0,
+                articleFavouriteRepository.countByIdArticleId(article.getId())
+                    + favouriteBuffer.pendingCountDelta(article.getId()));
     final var favouriteInfo = new FavouriteInfo(isFavoured, favouritesCount);
     return ok(Mappers.toSingleArticleResponse(article, favouriteInfo, isFollowingAuthor));
   }
 
-  private boolean isFollowingAuthor(Article article) {
-    return getAuthenticationService()
-        .getCurrentUser()
+  /**
+   * Writes the favourite now and publishes the change, or hands it to the write-behind buffer when
+   * that is enabled; the buffer publishes once it has written the favourite.
+   *
+   * @return whether the favourite changed; for buffered writes, counting intents not written yet
+   */
+  private boolean writeFavourite(User user, Article article, boolean favourite) {
+    if (favouriteBuffer.isEnabled()) {
+      return favouriteBuffer.record(
+          user.getId(), article.getId(), favourite, () -> isPersistedFavourite(user, article));
+    }
+    final var changed =
+        favourite
+            ? articleFavouriteRepository.insertIfAbsent(user.getId(), article.getId()) > 0
+            : articleFavouriteRepository.deleteIfPresent(user.getId(), article.getId()) > 0;
+    if (changed) {
+      domainEventPublisher.publish(
+          favourite
+              ? new Favourited(user.getId(), article.getId())
+              : new Unfavourited(user.getId(), article.getId()));
+    }
+    return changed;
+  }
+
+  private boolean isPersistedFavourite(User user, Article article) {
+    return articleFavouriteRepository.existsById(
+        new ArticleFavouriteId(user.getId(), article.getId()));
+  }
+
+  /** Overlays favourites that the write-behind buffer has not written yet. */
+  private MultipleFavouriteInfo withPendingFavourites(
+      List<Long> articleIds,
+      Optional<User> viewer,
+      Set<Long> persistedFavourited,
+      Map<Long, Long> persistedCounts) {
+    final var favourited = new HashSet<>(persistedFavourited);
+    final var counts = new HashMap<>(persistedCounts);
+    for (final var articleId : articleIds) {
+      viewer
+          .flatMap(u -> favouriteBuffer.pendingState(u.getId(), articleId))
+          .ifPresent(
+              isFavourited -> {
+                if (isFavourited) {
+                  favourited.add(articleId);
+                } else {
+                  favourited.remove(articleId);
+                }
+              });
+      final var delta = favouriteBuffer.pendingCountDelta(articleId);
+      if (delta != 0) {
+        counts.put(articleId, Math.max(0, counts.getOrDefault(articleId, 0L) + delta));
+      }
+    }
+    return new MultipleFavouriteInfo(favourited, counts);
+  }
+
+  private boolean isFollowingAuthor(Article article, Optional<User> viewer) {
+    return viewer
         .map(
             currentUser ->
-                followRelationRepository
-                    .findById(
-                        new FollowRelationId(currentUser.getId(), article.getAuthor().getId()))
-                    .isPresent())
+                followGraphService.isFollowing(currentUser.getId(), article.getAuthor().getId()))
         .orElse(false);
   }
 
-  private Set<Long> followingIds() {
-    return getAuthenticationService()
-        .getCurrentUser()
-        .map(
-            currentUser ->
-                followRelationRepository.findByIdFollowerId(currentUser.getId()).stream()
-                    .map(f -> f.getId().getFolloweeId())
-                    .collect(Collectors.toSet()))
-        .orElse(Collections.emptySet());
+  private SortedLongSet followingIds(Optional<User> viewer) {
+    return viewer
+        .map(currentUser -> followGraphService.following(currentUser.getId()))
+        .orElse(SortedLongSet.EMPTY);
   }
 
   /** {@inheritDoc} */
@@ -0,0 +1,130 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository.FavouriteCount;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.event.DomainEvent.ArticleCreated;
+import io.realworld.backend.domain.event.DomainEvent.ArticleDeleted;
+import io.realworld.backend.domain.event.DomainEvent.ArticleUpdated;
+import io.realworld.backend.domain.event.DomainEvent.Favourited;
+import io.realworld.backend.domain.event.DomainEvent.ProfileUpdated;
+import io.realworld.backend.domain.event.DomainEvent.Unfavourited;
+import io.realworld.backend.domain.event.ProjectionHandler;
+import io.realworld.backend.domain.event.PublishedEvent;
+import io.realworld.backend.domain.readmodel.ArticleSummary;
+import io.realworld.backend.domain.readmodel.ArticleSummaryRepository;
+import jakarta.persistence.EntityManager;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps {@link ArticleSummary} rows in step with articles, their favourites and their authors.
+ *
+ * <p>Events only name what changed: every batch reloads the articles it touches and recounts their
+ * favourites, and copies the current profile of authors who edited theirs, so an event applied
+ * twice or late leaves the same rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleSummaryProjection implements ProjectionHandler {
+  private static final int BACKFILL_BATCH_SIZE = 500;
+
+  private final ArticleRepository articleRepository;
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final UserRepository userRepository;
+  private final ArticleSummaryRepository articleSummaryRepository;
+  private final EntityManager entityManager;
+
+  /** {@inheritDoc} */
+  @Override
+  public String name() {
+    return "article-summary";
+  }
+
+  /**
+   * Summarizes the next articles by id and deletes summaries in that id range whose article is
+   * gone, so a rebuild over an existing table leaves no stale rows. The persistence context is
+   * cleared afterwards, so only one chunk of entities is held at a time.
+   */
+  @Override
+  public long backfill(long after) {
+    final var articles =
+        articleRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(BACKFILL_BATCH_SIZE));
+    final var upTo =
+        articles.isEmpty() ? Long.MAX_VALUE : articles.get(articles.size() - 1).getId();
+    articleSummaryRepository.deleteOrphans(after, upTo);
+    save(articles);
+    entityManager.flush();
+    entityManager.clear();
+    return articles.isEmpty() ? -1 : upTo;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void handle(List<PublishedEvent> events) {
+    final Set<Long> articleIds = new LinkedHashSet<>();
+    final Set<Long> authorIds = new LinkedHashSet<>();
+    for (final var published : events) {
+      switch (published.event()) {
+        case ArticleCreated e -> articleIds.add(e.articleId());
+        case ArticleUpdated e -> articleIds.add(e.articleId());
+        case ArticleDeleted e -> articleIds.add(e.articleId());
+        case Favourited e -> articleIds.add(e.articleId());
+        case Unfavourited e -> articleIds.add(e.articleId());
+        case ProfileUpdated e -> authorIds.add(e.userId());
+        default -> {
+          // Not shown in summaries
+        }
+      }
+    }
+    for (final var author : userRepository.findAllById(authorIds)) {
+      articleSummaryRepository.refreshAuthor(
+          author.getId(),
+          author.getUsername(),
+          author.getBio().orElse(null),
+          author.getImage().orElse(null));
+    }
+    if (!articleIds.isEmpty()) {
+      final var articles = articleRepository.findByIdIn(articleIds);
+      final var deleted = new LinkedHashSet<>(articleIds);
+      articles.forEach(a -> deleted.remove(a.getId()));
+      articleSummaryRepository.deleteAllByIdInBatch(deleted);
+      save(articles);
+    }
+  }
+
+  private void save(List<Article> articles) {
+    if (articles.isEmpty()) {
+      return;
+    }
+    final var ids = articles.stream().map(Article::getId).toList();
+    final var counts =
+        articleFavouriteRepository.countByIdArticleIds(ids).stream()
+            .collect(Collectors.toMap(FavouriteCount::getArticleId, FavouriteCount::getCount));
+    final var existing =
+        articleSummaryRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(ArticleSummary::getArticleId, Function.identity()));
+    final var summaries =
+        articles.stream()
+            .map(
+                article -> {
+                  final var count = counts.getOrDefault(article.getId(), 0L);
+                  final var summary = existing.get(article.getId());
+                  if (summary == null) {
+                    return new ArticleSummary(article, count);
+                  }
+                  summary.refresh(article, count);
+                  return summary;
+                })
+            .toList();
+    articleSummaryRepository.saveAll(summaries);
+  }
+}
@@ -0,0 +1,163 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.realworld.backend.application.util.InvalidationVersions;
+import io.realworld.backend.application.util.SortedLongSet;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.service.InvalidationBus;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory follow graph.
+ *
+ * <p>Forward (following) and reverse (followers) adjacency of each user are loaded on first use and
+ * kept as {@link SortedLongSet}s in two size-bounded caches that evict the least recently used
+ * users. Follow and unfollow update loaded sets in place once their transaction commits, and other
+ * instances evict the two sets through the {@link InvalidationBus}. A load that raced with either
+ * is dropped again (see {@link InvalidationVersions}). Entries also expire after {@code
+ * conduit.follow-graph.expire-after-write}, which bounds staleness should an invalidation be lost.
+ */
+@Service
+public class FollowGraphService {
+  /** Cache name of the following sets on the {@link InvalidationBus}; keys are user ids. */
+  public static final String FOLLOWING_INVALIDATION_CACHE = "following";
+
+  /** Cache name of the follower sets on the {@link InvalidationBus}; keys are user ids. */
+  public static final String FOLLOWERS_INVALIDATION_CACHE = "followers";
+
+  private final InvalidationBus invalidationBus;
+  private final Adjacency following;
+  private final Adjacency followers;
+
+  /** One direction of the graph, with the versions of its invalidations. */
+  private static final class Adjacency implements InvalidationBus.Listener {
+    private final LoadingCache<Long, SortedLongSet> sets;
+    private final InvalidationVersions<Long> versions;
+
+    Adjacency(LoadingCache<Long, SortedLongSet> sets, long maximumSize) {
+      this.sets = sets;
+      this.versions = new InvalidationVersions<>(maximumSize);
+    }
+
+    SortedLongSet get(long userId) {
+      final var version = versions.current();
+      final var set = sets.getUnchecked(userId);
+      if (versions.invalidatedSince(userId, version)) {
+        sets.invalidate(userId);
+      }
+      return set;
+    }
+
+    /** Replaces a loaded set; sets that are not loaded pick the change up from the database. */
+    void update(long userId, UnaryOperator<SortedLongSet> change) {
+      versions.invalidate(List.of(userId));
+      final var map = sets.asMap();
+      while (true) {
+        final var current = map.get(userId);
+        if (current == null || map.replace(userId, current, change.apply(current))) {
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void evict(Collection<String> userIds) {
+      final var ids = userIds.stream().map(Long::valueOf).toList();
+      versions.invalidate(ids);
+      sets.invalidateAll(ids);
+    }
+
+    @Override
+    public void evictAll() {
+      versions.invalidateAll();
+      sets.invalidateAll();
+    }
+  }
+
+  /** Creates the service; cache bounds come from {@code conduit.follow-graph.*}. */
+  public FollowGraphService(
+      FollowRelationRepository followRelationRepository,
+      InvalidationBus invalidationBus,
+      @Value("${conduit.follow-graph.maximum-size:10000}") long maximumSize,
+      @Value("${conduit.follow-graph.expire-after-write:10m}") Duration expireAfterWrite) {
+    final var builder =
+        CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite);
+    this.invalidationBus = invalidationBus;
+    this.following =
+        new Adjacency(
+            builder.build(
+                CacheLoader.from(
+                    (Long id) -> SortedLongSet.of(followRelationRepository.findFolloweeIds(id)))),
+            maximumSize);
+    this.followers =
+        new Adjacency(
+            builder.build(
+                CacheLoader.from(
+                    (Long id) -> SortedLongSet.of(followRelationRepository.findFollowerIds(id)))),
+            maximumSize);
+    invalidationBus.subscribe(FOLLOWING_INVALIDATION_CACHE, following);
+    invalidationBus.subscribe(FOLLOWERS_INVALIDATION_CACHE, followers);
+  }
+
+  /** Ids of the users {@code userId} follows. */
+  public SortedLongSet following(long userId) {
+    return following.get(userId);
+  }
+
+  /** Ids of the users following {@code userId}. */
+  public SortedLongSet followers(long userId) {
+    return followers.get(userId);
+  }
+
+  public boolean isFollowing(long followerId, long followeeId) {
+    return following(followerId).contains(followeeId);
+  }
+
+  /** Records a new follow relation once the current transaction commits. */
+  public void followed(long followerId, long followeeId) {
+    afterCommit(
+        () -> {
+          following.update(followerId, s -> s.with(followeeId));
+          followers.update(followeeId, s -> s.with(followerId));
+          publish(followerId, followeeId);
+        });
+  }
+
+  /** Records a removed follow relation once the current transaction commits. */
+  public void unfollowed(long followerId, long followeeId) {
+    afterCommit(
+        () -> {
+          following.update(followerId, s -> s.without(followeeId));
+          followers.update(followeeId, s -> s.without(followerId));
+          publish(followerId, followeeId);
+        });
+  }
+
+  private void publish(long followerId, long followeeId) {
+    invalidationBus.publish(FOLLOWING_INVALIDATION_CACHE, List.of(Long.toString(followerId)));
+    invalidationBus.publish(FOLLOWERS_INVALIDATION_CACHE, List.of(Long.toString(followeeId)));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,212 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.realworld.backend.application.util.InvalidationVersions;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository.AuthorArticleCount;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository.FollowCount;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.InvalidationBus;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Public profiles by username.
+ *
+ * <p>Each entry holds the viewer-independent part of a profile: the user's id and profile fields,
+ * and how many followers, followees and articles they have. Whether the viewer follows the user
+ * comes from the {@link FollowGraphService}. Writers evict the usernames they affect once their
+ * transaction commits, on this instance and, through the {@link InvalidationBus}, on the others. A
+ * load that raced with an eviction is dropped again (see {@link InvalidationVersions}), and the
+ * {@link PublicReadCache} drops its responses for the same usernames. Entries also expire after
+ * {@code conduit.profile-cache.expire-after-write}, which bounds staleness should an invalidation
+ * be lost entirely.
+ */
+@Service
+public class ProfileCache {
+  /** Cache name on the {@link InvalidationBus}; keys are usernames. */
+  public static final String INVALIDATION_CACHE = "profile";
+
+  /** Viewer-independent part of a profile. */
+  public record CachedProfile(
+      long userId,
+      String username,
+      @Nullable String bio,
+      @Nullable String image,
+      int followersCount,
+      int followingCount,
+      int articlesCount) {
+    /** The profile with its follower count changed by {@code delta}. */
+    public CachedProfile withFollowers(int delta) {
+      return new CachedProfile(
+          userId, username, bio, image, followersCount + delta, followingCount, articlesCount);
+    }
+  }
+
+  private final UserRepository userRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final ArticleRepository articleRepository;
+  private final InvalidationBus invalidationBus;
+  private final PublicReadCache publicReadCache;
+  private final Cache<String, CachedProfile> profiles;
+  private final InvalidationVersions<String> versions;
+
+  /** Creates the cache; bounds come from {@code conduit.profile-cache.*}. */
+  public ProfileCache(
+      UserRepository userRepository,
+      FollowRelationRepository followRelationRepository,
+      ArticleRepository articleRepository,
+      InvalidationBus invalidationBus,
+      PublicReadCache publicReadCache,
+      @Value("${conduit.profile-cache.maximum-size:10000}") long maximumSize,
+      @Value("${conduit.profile-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+    this.userRepository = userRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.articleRepository = articleRepository;
+    this.invalidationBus = invalidationBus;
+    this.publicReadCache = publicReadCache;
+    this.profiles =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+    this.versions = new InvalidationVersions<>(maximumSize);
+    invalidationBus.subscribe(
+        INVALIDATION_CACHE,
+        new InvalidationBus.Listener() {
+          @Override
+          public void evict(Collection<String> usernames) {
+            evictNow(usernames);
+          }
+
+          @Override
+          public void evictAll() {
+            versions.invalidateAll();
+            profiles.invalidateAll();
+            publicReadCache.evictAllProfiles();
+          }
+        });
+  }
+
+  /** The profile of {@code username}, loaded from the database on a miss. */
+  public Optional<CachedProfile> get(String username) {
+    final var cached = profiles.getIfPresent(username);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final var version = versions.current();
+    final var loaded = userRepository.findByUsername(username).map(this::load);
+    loaded.ifPresent(profile -> put(username, profile, version));
+    return loaded;
+  }
+
+  /**
+   * The profiles of those {@code usernames} that exist, by username. Misses are loaded together:
+   * one query for the users and one per count, whatever their number.
+   */
+  public Map<String, CachedProfile> getAll(Collection<String> usernames) {
+    final var found = new HashMap<>(profiles.getAllPresent(usernames));
+    final var missing = usernames.stream().filter(u -> !found.containsKey(u)).distinct().toList();
+    if (missing.isEmpty()) {
+      return found;
+    }
+    final var version = versions.current();
+    final var users = userRepository.findByUsernameIn(missing);
+    if (users.isEmpty()) {
+      return found;
+    }
+    final var ids = users.stream().map(User::getId).toList();
+    final var followers =
+        followRelationRepository.countFollowersByIds(ids).stream()
+            .collect(Collectors.toMap(FollowCount::getUserId, FollowCount::getCount));
+    final var following =
+        followRelationRepository.countFollowingByIds(ids).stream()
+            .collect(Collectors.toMap(FollowCount::getUserId, FollowCount::getCount));
+    final var articles =
+        articleRepository.countByAuthorIds(ids).stream()
+            .collect(
+                Collectors.toMap(AuthorArticleCount::getAuthorId, AuthorArticleCount::getCount));
+    for (final var user : users) {
+      final var profile =
+          profile(
+              user,
+              followers.getOrDefault(user.getId(), 0L).intValue(),
+              following.getOrDefault(user.getId(), 0L).intValue(),
+              articles.getOrDefault(user.getId(), 0L).intValue());
+      put(profile.username(), profile, version);
+      found.put(profile.username(), profile);
+    }
+    return found;
+  }
+
+  /**
+   * Drops the profiles of {@code usernames} once the current transaction commits, here and on the
+   * other instances.
+   */
+  public void evict(String... usernames) {
+    final Runnable action =
+        () -> {
+          final var keys = List.of(usernames);
+          evictNow(keys);
+          invalidationBus.publish(INVALIDATION_CACHE, keys);
+        };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /** Caches a loaded profile, unless its username was evicted since {@code version}. */
+  private void put(String username, CachedProfile profile, long version) {
+    profiles.put(username, profile);
+    if (versions.invalidatedSince(username, version)) {
+      profiles.invalidate(username);
+    }
+  }
+
+  private void evictNow(Collection<String> usernames) {
+    versions.invalidate(usernames);
+    profiles.invalidateAll(usernames);
+    publicReadCache.evictProfiles(usernames);
+  }
+
+  private CachedProfile load(User user) {
+    return profile(
+        user,
+        followRelationRepository.countByIdFolloweeId(user.getId()),
+        followRelationRepository.countByIdFollowerId(user.getId()),
+        articleRepository.countByAuthorId(user.getId()));
+  }
+
+  private static CachedProfile profile(
+      User user, int followersCount, int followingCount, int articlesCount) {
+    return new CachedProfile(
+        user.getId(),
+        user.getUsername(),
+        user.getBio().orElse(null),
+        user.getImage().orElse(null),
+        followersCount,
+        followingCount,
+        articlesCount);
+  }
+}
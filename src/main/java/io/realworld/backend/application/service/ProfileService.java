@@ -1,19 +1,28 @@
 package io.realworld.backend.application.service;
 
-import static io.realworld.backend.application.dto.Mappers.toProfileResponse;
+import static io.realworld.backend.application.dto.Mappers.toPublicProfileResponse;
 
+import io.realworld.backend.application.dto.Mappers;
 import io.realworld.backend.application.exception.UserNotFoundException;
+import io.realworld.backend.application.service.ProfileCache.CachedProfile;
 import io.realworld.backend.application.util.BaseService;
-import io.realworld.backend.domain.aggregate.follow.FollowRelation;
-import io.realworld.backend.domain.aggregate.follow.FollowRelationId;
+import io.realworld.backend.application.util.SortedLongSet;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.event.DomainEvent.Followed;
+import io.realworld.backend.domain.event.DomainEvent.Unfollowed;
 import io.realworld.backend.domain.service.AuthenticationService;
-import io.realworld.backend.rest.api.ProfileResponseData;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import io.realworld.backend.rest.api.BatchProfilesRequestData;
+import io.realworld.backend.rest.api.BatchProfilesResponseData;
+import io.realworld.backend.rest.api.MultipleProfilesResponseData;
 import io.realworld.backend.rest.api.ProfilesApiDelegate;
-import java.util.Optional;
-import java.util.function.Predicate;
+import io.realworld.backend.rest.api.PublicProfileResponseData;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -25,64 +34,115 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProfileService extends BaseService implements ProfilesApiDelegate {
   private final UserRepository userRepository;
   private final FollowRelationRepository followRelationRepository;
+  private final FollowGraphService followGraphService;
+  private final ProfileCache profileCache;
+  private final PublicReadCache publicReadCache;
+  private final DomainEventPublisher domainEventPublisher;
   private final AuthenticationService authenticationService;
 
   /** {@inheritDoc} */
   @Override
-  public ResponseEntity<ProfileResponseData> followUserByUsername(String username) {
+  public ResponseEntity<PublicProfileResponseData> followUserByUsername(String username) {
     final var currentUser = currentUserOrThrow();
+    final var profile = profileOrThrow(username);
 
-    final var user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new UserNotFoundException(username));
+    if (followRelationRepository.insertIfAbsent(currentUser.getId(), profile.userId()) > 0) {
+      followGraphService.followed(currentUser.getId(), profile.userId());
+      profileCache.evict(username, currentUser.getUsername());
+      domainEventPublisher.publish(new Followed(currentUser.getId(), profile.userId()));
+      return ok(toPublicProfileResponse(profile.withFollowers(1), true));
+    }
 
-    final var followRelationId = new FollowRelationId(currentUser.getId(), user.getId());
-    followRelationRepository
-        .findById(followRelationId)
-        .or(
-            () -> {
-              final var followRelation = new FollowRelation(currentUser.getId(), user.getId());
-              followRelationRepository.save(followRelation);
-              return Optional.of(followRelation);
-            });
-
-    return ok(toProfileResponse(user, true));
+    return ok(toPublicProfileResponse(profile, true));
   }
 
   /** {@inheritDoc} */
   @Override
-  public ResponseEntity<ProfileResponseData> getProfileByUsername(String username) {
+  public ResponseEntity<PublicProfileResponseData> getProfileByUsername(String username) {
     final var currentUser = authenticationService.getCurrentUser();
-    Predicate<User> isFollowing =
-        (u) ->
-            currentUser
-                .map(
-                    cu ->
-                        followRelationRepository
-                            .findById(new FollowRelationId(cu.getId(), u.getId()))
-                            .isPresent())
-                .orElse(false);
-    return userRepository
-        .findByUsername(username)
-        .map(u -> ok(toProfileResponse(u, isFollowing.test(u))))
-        .orElseThrow(() -> new UserNotFoundException(username));
+    if (currentUser.isEmpty()) {
+      return ok(
+          publicReadCache.profile(
+              username, u -> toPublicProfileResponse(profileOrThrow(u), false)));
+    }
+    final var profile = profileOrThrow(username);
+    final var isFollowing =
+        currentUser
+            .map(cu -> followGraphService.isFollowing(cu.getId(), profile.userId()))
+            .orElse(false);
+    return ok(toPublicProfileResponse(profile, isFollowing));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<BatchProfilesResponseData> getProfilesBatch(BatchProfilesRequestData req) {
+    final var usernames = req.getUsernames();
+    final var viewerFollowing =
+        authenticationService
+            .getCurrentUser()
+            .map(cu -> followGraphService.following(cu.getId()))
+            .orElse(SortedLongSet.EMPTY);
+    return ok(
+        Mappers.toBatchProfilesResponseData(
+            usernames, profileCache.getAll(usernames), viewerFollowing));
   }
 
   /** {@inheritDoc} */
   @Override
-  public ResponseEntity<ProfileResponseData> unfollowUserByUsername(String username) {
+  public ResponseEntity<PublicProfileResponseData> unfollowUserByUsername(String username) {
     final var currentUser = currentUserOrThrow();
+    final var profile = profileOrThrow(username);
+
+    if (followRelationRepository.deleteIfPresent(currentUser.getId(), profile.userId()) > 0) {
+      followGraphService.unfollowed(currentUser.getId(), profile.userId());
+      profileCache.evict(username, currentUser.getUsername());
+      domainEventPublisher.publish(new Unfollowed(currentUser.getId(), profile.userId()));
+      return ok(toPublicProfileResponse(profile.withFollowers(-1), false));
+    }
 
+    return ok(toPublicProfileResponse(profile, false));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<MultipleProfilesResponseData> getProfileFollowers(
+      String username, Integer limit, Integer offset) {
     final var user =
         userRepository
             .findByUsername(username)
             .orElseThrow(() -> new UserNotFoundException(username));
+    return profilesResponse(followGraphService.followers(user.getId()), limit, offset);
+  }
 
-    final var followRelationId = new FollowRelationId(currentUser.getId(), user.getId());
-    followRelationRepository.deleteById(followRelationId);
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<MultipleProfilesResponseData> getProfileFollowing(
+      String username, Integer limit, Integer offset) {
+    final var user =
+        userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new UserNotFoundException(username));
+    return profilesResponse(followGraphService.following(user.getId()), limit, offset);
+  }
+
+  private CachedProfile profileOrThrow(String username) {
+    return profileCache.get(username).orElseThrow(() -> new UserNotFoundException(username));
+  }
 
-    return ok(toProfileResponse(user, false));
+  private ResponseEntity<MultipleProfilesResponseData> profilesResponse(
+      SortedLongSet userIds, int limit, int offset) {
+    final var page = userIds.slice(offset, limit);
+    final var usersById =
+        userRepository.findAllById(Arrays.stream(page).boxed().toList()).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    final var users =
+        Arrays.stream(page).mapToObj(usersById::get).filter(Objects::nonNull).toList();
+    final var viewerFollowing =
+        authenticationService
+            .getCurrentUser()
+            .map(cu -> followGraphService.following(cu.getId()))
+            .orElse(SortedLongSet.EMPTY);
+    return ok(Mappers.toMultipleProfilesResponseData(users, viewerFollowing, userIds.size()));
   }
 
   /** {@inheritDoc} */
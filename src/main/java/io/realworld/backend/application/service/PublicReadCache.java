@@ -0,0 +1,221 @@
+package io.realworld.backend.application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.util.SingleFlightCache;
+import io.realworld.backend.domain.service.InvalidationBus;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import io.realworld.backend.rest.api.PublicProfileResponseData;
+import io.realworld.backend.rest.api.SingleArticleResponseData;
+import io.realworld.backend.rest.api.TagsResponseData;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Responses to the hot public reads of anonymous viewers, each loaded once however many requests
+ * miss it together.
+ *
+ * <p>Covers single articles by slug, article list pages, the tag list and profiles. Entries are
+ * {@link SingleFlightCache single-flight}: fresh for {@code conduit.public-read-cache.soft-ttl},
+ * then served stale while one refresh runs on a background thread, and dropped after {@code
+ * hard-ttl}. Loads run in a read-only transaction, so refreshes see the same data as requests.
+ * Articles are evicted once an update or delete of their slug commits and profiles whenever the
+ * {@link ProfileCache} evicts them, here and, through the {@link InvalidationBus}, on the other
+ * instances. List pages and tags are not evicted: like the article summaries behind them they
+ * trail writes, here by at most the hard time-to-live.
+ *
+ * <p>Authenticated viewers see their own favourites and follows, so their article and profile reads
+ * bypass this cache; the tag list is the same for everyone.
+ */
+@Service
+public class PublicReadCache implements SmartLifecycle {
+  /** Cache name on the {@link InvalidationBus}; keys are slugs. */
+  public static final String ARTICLE_INVALIDATION_CACHE = "public-article";
+
+  private static final String TAGS_KEY = "";
+
+  /** A single article response, and the article's id for view counting. */
+  public record CachedArticle(long articleId, SingleArticleResponseData response) {}
+
+  /** The parameters of an article list page. */
+  public record ArticleListKey(
+      @Nullable String tag,
+      @Nullable String author,
+      @Nullable String favorited,
+      int limit,
+      int offset) {}
+
+  private final boolean enabled;
+  private final int refreshThreads;
+  private final TransactionTemplate readOnly;
+  private final InvalidationBus invalidationBus;
+  private final SingleFlightCache<String, CachedArticle> articles;
+  private final SingleFlightCache<ArticleListKey, MultipleArticlesResponseData> articleLists;
+  private final SingleFlightCache<String, TagsResponseData> tags;
+  private final SingleFlightCache<String, PublicProfileResponseData> profiles;
+  private volatile @Nullable ThreadPoolExecutor refresher;
+
+  /** Creates the caches; settings come from {@code conduit.public-read-cache.*}. */
+  public PublicReadCache(
+      PlatformTransactionManager transactionManager,
+      InvalidationBus invalidationBus,
+      ObjectProvider<MeterRegistry> registryProvider,
+      @Value("${conduit.public-read-cache.enabled:true}") boolean enabled,
+      @Value("${conduit.public-read-cache.maximum-size:10000}") long maximumSize,
+      @Value("${conduit.public-read-cache.soft-ttl:1s}") Duration softTtl,
+      @Value("${conduit.public-read-cache.hard-ttl:10s}") Duration hardTtl,
+      @Value("${conduit.public-read-cache.refresh-threads:2}") int refreshThreads) {
+    this.enabled = enabled;
+    this.refreshThreads = refreshThreads;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.invalidationBus = invalidationBus;
+    final var registry = registryProvider.getIfAvailable(SimpleMeterRegistry::new);
+    final Executor refresh = this::refreshLater;
+    this.articles =
+        new SingleFlightCache<>("article", maximumSize, softTtl, hardTtl, refresh, registry);
+    this.articleLists =
+        new SingleFlightCache<>("article-list", maximumSize, softTtl, hardTtl, refresh, registry);
+    this.tags = new SingleFlightCache<>("tags", 1, softTtl, hardTtl, refresh, registry);
+    this.profiles =
+        new SingleFlightCache<>("profile", maximumSize, softTtl, hardTtl, refresh, registry);
+    invalidationBus.subscribe(
+        ARTICLE_INVALIDATION_CACHE,
+        new InvalidationBus.Listener() {
+          @Override
+          public void evict(Collection<String> slugs) {
+            articles.invalidate(slugs);
+          }
+
+          @Override
+          public void evictAll() {
+            articles.invalidateAll();
+          }
+        });
+  }
+
+  /** The article with {@code slug} as an anonymous viewer sees it. */
+  public CachedArticle article(String slug, Function<String, CachedArticle> loader) {
+    return get(articles, slug, loader);
+  }
+
+  /** An article list page as an anonymous viewer sees it. */
+  public MultipleArticlesResponseData articleList(
+      ArticleListKey key, Function<ArticleListKey, MultipleArticlesResponseData> loader) {
+    return get(articleLists, key, loader);
+  }
+
+  /** The tags in use. */
+  public TagsResponseData tags(Function<String, TagsResponseData> loader) {
+    return get(tags, TAGS_KEY, loader);
+  }
+
+  /** The profile of {@code username} as an anonymous viewer sees it. */
+  public PublicProfileResponseData profile(
+      String username, Function<String, PublicProfileResponseData> loader) {
+    return get(profiles, username, loader);
+  }
+
+  /**
+   * Drops the articles with {@code slugs} once the current transaction commits, here and on the
+   * other instances.
+   */
+  public void evictArticles(String... slugs) {
+    final Runnable action =
+        () -> {
+          final var keys = List.of(slugs);
+          articles.invalidate(keys);
+          invalidationBus.publish(ARTICLE_INVALIDATION_CACHE, keys);
+        };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /** Drops the profiles of {@code usernames} now; {@link ProfileCache} decides when. */
+  void evictProfiles(Collection<String> usernames) {
+    profiles.invalidate(usernames);
+  }
+
+  /** Drops every profile now. */
+  void evictAllProfiles() {
+    profiles.invalidateAll();
+  }
+
+  private <K, V> V get(SingleFlightCache<K, V> cache, K key, Function<K, V> loader) {
+    final Function<K, V> load = k -> Objects.requireNonNull(readOnly.execute(s -> loader.apply(k)));
+    return enabled ? cache.get(key, load) : load.apply(key);
+  }
+
+  private void refreshLater(Runnable refresh) {
+    final var executor = refresher;
+    if (executor == null) {
+      throw new RejectedExecutionException("Not running");
+    }
+    executor.execute(refresh);
+  }
+
+  @Override
+  public void start() {
+    final var threads = new AtomicInteger();
+    // A full queue refuses the refresh and the stale value is served a little longer
+    refresher =
+        new ThreadPoolExecutor(
+            refreshThreads,
+            refreshThreads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000),
+            r ->
+                Thread.ofPlatform()
+                    .name("public-read-refresh-" + threads.incrementAndGet())
+                    .daemon()
+                    .unstarted(r));
+  }
+
+  @Override
+  public void stop() {
+    final var executor = refresher;
+    if (executor == null) {
+      return;
+    }
+    refresher = null;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return refresher != null;
+  }
+}
@@ -0,0 +1,108 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tag ids by normalized name, so a tag filter becomes an equality on {@code article_tag.tag_id}.
+ *
+ * <p>Tags are never renamed or deleted, so entries never go stale and are kept until the cache is
+ * full ({@code conduit.tags.dictionary.maximum-size}). Only tags known to exist are cached: an
+ * unknown name is looked up again on every request, and a tag created by a transaction is cached
+ * once that transaction commits.
+ */
+@Service
+public class TagDictionary {
+  private final TagRepository tagRepository;
+  private final Cache<String, Long> ids;
+
+  /** Creates the dictionary; its bound comes from {@code conduit.tags.dictionary.*}. */
+  public TagDictionary(
+      TagRepository tagRepository,
+      @Value("${conduit.tags.dictionary.maximum-size:100000}") long maximumSize) {
+    this.tagRepository = tagRepository;
+    this.ids = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /** The id of the tag named {@code name}, if there is one. */
+  public OptionalLong idOf(String name) {
+    final var normalized = Tag.normalize(name);
+    final var cached = ids.getIfPresent(normalized);
+    if (cached != null) {
+      return OptionalLong.of(cached);
+    }
+    return tagRepository
+        .findByName(normalized)
+        .map(
+            tag -> {
+              ids.put(tag.getName(), tag.getId());
+              return OptionalLong.of(tag.getId());
+            })
+        .orElse(OptionalLong.empty());
+  }
+
+  /**
+   * The tags named {@code names}, creating those that do not exist yet. Blank names are dropped.
+   * Known tags are returned as references without a query; the others take one query, plus one
+   * insert per new tag and a query for the inserted rows.
+   */
+  public Set<Tag> resolve(Collection<String> names) {
+    final var normalized =
+        names.stream()
+            .map(Tag::normalize)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    final var tags = new HashSet<Tag>();
+    final var missing = new HashSet<String>();
+    for (final var name : normalized) {
+      final var cached = ids.getIfPresent(name);
+      if (cached == null) {
+        missing.add(name);
+      } else {
+        tags.add(tagRepository.getReferenceById(cached));
+      }
+    }
+    if (missing.isEmpty()) {
+      return tags;
+    }
+    final var found = new HashMap<String, Long>();
+    tagRepository.findByNameIn(missing).forEach(tag -> found.put(tag.getName(), tag.getId()));
+    final var created = missing.stream().filter(name -> !found.containsKey(name)).toList();
+    if (!created.isEmpty()) {
+      created.forEach(tagRepository::insertIfAbsent);
+      tagRepository.findByNameIn(created).forEach(tag -> found.put(tag.getName(), tag.getId()));
+    }
+    found.values().forEach(id -> tags.add(tagRepository.getReferenceById(id)));
+    rememberAfterCommit(found);
+    return tags;
+  }
+
+  /** Caches {@code found} once the current transaction commits, since it may have created them. */
+  private void rememberAfterCommit(Map<String, Long> found) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      ids.putAll(found);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            ids.putAll(found);
+          }
+        });
+  }
+}
@@ -0,0 +1,285 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.application.util.TimeWheelCounter;
+import io.realworld.backend.application.util.TopK;
+import io.realworld.backend.domain.aggregate.trending.TrendingScore;
+import io.realworld.backend.domain.aggregate.trending.TrendingScoreRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ranks articles by a time-decayed score of views, comments and favourites.
+ *
+ * <p>Every active article has a {@link TimeWheelCounter} of hourly buckets covering the last day,
+ * and a bucket's weight halves every {@code conduit.trending.half-life}. Scores are kept relative
+ * to a landmark bucket (forward decay), so they only change when an event arrives and the {@link
+ * TopK} only needs the articles that had events. Recording an event is lock-free: it bumps the
+ * counter and marks the article dirty, and dirty articles are re-offered to the {@code TopK} in one
+ * batch by the next {@link #top} or {@link #rescore}. Every {@code rescore-interval} all scores are
+ * recomputed against a new landmark, which also drops articles whose buckets have expired. The top
+ * scores are upserted every {@code persist-interval}, keeping the higher score when several nodes
+ * write the same article, and seeded back on startup.
+ */
+@Service
+@Slf4j
+public class TrendingService implements SmartLifecycle {
+  static final Duration BUCKET = Duration.ofHours(1);
+  static final int BUCKETS = 24;
+  private static final int VIEW_WEIGHT = 1;
+  private static final int COMMENT_WEIGHT = 3;
+  private static final int FAVOURITE_WEIGHT = 5;
+
+  private final TrendingScoreRepository trendingScoreRepository;
+  private final TransactionOperations transactionOperations;
+  private final Clock clock;
+  private final int capacity;
+  private final double halfLifeBuckets;
+  private final double[] decayByAge = new double[BUCKETS];
+  private final Duration rescoreInterval;
+  private final Duration persistInterval;
+  private final ConcurrentHashMap<Long, TimeWheelCounter> counters = new ConcurrentHashMap<>();
+  private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+  private final Object lock = new Object();
+  private TopK topK;
+  private long landmark;
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  /** Creates the service; settings come from {@code conduit.trending.*}. */
+  @Autowired
+  public TrendingService(
+      TrendingScoreRepository trendingScoreRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${conduit.trending.capacity:200}") int capacity,
+      @Value("${conduit.trending.half-life:6h}") Duration halfLife,
+      @Value("${conduit.trending.rescore-interval:1m}") Duration rescoreInterval,
+      @Value("${conduit.trending.persist-interval:5m}") Duration persistInterval) {
+    this(
+        trendingScoreRepository,
+        new TransactionTemplate(transactionManager),
+        Clock.systemUTC(),
+        capacity,
+        halfLife,
+        rescoreInterval,
+        persistInterval);
+  }
+
+  /** Creates the service with an explicit clock and transaction handling. */
+  public TrendingService(
+      TrendingScoreRepository trendingScoreRepository,
+      TransactionOperations transactionOperations,
+      Clock clock,
+      int capacity,
+      Duration halfLife,
+      Duration rescoreInterval,
+      Duration persistInterval) {
+    this.trendingScoreRepository = trendingScoreRepository;
+    this.transactionOperations = transactionOperations;
+    this.clock = clock;
+    this.capacity = capacity;
+    this.halfLifeBuckets = halfLife.toMillis() / (double) BUCKET.toMillis();
+    for (int age = 0; age < BUCKETS; age++) {
+      decayByAge[age] = Math.pow(0.5, age / halfLifeBuckets);
+    }
+    this.rescoreInterval = rescoreInterval;
+    this.persistInterval = persistInterval;
+    this.topK = new TopK(capacity);
+    this.landmark = currentBucket();
+  }
+
+  public void viewed(long articleId) {
+    record(articleId, VIEW_WEIGHT);
+  }
+
+  public void commented(long articleId) {
+    record(articleId, COMMENT_WEIGHT);
+  }
+
+  public void favourited(long articleId) {
+    record(articleId, FAVOURITE_WEIGHT);
+  }
+
+  /** Drops a deleted article. */
+  public void forget(long articleId) {
+    counters.remove(articleId);
+    dirty.remove(articleId);
+    synchronized (lock) {
+      topK.remove(articleId);
+    }
+  }
+
+  /** Ids of the top trending articles, highest score first. */
+  public List<Long> top(int limit) {
+    synchronized (lock) {
+      offerDirty();
+      return topK.top(Math.min(limit, capacity));
+    }
+  }
+
+  private void record(long articleId, long weight) {
+    final var bucket = currentBucket();
+    final var counter = counters.computeIfAbsent(articleId, id -> new TimeWheelCounter(BUCKETS));
+    counter.add(bucket, weight);
+    dirty.add(articleId);
+  }
+
+  /** Re-offers the articles that had events since the last batch; the caller holds the lock. */
+  private void offerDirty() {
+    if (dirty.isEmpty()) {
+      return;
+    }
+    final var bucket = currentBucket();
+    final var scale = Math.pow(2, (bucket - landmark) / halfLifeBuckets);
+    for (final var iterator = dirty.iterator(); iterator.hasNext(); ) {
+      final var articleId = iterator.next();
+      iterator.remove();
+      final var counter = counters.get(articleId);
+      if (counter != null) {
+        topK.offer(articleId, counter.weightedSum(bucket, decayByAge) * scale);
+      }
+    }
+  }
+
+  /**
+   * Recomputes every score against the current bucket as the new landmark and drops articles with
+   * nothing left in the window. Readers wait for the rebuild, which is linear in active articles;
+   * events do not.
+   */
+  public void rescore() {
+    final var bucket = currentBucket();
+    final var rebuilt = new TopK(capacity);
+    synchronized (lock) {
+      dirty.clear();
+      counters.forEach(
+          (id, counter) -> {
+            final var score = counter.weightedSum(bucket, decayByAge);
+            if (score == 0) {
+              counters.remove(id, counter);
+            } else {
+              rebuilt.offer(id, score);
+            }
+          });
+      landmark = bucket;
+      topK = rebuilt;
+    }
+  }
+
+  /**
+   * Upserts the current top scores and deletes rows that have left the window. A stored row is
+   * kept if it has a higher score and was written within the last {@code persist-interval}, which
+   * means another node sees more of that article's traffic.
+   */
+  public void persist() {
+    final var bucket = currentBucket();
+    final var now = clock.instant();
+    final var staleBefore = now.minus(persistInterval);
+    final var cutoff = now.minus(BUCKET.multipliedBy(BUCKETS));
+    final var rows =
+        top(capacity).stream()
+            .map(
+                id -> {
+                  final var counter = counters.get(id);
+                  return counter == null
+                      ? null
+                      : new TrendingScore(id, counter.weightedSum(bucket, decayByAge), now);
+                })
+            .filter(Objects::nonNull)
+            .toList();
+    transactionOperations.executeWithoutResult(
+        status -> {
+          for (final var row : rows) {
+            trendingScoreRepository.upsert(
+                row.getArticleId(), row.getScore(), row.getScoredAt(), staleBefore);
+          }
+          trendingScoreRepository.deleteScoredBefore(cutoff);
+        });
+  }
+
+  /** Seeds counters from the persisted snapshot; each score lands in the bucket it was taken in. */
+  public void seed() {
+    final var bucket = currentBucket();
+    for (final var row : trendingScoreRepository.findAll()) {
+      final var rowBucket = bucketOf(row.getScoredAt());
+      final var weight = Math.round(row.getScore());
+      if (bucket - rowBucket < BUCKETS && weight > 0) {
+        counters
+            .computeIfAbsent(row.getArticleId(), id -> new TimeWheelCounter(BUCKETS))
+            .add(rowBucket, weight);
+      }
+    }
+    rescore();
+  }
+
+  @Override
+  public void start() {
+    seed();
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("trending").daemon().unstarted(r));
+    schedule(executor, this::rescore, rescoreInterval);
+    schedule(executor, this::persist, persistInterval);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      persist();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private static void schedule(
+      ScheduledExecutorService executor, Runnable task, Duration interval) {
+    final var nanos = interval.toNanos();
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            task.run();
+          } catch (RuntimeException e) {
+            log.warn("Trending maintenance failed, retrying on the next run", e);
+          }
+        },
+        nanos,
+        nanos,
+        TimeUnit.NANOSECONDS);
+  }
+
+  private long currentBucket() {
+    return bucketOf(clock.instant());
+  }
+
+  private static long bucketOf(Instant instant) {
+    return instant.toEpochMilli() / BUCKET.toMillis();
+  }
+}
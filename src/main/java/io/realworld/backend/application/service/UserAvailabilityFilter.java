@@ -0,0 +1,260 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.InvalidationBus;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bloom filters of the usernames and emails in use.
+ *
+ * <p>A negative answer means no user has the name, so uniqueness checks only query the database on
+ * a possible hit. The filters are built from a streamed query on startup and names are added as
+ * users register or rename: on this instance before the write commits, and on the others through
+ * the {@link InvalidationBus} after it. Whenever the bus may have lost names, every name may be
+ * taken until a rebuild has finished. Names given up by a rename stay in the filters until the next
+ * rebuild, every {@code conduit.user-filter.rebuild-interval}, which also resizes the filters to
+ * the number of users. Names added while a rebuild streams are recorded in both generations. A
+ * registration that commits after the rebuild query started but was added before it can still be
+ * missed for one generation, as can one on another instance until its names arrive; the unique
+ * constraints on the users table remain the authority, and {@link UserService} reports a violation
+ * as the name being taken.
+ */
+@Service
+@Slf4j
+public class UserAvailabilityFilter implements SmartLifecycle {
+  /** Cache name of added usernames on the {@link InvalidationBus}. */
+  public static final String USERNAMES_INVALIDATION_CACHE = "user-filter-usernames";
+
+  /** Cache name of added emails on the {@link InvalidationBus}. */
+  public static final String EMAILS_INVALIDATION_CACHE = "user-filter-emails";
+
+  private final UserRepository userRepository;
+  private final InvalidationBus invalidationBus;
+  private final TransactionOperations transactionOperations;
+  private final long expectedInsertions;
+  private final double falsePositiveRate;
+  private final Duration rebuildInterval;
+  /** Null until the first build, during which every name may be taken. */
+  private volatile @Nullable Filters current;
+  /** The generation a running rebuild is filling. */
+  private volatile @Nullable Filters next;
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  /** Usernames and emails of one generation. */
+  private record Filters(BloomFilter<String> usernames, BloomFilter<String> emails) {
+    static Filters create(long expectedInsertions, double falsePositiveRate) {
+      return new Filters(
+          BloomFilter.create(
+              Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate),
+          BloomFilter.create(
+              Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate));
+    }
+
+    void put(String username, String email) {
+      usernames.put(username);
+      emails.put(email);
+    }
+  }
+
+  /** Adds the names other instances publish to every live generation. */
+  private final class RemoteNames implements InvalidationBus.Listener {
+    private final Function<Filters, BloomFilter<String>> filter;
+
+    RemoteNames(Function<Filters, BloomFilter<String>> filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public void evict(Collection<String> names) {
+      for (final var name : names) {
+        put(current, name);
+        put(next, name);
+      }
+    }
+
+    @Override
+    public void evictAll() {
+      current = null;
+      final var executor = scheduler;
+      if (executor != null) {
+        executor.execute(UserAvailabilityFilter.this::rebuildQuietly);
+      }
+    }
+
+    private void put(@Nullable Filters filters, String name) {
+      if (filters != null) {
+        filter.apply(filters).put(name);
+      }
+    }
+  }
+
+  /** Creates the filter; settings come from {@code conduit.user-filter.*}. */
+  @Autowired
+  public UserAvailabilityFilter(
+      UserRepository userRepository,
+      InvalidationBus invalidationBus,
+      PlatformTransactionManager transactionManager,
+      @Value("${conduit.user-filter.expected-insertions:100000}") long expectedInsertions,
+      @Value("${conduit.user-filter.false-positive-rate:0.001}") double falsePositiveRate,
+      @Value("${conduit.user-filter.rebuild-interval:1h}") Duration rebuildInterval) {
+    this(
+        userRepository,
+        invalidationBus,
+        readOnly(transactionManager),
+        expectedInsertions,
+        falsePositiveRate,
+        rebuildInterval);
+  }
+
+  /** Creates the filter with explicit transaction handling. */
+  public UserAvailabilityFilter(
+      UserRepository userRepository,
+      InvalidationBus invalidationBus,
+      TransactionOperations transactionOperations,
+      long expectedInsertions,
+      double falsePositiveRate,
+      Duration rebuildInterval) {
+    this.userRepository = userRepository;
+    this.invalidationBus = invalidationBus;
+    this.transactionOperations = transactionOperations;
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveRate = falsePositiveRate;
+    this.rebuildInterval = rebuildInterval;
+    invalidationBus.subscribe(USERNAMES_INVALIDATION_CACHE, new RemoteNames(Filters::usernames));
+    invalidationBus.subscribe(EMAILS_INVALIDATION_CACHE, new RemoteNames(Filters::emails));
+  }
+
+  /** Whether a user might have {@code username}; false means certainly not. */
+  public boolean mightHaveUsername(String username) {
+    final var filters = current;
+    return filters == null || filters.usernames().mightContain(username);
+  }
+
+  /** Whether a user might have {@code email}; false means certainly not. */
+  public boolean mightHaveEmail(String email) {
+    final var filters = current;
+    return filters == null || filters.emails().mightContain(email);
+  }
+
+  /**
+   * Records that a user has {@code username} and {@code email}. Called before the write commits: a
+   * rolled back write only leaves a false positive behind. The other instances are told once the
+   * transaction commits.
+   */
+  public void add(String username, String email) {
+    final var filters = current;
+    if (filters != null) {
+      filters.put(username, email);
+    }
+    final var building = next;
+    if (building != null) {
+      building.put(username, email);
+    }
+    final Runnable publish =
+        () -> {
+          invalidationBus.publish(USERNAMES_INVALIDATION_CACHE, List.of(username));
+          invalidationBus.publish(EMAILS_INVALIDATION_CACHE, List.of(email));
+        };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publish.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            publish.run();
+          }
+        });
+  }
+
+  /** Replaces the filters with ones built from the users table. */
+  public synchronized void rebuild() {
+    final var started = System.nanoTime();
+    final var users = userRepository.count();
+    final var building =
+        Filters.create(Math.max(expectedInsertions, users + users / 2), falsePositiveRate);
+    next = building;
+    try {
+      transactionOperations.executeWithoutResult(
+          status -> {
+            try (var names = userRepository.streamAllNames()) {
+              names.forEach(n -> building.put(n.getUsername(), n.getEmail()));
+            }
+          });
+      current = building;
+    } finally {
+      next = null;
+    }
+    log.info(
+        "Built user availability filters for {} users in {} ms",
+        users,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  @Override
+  public void start() {
+    rebuild();
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("user-filter").daemon().unstarted(r));
+    final var nanos = rebuildInterval.toNanos();
+    executor.scheduleWithFixedDelay(this::rebuildQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private void rebuildQuietly() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.warn("User availability filter rebuild failed, keeping the previous one", e);
+    }
+  }
+
+  private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+    final var template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    return template;
+  }
+}
@@ -10,16 +10,22 @@ import io.realworld.backend.application.exception.UsernameAlreadyUsedException;
 import io.realworld.backend.application.util.BaseService;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.event.DomainEvent.ProfileUpdated;
 import io.realworld.backend.domain.service.AuthenticationService;
+import io.realworld.backend.domain.service.DomainEventPublisher;
 import io.realworld.backend.domain.service.JwtService;
+import io.realworld.backend.rest.api.AvailabilityResponseData;
 import io.realworld.backend.rest.api.LoginUserRequestData;
 import io.realworld.backend.rest.api.NewUserRequestData;
 import io.realworld.backend.rest.api.UpdateUserRequestData;
 import io.realworld.backend.rest.api.UserApiDelegate;
 import io.realworld.backend.rest.api.UserResponseData;
 import io.realworld.backend.rest.api.UsersApiDelegate;
+import java.util.Locale;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +37,9 @@ import org.springframework.web.context.request.NativeWebRequest;
 public class UserService extends BaseService implements UserApiDelegate, UsersApiDelegate {
   private final UserRepository userRepository;
   private final JwtService jwtService;
+  private final ProfileCache profileCache;
+  private final UserAvailabilityFilter userAvailabilityFilter;
+  private final DomainEventPublisher domainEventPublisher;
   private final AuthenticationService authenticationService;
 
   /** {@inheritDoc} */
@@ -45,21 +54,21 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
     final var newUserData = req.getUser();
     String username = newUserData.getUsername();
     String email = newUserData.getEmail();
-    userRepository
-        .findByUsername(username)
-        .ifPresent(
-            u -> {
-              throw new UsernameAlreadyUsedException("Username already used - " + username);
-            });
-    userRepository
-        .findByEmail(email)
-        .ifPresent(
-            u -> {
-              throw new EmailAlreadyUsedException("Email already used - " + email);
-            });
+    if (usernameTaken(username)) {
+      throw new UsernameAlreadyUsedException("Username already used - " + username);
+    }
+    if (emailTaken(email)) {
+      throw new EmailAlreadyUsedException("Email already used - " + email);
+    }
     final var newUser =
         new User(email, username, authenticationService.encodePassword(newUserData.getPassword()));
-    final var user = userRepository.save(newUser);
+    final User user;
+    try {
+      user = userRepository.saveAndFlush(newUser);
+    } catch (DataIntegrityViolationException e) {
+      throw alreadyUsed(e, username, email);
+    }
+    userAvailabilityFilter.add(username, email);
     return ok(toUserResponse(user, jwtService.generateToken(user)));
   }
 
@@ -82,28 +91,46 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
 
     final var update = req.getUser();
     final var email = update.getEmail();
-    if (email != null && !email.equals(user.getEmail())) {
-      userRepository
-          .findByEmail(email)
-          .ifPresent(
-              u -> {
-                throw new EmailAlreadyUsedException("Email already used - " + email);
-              });
+    if (email != null && !email.equals(user.getEmail()) && emailTaken(email)) {
+      throw new EmailAlreadyUsedException("Email already used - " + email);
     }
     final var username = update.getUsername();
-    if (username != null && !username.equals(user.getUsername())) {
-      userRepository
-          .findByUsername(username)
-          .ifPresent(
-              u -> {
-                throw new UsernameAlreadyUsedException("Username already used - " + username);
-              });
+    if (username != null && !username.equals(user.getUsername()) && usernameTaken(username)) {
+      throw new UsernameAlreadyUsedException("Username already used - " + username);
     }
+    final var previousUsername = user.getUsername();
     Mappers.updateUser(user, update);
+    if (email != null || username != null) {
+      try {
+        userRepository.flush();
+      } catch (DataIntegrityViolationException e) {
+        throw alreadyUsed(e, user.getUsername(), user.getEmail());
+      }
+      userAvailabilityFilter.add(user.getUsername(), user.getEmail());
+    }
+    if (update.getUsername() != null || update.getBio() != null || update.getImage() != null) {
+      profileCache.evict(previousUsername, user.getUsername());
+      domainEventPublisher.publish(new ProfileUpdated(user.getId()));
+    }
 
     return ok(toUserResponse(user, authenticationService.getCurrentToken().orElse("")));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public ResponseEntity<AvailabilityResponseData> checkUserAvailability(
+      @Nullable String username, @Nullable String email) {
+    final var availability = new AvailabilityResponseData();
+    if (username != null) {
+      availability.setUsername(!usernameTaken(username));
+    }
+    if (email != null) {
+      availability.setEmail(!emailTaken(email));
+    }
+    return ok(availability);
+  }
+
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<UserResponseData> login(LoginUserRequestData body) {
@@ -115,6 +142,36 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
         .orElseThrow(() -> new InvalidPasswordException("Can not authenticate - " + email));
   }
 
+  /**
+   * The "already used" error for a unique constraint violation on the users table. The filters of
+   * this instance may not know a name another instance just took, and two registrations can race
+   * past the checks, so the constraint has the last word.
+   */
+  private static RuntimeException alreadyUsed(
+      DataIntegrityViolationException e, String username, String email) {
+    final var message =
+        String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+    if (message.contains(User.EMAIL_CONSTRAINT)) {
+      return new EmailAlreadyUsedException("Email already used - " + email);
+    }
+    if (message.contains(User.USERNAME_CONSTRAINT)) {
+      return new UsernameAlreadyUsedException("Username already used - " + username);
+    }
+    return e;
+  }
+
+  /** Whether a user has {@code username}; the database is only asked on a filter hit. */
+  private boolean usernameTaken(String username) {
+    return userAvailabilityFilter.mightHaveUsername(username)
+        && userRepository.findByUsername(username).isPresent();
+  }
+
+  /** Whether a user has {@code email}; the database is only asked on a filter hit. */
+  private boolean emailTaken(String email) {
+    return userAvailabilityFilter.mightHaveEmail(email)
+        && userRepository.findByEmail(email).isPresent();
+  }
+
   /** {@inheritDoc} */
   @Override
   public AuthenticationService getAuthenticationService() {
@@ -0,0 +1,63 @@
+package io.realworld.backend.application.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions of the invalidations of a cache, so that a load racing with one is not kept.
+ *
+ * <p>A loader takes {@link #current()} before reading the database and, once it has put the loaded
+ * value, evicts it again if {@link #invalidatedSince} the key: the value may predate the change.
+ * Invalidators call {@link #invalidate} before evicting. Whichever order the two interleave in, the
+ * last action on the key is an eviction, so an invalidation that arrives late cannot leave stale
+ * data behind.
+ *
+ * <p>At most {@code maximumSize} keys are remembered. Once a key is forgotten, every load older
+ * than its invalidation counts as invalidated, which costs a reload but is never wrong.
+ */
+public final class InvalidationVersions<K> {
+  private final AtomicLong clock = new AtomicLong();
+  /** Version below which forgotten keys may have been invalidated. */
+  private final AtomicLong forgotten = new AtomicLong();
+
+  private final Cache<K, Long> invalidated;
+
+  public InvalidationVersions(long maximumSize) {
+    this.invalidated =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .<K, Long>removalListener(
+                removal -> {
+                  final var version = removal.getValue();
+                  if (removal.wasEvicted() && version != null) {
+                    forgotten.accumulateAndGet(version, Math::max);
+                  }
+                })
+            .build();
+  }
+
+  /** The version to take before a load. */
+  public long current() {
+    return clock.get();
+  }
+
+  /** Records that {@code keys} are about to be evicted. */
+  public void invalidate(Iterable<? extends K> keys) {
+    final var version = clock.incrementAndGet();
+    for (final var key : keys) {
+      invalidated.put(key, version);
+    }
+  }
+
+  /** Records that every key is about to be evicted. */
+  public void invalidateAll() {
+    forgotten.accumulateAndGet(clock.incrementAndGet(), Math::max);
+  }
+
+  /** Whether {@code key} may have been invalidated after {@code version} was taken. */
+  public boolean invalidatedSince(K key, long version) {
+    final var at = invalidated.getIfPresent(key);
+    return (at != null && at > version) || forgotten.get() > version;
+  }
+}
@@ -0,0 +1,200 @@
+package io.realworld.backend.application.util;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A cache that loads each key once however many callers miss it together, and serves slightly
+ * stale values while one refresh runs in the background.
+ *
+ * <p>A value younger than the soft time-to-live is returned as is. An older one is still returned,
+ * and the first such caller starts a refresh on the {@code refresher}; if the refresher refuses the
+ * task, the value is served until the hard time-to-live. After the hard time-to-live the value is
+ * gone and the next caller loads it. Concurrent misses of one key wait for a single load and share
+ * its value or its exception; exceptions are not cached. Loaders must not return null.
+ *
+ * <p>{@link #invalidate} also detaches loads in flight, so callers that arrive afterwards load
+ * again, and a load that started before the invalidation is not kept (see {@link
+ * InvalidationVersions}).
+ *
+ * <p>Every call counts as one of {@code hit}, {@code stale}, {@code miss} or {@code collapsed} (a
+ * miss that waited for another caller's load) in {@code conduit.single-flight.requests}, tagged
+ * with the cache name; failed background refreshes count in {@code
+ * conduit.single-flight.refresh.failures}.
+ */
+@Slf4j
+public final class SingleFlightCache<K, V> {
+  private record Entry<V>(V value, long loadedAt) {}
+
+  private final String name;
+  private final long softTtlNanos;
+  private final Executor refresher;
+  private final Ticker ticker;
+  private final Cache<K, Entry<V>> entries;
+  private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+  private final InvalidationVersions<K> versions;
+
+  private final Counter hits;
+  private final Counter stale;
+  private final Counter misses;
+  private final Counter collapsed;
+  private final Counter refreshFailures;
+
+  public SingleFlightCache(
+      String name,
+      long maximumSize,
+      Duration softTtl,
+      Duration hardTtl,
+      Executor refresher,
+      MeterRegistry registry) {
+    this(name, maximumSize, softTtl, hardTtl, refresher, registry, Ticker.systemTicker());
+  }
+
+  /** Creates the cache with an explicit time source. */
+  public SingleFlightCache(
+      String name,
+      long maximumSize,
+      Duration softTtl,
+      Duration hardTtl,
+      Executor refresher,
+      MeterRegistry registry,
+      Ticker ticker) {
+    if (softTtl.compareTo(hardTtl) > 0) {
+      throw new IllegalArgumentException(
+          "Soft time-to-live " + softTtl + " exceeds hard time-to-live " + hardTtl);
+    }
+    this.name = name;
+    this.softTtlNanos = softTtl.toNanos();
+    this.refresher = refresher;
+    this.ticker = ticker;
+    this.entries =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(hardTtl)
+            .ticker(ticker)
+            .build();
+    this.versions = new InvalidationVersions<>(maximumSize);
+    this.hits = requests(registry, name, "hit");
+    this.stale = requests(registry, name, "stale");
+    this.misses = requests(registry, name, "miss");
+    this.collapsed = requests(registry, name, "collapsed");
+    this.refreshFailures =
+        Counter.builder("conduit.single-flight.refresh.failures")
+            .description("Background refreshes that failed; the stale value is kept")
+            .tag("cache", name)
+            .register(registry);
+  }
+
+  private static Counter requests(MeterRegistry registry, String name, String outcome) {
+    return Counter.builder("conduit.single-flight.requests")
+        .description("Reads of a single-flight cache by outcome")
+        .tag("cache", name)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  /** The value of {@code key}, loaded by {@code loader} if it is missing. */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    final var entry = entries.getIfPresent(key);
+    if (entry != null) {
+      if (ticker.read() - entry.loadedAt() < softTtlNanos) {
+        hits.increment();
+      } else {
+        stale.increment();
+        refresh(key, loader, entry.value());
+      }
+      return entry.value();
+    }
+    final var load = new CompletableFuture<V>();
+    final var inFlight = loads.putIfAbsent(key, load);
+    if (inFlight != null) {
+      collapsed.increment();
+      return join(inFlight);
+    }
+    misses.increment();
+    return load(key, loader, load);
+  }
+
+  /** Drops {@code keys}, including values being loaded for them right now. */
+  public void invalidate(Iterable<? extends K> keys) {
+    versions.invalidate(keys);
+    for (final var key : keys) {
+      loads.remove(key);
+      entries.invalidate(key);
+    }
+  }
+
+  /** Drops every value. */
+  public void invalidateAll() {
+    versions.invalidateAll();
+    loads.clear();
+    entries.invalidateAll();
+  }
+
+  private void refresh(K key, Function<? super K, ? extends V> loader, V current) {
+    final var load = new CompletableFuture<V>();
+    if (loads.putIfAbsent(key, load) != null) {
+      return;
+    }
+    try {
+      refresher.execute(
+          () -> {
+            try {
+              load(key, loader, load);
+            } catch (RuntimeException e) {
+              refreshFailures.increment();
+              log.warn("Could not refresh {} in cache {}", key, name, e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // Served stale until the hard time-to-live; a later caller may get the refresher
+      loads.remove(key, load);
+      load.complete(current);
+    }
+  }
+
+  private V load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> load) {
+    final var version = versions.current();
+    final var loadedAt = ticker.read();
+    try {
+      final V value = loader.apply(key);
+      entries.put(key, new Entry<>(value, loadedAt));
+      if (versions.invalidatedSince(key, version)) {
+        entries.invalidate(key);
+      }
+      load.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      loads.remove(key, load);
+    }
+  }
+
+  private static <V> V join(CompletableFuture<V> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
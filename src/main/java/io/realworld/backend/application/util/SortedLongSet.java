@@ -0,0 +1,96 @@
+package io.realworld.backend.application.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Immutable set of {@code long} values backed by a sorted primitive array.
+ *
+ * <p>Lookups are binary searches. {@link #with(long)} and {@link #without(long)} return a modified
+ * copy, so instances can be shared between threads without locking.
+ */
+public final class SortedLongSet {
+  public static final SortedLongSet EMPTY = new SortedLongSet(new long[0]);
+
+  private final long[] values;
+
+  private SortedLongSet(long[] values) {
+    this.values = values;
+  }
+
+  /** Creates a set from boxed values; duplicates are dropped. */
+  public static SortedLongSet of(Collection<Long> values) {
+    final var sorted = values.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    return sorted.length == 0 ? EMPTY : new SortedLongSet(sorted);
+  }
+
+  public int size() {
+    return values.length;
+  }
+
+  public boolean isEmpty() {
+    return values.length == 0;
+  }
+
+  public boolean contains(long value) {
+    return Arrays.binarySearch(values, value) >= 0;
+  }
+
+  /** Returns a set that also contains {@code value}. */
+  public SortedLongSet with(long value) {
+    final var index = Arrays.binarySearch(values, value);
+    if (index >= 0) {
+      return this;
+    }
+    final var insertAt = -index - 1;
+    final var copy = new long[values.length + 1];
+    System.arraycopy(values, 0, copy, 0, insertAt);
+    copy[insertAt] = value;
+    System.arraycopy(values, insertAt, copy, insertAt + 1, values.length - insertAt);
+    return new SortedLongSet(copy);
+  }
+
+  /** Returns a set that does not contain {@code value}. */
+  public SortedLongSet without(long value) {
+    final var index = Arrays.binarySearch(values, value);
+    if (index < 0) {
+      return this;
+    }
+    if (values.length == 1) {
+      return EMPTY;
+    }
+    final var copy = new long[values.length - 1];
+    System.arraycopy(values, 0, copy, 0, index);
+    System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+    return new SortedLongSet(copy);
+  }
+
+  /** Returns up to {@code limit} values in ascending order, skipping the first {@code offset}. */
+  public long[] slice(int offset, int limit) {
+    final var from = Math.min(Math.max(offset, 0), values.length);
+    final var to = (int) Math.min((long) from + Math.max(limit, 0), values.length);
+    return Arrays.copyOfRange(values, from, to);
+  }
+
+  /** Boxed copy, for use as a query parameter. */
+  public List<Long> toList() {
+    return Arrays.stream(values).boxed().toList();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    return o instanceof SortedLongSet other && Arrays.equals(values, other.values);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(values);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(values);
+  }
+}
@@ -0,0 +1,53 @@
+package io.realworld.backend.application.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counts over a sliding window of fixed-width time buckets, updated without locks.
+ *
+ * <p>The wheel has one slot per bucket in the window. Each slot packs the number of the bucket it
+ * currently holds (upper 24 bits) and that bucket's count (lower 40 bits) into one {@code long},
+ * so the compare-and-set that increments a slot also resets it when the wheel has wrapped around.
+ */
+public final class TimeWheelCounter {
+  private static final int COUNT_BITS = 40;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+  private static final long BUCKET_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+  private final AtomicLongArray slots;
+
+  public TimeWheelCounter(int buckets) {
+    this.slots = new AtomicLongArray(buckets);
+  }
+
+  /** Adds {@code amount} to the count of {@code bucket}. */
+  public void add(long bucket, long amount) {
+    final var slot = (int) Math.floorMod(bucket, (long) slots.length());
+    final var stamp = bucket & BUCKET_MASK;
+    while (true) {
+      final var current = slots.get(slot);
+      final var count = (current >>> COUNT_BITS) == stamp ? current & COUNT_MASK : 0;
+      final var next = (stamp << COUNT_BITS) | Math.min(count + amount, COUNT_MASK);
+      if (slots.compareAndSet(slot, current, next)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Sums the counts of the buckets still inside the window, each multiplied by {@code
+   * weightByAge[currentBucket - bucket]}.
+   */
+  public double weightedSum(long currentBucket, double[] weightByAge) {
+    final var current = currentBucket & BUCKET_MASK;
+    var sum = 0.0;
+    for (int i = 0; i < slots.length(); i++) {
+      final var value = slots.get(i);
+      final var age = Math.floorMod(current - (value >>> COUNT_BITS), BUCKET_MASK + 1);
+      if (age < slots.length() && age < weightByAge.length) {
+        sum += (value & COUNT_MASK) * weightByAge[(int) age];
+      }
+    }
+    return sum;
+  }
+}
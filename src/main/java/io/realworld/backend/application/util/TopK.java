@@ -0,0 +1,59 @@
+package io.realworld.backend.application.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code capacity} ids with the highest scores, kept in a min-heap.
+ *
+ * <p>An offer for an id that is neither in the heap nor above its minimum is rejected in O(1);
+ * other offers cost O(capacity) at worst. Not thread-safe.
+ */
+public final class TopK {
+  private record Entry(long id, double score) {}
+
+  private final int capacity;
+  private final PriorityQueue<Entry> heap =
+      new PriorityQueue<>(Comparator.comparingDouble(Entry::score));
+  private final Map<Long, Entry> entries = new HashMap<>();
+
+  public TopK(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /** Sets the score of {@code id}, replacing the lowest entry if the heap is full. */
+  public void offer(long id, double score) {
+    final var existing = entries.get(id);
+    if (existing != null) {
+      heap.remove(existing);
+    } else if (heap.size() >= capacity) {
+      final var lowest = heap.peek();
+      if (lowest == null || score <= lowest.score()) {
+        return;
+      }
+      heap.poll();
+      entries.remove(lowest.id());
+    }
+    final var entry = new Entry(id, score);
+    heap.add(entry);
+    entries.put(id, entry);
+  }
+
+  public void remove(long id) {
+    final var existing = entries.remove(id);
+    if (existing != null) {
+      heap.remove(existing);
+    }
+  }
+
+  /** Up to {@code limit} ids, highest score first. */
+  public List<Long> top(int limit) {
+    final var sorted = new ArrayList<>(heap);
+    sorted.sort(Comparator.comparingDouble(Entry::score).reversed());
+    return sorted.stream().limit(Math.max(limit, 0)).map(Entry::id).toList();
+  }
+}
@@ -2,16 +2,22 @@ package io.realworld.backend.domain.aggregate.article;
 
 import com.google.common.collect.ImmutableSet;
 import io.realworld.backend.domain.aggregate.user.User;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import lombok.AccessLevel;
@@ -21,17 +27,39 @@ import lombok.ToString;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = "article_slug_uk", columnNames = "slug"),
+    indexes = {
+      @Index(name = "article_author_created_idx", columnList = "author_id, createdAt"),
+      @Index(name = "article_created_idx", columnList = "createdAt")
+    })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Article.CACHE_REGION)
+@NaturalIdCache(region = Article.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @ToString
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class Article {
+  /** Second-level cache region of articles by id. */
+  public static final String CACHE_REGION = "article";
+
+  /** Second-level cache region of article ids by slug. */
+  public static final String NATURAL_ID_CACHE_REGION = "article-slug";
+
+  /** Second-level cache region of article tag ids by article id. */
+  public static final String TAGS_CACHE_REGION = "article-tags";
+
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
   private long id = 0;
 
+  @NaturalId(mutable = true)
   @Setter(AccessLevel.NONE)
   private @NotNull String slug = "";
 
@@ -39,8 +67,15 @@ public class Article {
   private @NotNull String description = "";
   private @NotNull String body = "";
 
-  @ElementCollection(fetch = FetchType.EAGER)
-  private @NotNull Set<String> tags = ImmutableSet.of();
+  // The primary key (article_id, tag_id) loads an article's tags, the index filters by tag
+  @ManyToMany(fetch = FetchType.EAGER)
+  @JoinTable(
+      name = "article_tag",
+      joinColumns = @JoinColumn(name = "article_id"),
+      inverseJoinColumns = @JoinColumn(name = "tag_id"),
+      indexes = @Index(name = "article_tag_tag_idx", columnList = "tag_id, article_id"))
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TAGS_CACHE_REGION)
+  private @NotNull Set<Tag> tags = ImmutableSet.of();
 
   @ManyToOne private @NotNull User author = new User("", "", "");
   private @NotNull Instant createdAt = Instant.now();
@@ -55,10 +90,15 @@ public class Article {
     this.title = title;
   }
 
-  public void setTags(Set<String> tags) {
+  public void setTags(Set<Tag> tags) {
     this.tags = ImmutableSet.copyOf(tags);
   }
 
+  /** Names of the tags, in alphabetical order. */
+  public List<String> getTagNames() {
+    return tags.stream().map(Tag::getName).sorted().toList();
+  }
+
   @PreUpdate
   public void onUpdate() {
     updatedAt = Instant.now();
@@ -0,0 +1,12 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.List;
+import java.util.Optional;
+
+/** Lookup of articles by their natural id, served from the second-level cache when present. */
+public interface ArticleNaturalIdRepository {
+  Optional<Article> findBySlug(String slug);
+
+  /** Articles with any of {@code slugs}, in no particular order; unknown slugs are skipped. */
+  List<Article> findBySlugs(List<String> slugs);
+}
@@ -1,3 +1,57 @@
 package io.realworld.backend.domain.aggregate.article;
 
-public class Tag {}
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import java.text.Normalizer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * A tag that articles can be labelled with.
+ *
+ * <p>Names are unique after {@link #normalize(String)}. Tags are never renamed or deleted, so an id
+ * resolved from a name stays valid for the lifetime of the database.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "tag_name_uk", columnNames = "name"))
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Tag.CACHE_REGION)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class Tag {
+  /** Second-level cache region of tags by id. */
+  public static final String CACHE_REGION = "tag";
+
+  // Identity, so that a tag can be inserted with ON CONFLICT DO NOTHING in one statement
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private long id = 0;
+
+  private @NotNull String name = "";
+
+  /** Creates a tag; {@code name} must be normalized already. */
+  public Tag(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Canonical form of a tag name: Unicode NFC without surrounding whitespace. Case is kept, since
+   * tags are shown as they were written.
+   */
+  public static String normalize(String name) {
+    return Normalizer.normalize(name, Normalizer.Form.NFC).strip();
+  }
+}
@@ -0,0 +1,31 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+  Optional<Tag> findByName(String name);
+
+  List<Tag> findByNameIn(Collection<String> names);
+
+  /** Names of the tags at least one article is labelled with, in alphabetical order. */
+  @Query(
+      "SELECT t.name FROM Tag t "
+          + "WHERE EXISTS (SELECT 1 FROM Article a JOIN a.tags used WHERE used.id = t.id) "
+          + "ORDER BY t.name")
+  List<String> findNamesInUse();
+
+  /**
+   * Inserts the tag unless one with the same name exists, in one statement.
+   *
+   * @return 1 if a row was inserted, 0 if the tag already existed
+   */
+  @Modifying
+  @Query("INSERT INTO Tag (name) VALUES (:name) ON CONFLICT (name) DO NOTHING")
+  int insertIfAbsent(String name);
+}
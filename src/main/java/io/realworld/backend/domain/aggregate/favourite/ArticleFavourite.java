@@ -2,6 +2,8 @@ package io.realworld.backend.domain.aggregate.favourite;
 
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,6 +14,7 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
 
 @Entity
+@Table(indexes = @Index(name = "articlefavourite_user_idx", columnList = "userId"))
 @Getter
 @Setter
 @ToString
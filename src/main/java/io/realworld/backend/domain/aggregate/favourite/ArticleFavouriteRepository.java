@@ -1,9 +1,11 @@
 package io.realworld.backend.domain.aggregate.favourite;
 
+import java.util.Collection;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface ArticleFavouriteRepository
@@ -25,4 +27,28 @@ public interface ArticleFavouriteRepository
   List<FavouriteCount> countByIdArticleIds(List<Long> articleIds);
 
   List<ArticleFavourite> findByIdUserId(long userId);
+
+  List<ArticleFavourite> findByIdUserIdAndIdArticleIdIn(long userId, Collection<Long> articleIds);
+
+  /**
+   * Inserts the favourite unless it exists, in one statement.
+   *
+   * @return 1 if a row was inserted, 0 if the article was already favourited
+   */
+  @Modifying
+  @Query(
+      "INSERT INTO ArticleFavourite (id.userId, id.articleId) VALUES (:userId, :articleId) "
+          + "ON CONFLICT DO NOTHING")
+  int insertIfAbsent(long userId, long articleId);
+
+  /**
+   * Deletes the favourite, in one statement.
+   *
+   * @return number of deleted rows
+   */
+  @Modifying
+  @Query(
+      "DELETE FROM ArticleFavourite f "
+          + "WHERE f.id.userId = :userId AND f.id.articleId = :articleId")
+  int deleteIfPresent(long userId, long articleId);
 }
@@ -1,8 +1,62 @@
 package io.realworld.backend.domain.aggregate.follow;
 
+import java.util.Collection;
 import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface FollowRelationRepository extends JpaRepository<FollowRelation, FollowRelationId> {
-  List<FollowRelation> findByIdFollowerId(long followerId);
+
+  @Getter
+  @AllArgsConstructor
+  class FollowCount {
+    private final long userId;
+    private final long count;
+  }
+  @Query("SELECT f.id.followeeId FROM FollowRelation f WHERE f.id.followerId = :followerId")
+  List<Long> findFolloweeIds(long followerId);
+
+  @Query("SELECT f.id.followerId FROM FollowRelation f WHERE f.id.followeeId = :followeeId")
+  List<Long> findFollowerIds(long followeeId);
+
+  int countByIdFolloweeId(long followeeId);
+
+  @Query(
+      "SELECT new io.realworld.backend.domain.aggregate.follow.FollowRelationRepository$"
+          + "FollowCount(f.id.followeeId, COUNT(*)) "
+          + "FROM FollowRelation f WHERE f.id.followeeId IN (:userIds) GROUP BY f.id.followeeId")
+  List<FollowCount> countFollowersByIds(Collection<Long> userIds);
+
+  @Query(
+      "SELECT new io.realworld.backend.domain.aggregate.follow.FollowRelationRepository$"
+          + "FollowCount(f.id.followerId, COUNT(*)) "
+          + "FROM FollowRelation f WHERE f.id.followerId IN (:userIds) GROUP BY f.id.followerId")
+  List<FollowCount> countFollowingByIds(Collection<Long> userIds);
+
+  int countByIdFollowerId(long followerId);
+
+  /**
+   * Inserts the relation unless it exists, in one statement.
+   *
+   * @return 1 if a row was inserted, 0 if the relation already existed
+   */
+  @Modifying
+  @Query(
+      "INSERT INTO FollowRelation (id.followerId, id.followeeId) "
+          + "VALUES (:followerId, :followeeId) ON CONFLICT DO NOTHING")
+  int insertIfAbsent(long followerId, long followeeId);
+
+  /**
+   * Deletes the relation, in one statement.
+   *
+   * @return number of deleted rows
+   */
+  @Modifying
+  @Query(
+      "DELETE FROM FollowRelation f "
+          + "WHERE f.id.followerId = :followerId AND f.id.followeeId = :followeeId")
+  int deleteIfPresent(long followerId, long followeeId);
 }
@@ -0,0 +1,46 @@
+package io.realworld.backend.domain.aggregate.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+/**
+ * A serialized domain event waiting to be dispatched to projections.
+ *
+ * <p>Ids come from an identity column and are taken right before the publishing transaction
+ * commits, so they increase in commit order except for the short window of concurrent commits.
+ */
+@Entity
+@Getter
+@ToString
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private long id = 0;
+
+  private @NotNull String type = "";
+
+  @Column(length = 1024)
+  private @NotNull String payload = "";
+
+  private @NotNull Instant createdAt = Instant.now();
+
+  /** Creates an event to be inserted. */
+  public OutboxEvent(String type, String payload, Instant createdAt) {
+    this.type = type;
+    this.payload = payload;
+    this.createdAt = createdAt;
+  }
+}
@@ -0,0 +1,24 @@
+package io.realworld.backend.domain.aggregate.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+  List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+  @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+  long findMaxId();
+
+  /**
+   * Deletes events every handler is past, once they are older than {@code before}.
+   *
+   * @return number of deleted events
+   */
+  @Modifying
+  @Query("DELETE FROM OutboxEvent e WHERE e.id <= :id AND e.createdAt < :before")
+  int deleteDispatched(long id, Instant before);
+}
@@ -0,0 +1,28 @@
+package io.realworld.backend.domain.aggregate.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+/** Id of the last outbox event a projection handler has applied. */
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@AllArgsConstructor
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class ProjectionCheckpoint {
+  @Id private @NotNull String handler = "";
+  private long lastEventId = 0;
+  private @NotNull Instant updatedAt = Instant.now();
+}
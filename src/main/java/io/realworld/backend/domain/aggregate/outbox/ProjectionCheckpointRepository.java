@@ -0,0 +1,15 @@
+package io.realworld.backend.domain.aggregate.outbox;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ProjectionCheckpointRepository
+    extends JpaRepository<ProjectionCheckpoint, String> {
+  /** Locks the checkpoint, so only one instance applies a batch for a handler at a time. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM ProjectionCheckpoint c WHERE c.handler = :handler")
+  Optional<ProjectionCheckpoint> findForUpdate(String handler);
+}
@@ -0,0 +1,28 @@
+package io.realworld.backend.domain.aggregate.trending;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+/** Snapshot of an article's decayed trending score, used to restore trending after a restart. */
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@AllArgsConstructor
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class TrendingScore {
+  @Id private long articleId = 0;
+  private double score = 0;
+  private @NotNull Instant scoredAt = Instant.now();
+}
@@ -0,0 +1,33 @@
+package io.realworld.backend.domain.aggregate.trending;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+  /**
+   * Stores the score of one article, in one statement. An existing row is only replaced by a
+   * higher score, or by any score once it was taken before {@code staleBefore}, so nodes that each
+   * see part of the traffic do not overwrite each other's rows.
+   *
+   * @return 1 if the row was inserted or replaced, 0 if the stored score was kept
+   */
+  @Modifying
+  @Query(
+      "INSERT INTO TrendingScore (articleId, score, scoredAt) "
+          + "VALUES (:articleId, :score, :scoredAt) "
+          + "ON CONFLICT (articleId) DO UPDATE "
+          + "SET score = excluded.score, scoredAt = excluded.scoredAt "
+          + "WHERE excluded.score > score OR scoredAt < :staleBefore")
+  int upsert(long articleId, double score, Instant scoredAt, Instant staleBefore);
+
+  /**
+   * Deletes scores taken before {@code cutoff}.
+   *
+   * @return number of deleted rows
+   */
+  @Modifying
+  @Query("DELETE FROM TrendingScore t WHERE t.scoredAt < :cutoff")
+  int deleteScoredBefore(Instant cutoff);
+}
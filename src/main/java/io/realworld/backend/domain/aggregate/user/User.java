@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
 import lombok.AccessLevel;
@@ -15,6 +16,10 @@ import lombok.ToString;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * Domain entity representing an application user.
@@ -23,18 +28,39 @@ import org.checkerframework.framework.qual.TypeUseLocation;
  * optional profile information (bio, image).
  */
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    uniqueConstraints = {
+      @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+      @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username")
+    })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class User {
+  /** Second-level cache region of users by id. */
+  public static final String CACHE_REGION = "user";
+
+  /** Second-level cache region of user ids by email. */
+  public static final String NATURAL_ID_CACHE_REGION = "user-email";
+
+  /** Unique constraint on the email column. */
+  public static final String EMAIL_CONSTRAINT = "users_email_uk";
+
+  /** Unique constraint on the username column. */
+  public static final String USERNAME_CONSTRAINT = "users_username_uk";
+
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
   private long id = 0;
 
+  @NaturalId(mutable = true)
   private @NotNull String email = "";
+
   private @NotNull String username = "";
   private @NotNull String passwordHash = "";
 
@@ -0,0 +1,8 @@
+package io.realworld.backend.domain.aggregate.user;
+
+/** The unique names of a user, without the rest of the entity. */
+public interface UserNames {
+  String getUsername();
+
+  String getEmail();
+}
@@ -0,0 +1,8 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import java.util.Optional;
+
+/** Lookup of users by their natural id, served from the second-level cache when present. */
+public interface UserNaturalIdRepository {
+  Optional<User> findByEmail(String email);
+}
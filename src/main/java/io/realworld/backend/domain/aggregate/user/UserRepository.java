@@ -1,10 +1,27 @@
 package io.realworld.backend.domain.aggregate.user;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-  Optional<User> findByEmail(String username);
-
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+  /**
+   * Served from the query cache; every write to the users table invalidates all cached results, so
+   * this pays off because profiles are read far more often than users register or change.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<User> findByUsername(String username);
+
+  List<User> findByUsernameIn(Collection<String> usernames);
+
+  /** Usernames and emails of all users, fetched in chunks; must be consumed in a transaction. */
+  @Query("SELECT u.username AS username, u.email AS email FROM User u")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<UserNames> streamAllNames();
 }
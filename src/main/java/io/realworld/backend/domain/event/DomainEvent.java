@@ -0,0 +1,30 @@
+package io.realworld.backend.domain.event;
+
+/**
+ * A change to the domain that derived views may need to follow.
+ *
+ * <p>Events carry ids rather than state: a handler reads whatever current state it needs, so an
+ * event delivered late or twice cannot overwrite newer data with older.
+ */
+public sealed interface DomainEvent {
+  record ArticleCreated(long articleId, long authorId) implements DomainEvent {}
+
+  record ArticleUpdated(long articleId) implements DomainEvent {}
+
+  record ArticleDeleted(long articleId, long authorId) implements DomainEvent {}
+
+  record Favourited(long userId, long articleId) implements DomainEvent {}
+
+  record Unfavourited(long userId, long articleId) implements DomainEvent {}
+
+  record Followed(long followerId, long followeeId) implements DomainEvent {}
+
+  record Unfollowed(long followerId, long followeeId) implements DomainEvent {}
+
+  record CommentAdded(long commentId, long articleId, long authorId) implements DomainEvent {}
+
+  record CommentDeleted(long commentId, long articleId) implements DomainEvent {}
+
+  /** Username, bio or image changed. */
+  record ProfileUpdated(long userId) implements DomainEvent {}
+}
@@ -0,0 +1,35 @@
+package io.realworld.backend.domain.event;
+
+import java.util.List;
+
+/**
+ * Keeps a derived view up to date from committed domain events.
+ *
+ * <p>Every handler bean is registered with the outbox poller under its {@link #name()}, which keys
+ * its checkpoint. Events arrive in outbox order, in batches, inside the transaction that advances
+ * the checkpoint, so a database view and the checkpoint commit together. A batch that throws is
+ * rolled back and retried with backoff, and later events wait for it. Handlers must still tolerate
+ * an event they have already seen, since an event committed after a gap was given up on arrives
+ * out of order.
+ */
+public interface ProjectionHandler {
+  /** Stable name of the view; renaming it starts the handler from scratch. */
+  String name();
+
+  /**
+   * Builds one chunk of the view from existing data, in its own transaction. Called with 0, then
+   * with each value it returns, until that is negative; the checkpoint is created afterwards. This
+   * happens when the handler is first registered and again whenever its checkpoint row is deleted,
+   * which is how a view is rebuilt. The handler then receives only events newer than the ones
+   * already in the outbox, so a view over existing data must build its state here. Chunks may be
+   * repeated from the start after a failure.
+   *
+   * @param after the value returned by the previous chunk, or 0 for the first
+   * @return where the next chunk starts, or a negative value if there is none
+   */
+  default long backfill(long after) {
+    return -1;
+  }
+
+  void handle(List<PublishedEvent> events);
+}
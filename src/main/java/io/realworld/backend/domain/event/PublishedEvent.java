@@ -0,0 +1,11 @@
+package io.realworld.backend.domain.event;
+
+import java.time.Instant;
+
+/**
+ * A committed {@link DomainEvent} with its position in the outbox.
+ *
+ * @param id outbox position; events are dispatched in increasing id order
+ * @param occurredAt when the publishing transaction wrote the event
+ */
+public record PublishedEvent(long id, Instant occurredAt, DomainEvent event) {}
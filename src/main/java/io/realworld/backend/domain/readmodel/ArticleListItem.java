@@ -0,0 +1,26 @@
+package io.realworld.backend.domain.readmodel;
+
+import java.time.Instant;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * One row of an article list, read straight from {@link ArticleSummary} columns.
+ *
+ * <p>Selected with a constructor expression, so list reads create no managed entities: no
+ * persistence context entries, no dirty-checking snapshots and nothing to flush.
+ */
+public record ArticleListItem(
+    long articleId,
+    String slug,
+    String title,
+    String description,
+    String body,
+    List<String> tags,
+    long authorId,
+    String authorUsername,
+    @Nullable String authorBio,
+    @Nullable String authorImage,
+    long favouritesCount,
+    Instant createdAt,
+    Instant updatedAt) {}
@@ -0,0 +1,53 @@
+package io.realworld.backend.domain.readmodel;
+
+import java.util.Collection;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Article list responses rendered to JSON text by the database.
+ *
+ * <p>Each method returns a complete {@code MultipleArticlesResponse} document for one page, with
+ * the {@code favorited} and {@code following} flags of the viewer, if any. Callers check {@link
+ * #isEnabled()} and build the response themselves when it is false.
+ */
+public interface ArticleListJson {
+  ArticleListJson DISABLED =
+      new ArticleListJson() {
+        @Override
+        public boolean isEnabled() {
+          return false;
+        }
+
+        @Override
+        public String findByFilters(
+            @Nullable Long tagId,
+            @Nullable String author,
+            @Nullable String favorited,
+            @Nullable Long viewerId,
+            int offset,
+            int limit) {
+          throw new UnsupportedOperationException("Database rendered article lists are disabled");
+        }
+
+        @Override
+        public String findByAuthorIdIn(
+            Collection<Long> authorIds, @Nullable Long viewerId, int offset, int limit) {
+          throw new UnsupportedOperationException("Database rendered article lists are disabled");
+        }
+      };
+
+  boolean isEnabled();
+
+  /** Renders the global list, filtered like {@link ArticleSummaryRepository#findByFilters}. */
+  String findByFilters(
+      @Nullable Long tagId,
+      @Nullable String author,
+      @Nullable String favorited,
+      @Nullable Long viewerId,
+      int offset,
+      int limit);
+
+  /** Renders the feed of articles written by {@code authorIds}, which must not be empty. */
+  String findByAuthorIdIn(
+      Collection<Long> authorIds, @Nullable Long viewerId, int offset, int limit);
+}
@@ -0,0 +1,95 @@
+package io.realworld.backend.domain.readmodel;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.user.User;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Denormalized copy of an article as article lists show it: its fields, tags, author profile and
+ * favourite count in one row.
+ *
+ * <p>Written only by the article summary projection, so it lags the {@link Article} aggregate by
+ * the outbox poll interval.
+ */
+@Entity
+@Table(
+    indexes = {
+      @Index(name = "articlesummary_created_idx", columnList = "createdAt"),
+      @Index(name = "articlesummary_author_created_idx", columnList = "authorId, createdAt"),
+      @Index(
+          name = "articlesummary_username_created_idx",
+          columnList = "authorUsername, createdAt")
+    })
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class ArticleSummary {
+  @Id private long articleId = 0;
+  private @NotNull String slug = "";
+  private @NotNull String title = "";
+  private @NotNull String description = "";
+  private @NotNull String body = "";
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  private @NotNull List<String> tags = List.of();
+
+  private long authorId = 0;
+  private @NotNull String authorUsername = "";
+  private String authorBio = null;
+  private String authorImage = null;
+  private long favouritesCount = 0;
+  private @NotNull Instant createdAt = Instant.now();
+  private @NotNull Instant updatedAt = Instant.now();
+
+  /** Creates the summary of an article. */
+  public ArticleSummary(Article article, long favouritesCount) {
+    this.articleId = article.getId();
+    refresh(article, favouritesCount);
+  }
+
+  /** Copies the current state of the article and its author. */
+  public final void refresh(Article article, long favouritesCount) {
+    slug = article.getSlug();
+    title = article.getTitle();
+    description = article.getDescription();
+    body = article.getBody();
+    tags = article.getTagNames();
+    refreshAuthor(article.getAuthor());
+    this.favouritesCount = favouritesCount;
+    createdAt = article.getCreatedAt();
+    updatedAt = article.getUpdatedAt();
+  }
+
+  /** Copies the current profile of the author. */
+  public final void refreshAuthor(User author) {
+    authorId = author.getId();
+    authorUsername = author.getUsername();
+    authorBio = author.getBio().orElse(null);
+    authorImage = author.getImage().orElse(null);
+  }
+
+  public Optional<String> getAuthorBio() {
+    return Optional.ofNullable(authorBio);
+  }
+
+  public Optional<String> getAuthorImage() {
+    return Optional.ofNullable(authorImage);
+  }
+}
@@ -0,0 +1,71 @@
+package io.realworld.backend.domain.readmodel;
+
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ArticleSummaryRepository extends JpaRepository<ArticleSummary, Long> {
+  String LIST_ITEM =
+      "SELECT new io.realworld.backend.domain.readmodel.ArticleListItem("
+          + "s.articleId, s.slug, s.title, s.description, s.body, s.tags, s.authorId, "
+          + "s.authorUsername, s.authorBio, s.authorImage, s.favouritesCount, s.createdAt, "
+          + "s.updatedAt) FROM ArticleSummary s ";
+
+  @Query(LIST_ITEM + "WHERE s.authorId IN (:authorIds)")
+  List<ArticleListItem> findByAuthorIdIn(Collection<Long> authorIds, Pageable pageable);
+
+  @Query(LIST_ITEM + "WHERE s.articleId IN (:articleIds)")
+  List<ArticleListItem> findByArticleIdIn(Collection<Long> articleIds);
+
+  int countByAuthorIdIn(Collection<Long> authorIds);
+
+  @Query(
+      LIST_ITEM
+          + "WHERE (:tagId IS NULL OR EXISTS ("
+          + "SELECT 1 FROM Article a JOIN a.tags t "
+          + "WHERE a.id = s.articleId AND t.id = :tagId)) AND "
+          + "(:author IS NULL OR s.authorUsername = :author) AND "
+          + "(:favorited IS NULL OR EXISTS ("
+          + "SELECT 1 FROM ArticleFavourite f JOIN User u ON u.id = f.id.userId "
+          + "WHERE f.id.articleId = s.articleId AND u.username = :favorited))")
+  List<ArticleListItem> findByFilters(
+      @Nullable Long tagId, @Nullable String author, @Nullable String favorited, Pageable pageable);
+
+  @Query(
+      "SELECT COUNT(s) FROM ArticleSummary s WHERE "
+          + "(:tagId IS NULL OR EXISTS ("
+          + "SELECT 1 FROM Article a JOIN a.tags t "
+          + "WHERE a.id = s.articleId AND t.id = :tagId)) AND "
+          + "(:author IS NULL OR s.authorUsername = :author) AND "
+          + "(:favorited IS NULL OR EXISTS ("
+          + "SELECT 1 FROM ArticleFavourite f JOIN User u ON u.id = f.id.userId "
+          + "WHERE f.id.articleId = s.articleId AND u.username = :favorited))")
+  int countByFilters(@Nullable Long tagId, @Nullable String author, @Nullable String favorited);
+
+  /**
+   * Copies a user's current profile into the summaries of their articles.
+   *
+   * @return number of updated summaries
+   */
+  @Modifying
+  @Query(
+      "UPDATE ArticleSummary s "
+          + "SET s.authorUsername = :username, s.authorBio = :bio, s.authorImage = :image "
+          + "WHERE s.authorId = :authorId")
+  int refreshAuthor(long authorId, String username, @Nullable String bio, @Nullable String image);
+
+  /**
+   * Deletes summaries with ids in {@code (after, upTo]} whose article no longer exists.
+   *
+   * @return number of deleted summaries
+   */
+  @Modifying
+  @Query(
+      "DELETE FROM ArticleSummary s WHERE s.articleId > :after AND s.articleId <= :upTo "
+          + "AND NOT EXISTS (SELECT 1 FROM Article a WHERE a.id = s.articleId)")
+  int deleteOrphans(long after, long upTo);
+}
@@ -0,0 +1,14 @@
+package io.realworld.backend.domain.service;
+
+import io.realworld.backend.domain.event.DomainEvent;
+
+/** Records domain events as part of the current transaction. */
+public interface DomainEventPublisher {
+  /**
+   * Adds {@code event} to the outbox when the current transaction commits; nothing is published if
+   * it rolls back.
+   *
+   * @throws IllegalStateException if no transaction is active
+   */
+  void publish(DomainEvent event);
+}
@@ -0,0 +1,53 @@
+package io.realworld.backend.domain.service;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Favourite writes that are acknowledged before they reach the database.
+ *
+ * <p>Callers check {@link #isEnabled()}; when the buffer is disabled they write favourites
+ * themselves and the read overlay methods report nothing pending.
+ */
+public interface FavouriteBuffer {
+  FavouriteBuffer DISABLED =
+      new FavouriteBuffer() {
+        @Override
+        public boolean isEnabled() {
+          return false;
+        }
+
+        @Override
+        public boolean record(
+            long userId, long articleId, boolean favourite, BooleanSupplier persisted) {
+          throw new UnsupportedOperationException("Favourite buffer is disabled");
+        }
+
+        @Override
+        public Optional<Boolean> pendingState(long userId, long articleId) {
+          return Optional.empty();
+        }
+
+        @Override
+        public long pendingCountDelta(long articleId) {
+          return 0;
+        }
+      };
+
+  boolean isEnabled();
+
+  /**
+   * Durably records that the user favourited or unfavourited the article.
+   *
+   * @param persisted whether the favourite row currently exists; only called when nothing is
+   *     pending for the pair
+   * @return whether the favourited state of the pair changed, counting pending intents
+   */
+  boolean record(long userId, long articleId, boolean favourite, BooleanSupplier persisted);
+
+  /** Favourited state of the pair, if an intent has not been written to the database yet. */
+  Optional<Boolean> pendingState(long userId, long articleId);
+
+  /** Change to the article's favourite count that has not been written to the database yet. */
+  long pendingCountDelta(long articleId);
+}
@@ -0,0 +1,37 @@
+package io.realworld.backend.domain.service;
+
+import java.util.Collection;
+
+/**
+ * Tells the other instances of the application which entries of their in-process caches changed.
+ *
+ * <p>A cache publishes the keys a transaction changed once it has committed, evicts its own
+ * entries itself, and subscribes to evict the keys other instances publish. Keys are delivered in
+ * the order each instance published them, within a short and measured delay; whenever some may
+ * have been lost, such as while a transport reconnects, every listener is told to evict everything.
+ */
+public interface InvalidationBus {
+  /** Evicts the entries of one cache that other instances invalidated. */
+  interface Listener {
+    void evict(Collection<String> keys);
+
+    /** Invalidations may have been missed: drop every entry. */
+    void evictAll();
+  }
+
+  /** A single instance: there is nobody to tell and nothing to hear. */
+  InvalidationBus DISABLED =
+      new InvalidationBus() {
+        @Override
+        public void publish(String cache, Collection<String> keys) {}
+
+        @Override
+        public void subscribe(String cache, Listener listener) {}
+      };
+
+  /** Sends {@code keys} of {@code cache} to the other instances; call after the commit. */
+  void publish(String cache, Collection<String> keys);
+
+  /** Calls {@code listener} with the keys of {@code cache} that other instances publish. */
+  void subscribe(String cache, Listener listener);
+}
@@ -0,0 +1,41 @@
+package io.realworld.backend.infrastructure.config;
+
+import io.realworld.backend.application.dto.RenderedArticlesResponseData;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/** Writes responses the database rendered as UTF-8 JSON without parsing them again. */
+final class RenderedJsonHttpMessageConverter
+    extends AbstractHttpMessageConverter<RenderedArticlesResponseData> {
+
+  RenderedJsonHttpMessageConverter() {
+    super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RenderedArticlesResponseData.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected RenderedArticlesResponseData readInternal(
+      Class<? extends RenderedArticlesResponseData> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Rendered JSON is write-only", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(RenderedArticlesResponseData body, HttpOutputMessage outputMessage)
+      throws IOException {
+    outputMessage.getBody().write(body.getJson().getBytes(StandardCharsets.UTF_8));
+  }
+}
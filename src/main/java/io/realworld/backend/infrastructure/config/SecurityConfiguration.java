@@ -1,5 +1,6 @@
 package io.realworld.backend.infrastructure.config;
 
+import io.realworld.backend.infrastructure.limiter.ConcurrencyLimitFilter;
 import io.realworld.backend.infrastructure.security.JwtTokenFilter;
 import java.util.Arrays;
 import java.util.List;
@@ -17,6 +18,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 
 @Configuration
@@ -24,10 +26,17 @@ import org.springframework.web.cors.CorsConfiguration;
 @EnableWebSecurity
 public class SecurityConfiguration {
   private final JwtTokenFilter jwtTokenFilter;
+  private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
   @Value("${cors.allowed-origins}")
   private String allowedOrigins;
 
+  @Value("${server.port:8080}")
+  private int serverPort;
+
+  @Value("${management.server.port:-1}")
+  private int managementPort;
+
   @Bean
   public PasswordEncoder passwordEncoder() {
     return new BCryptPasswordEncoder();
@@ -65,13 +74,34 @@ public class SecurityConfiguration {
                     .permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/users", "/api/users/login")
                     .permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/users/availability")
+                    .permitAll()
+                    .requestMatchers(HttpMethod.POST, "/api/articles/batch", "/api/profiles/batch")
+                    .permitAll()
                     .requestMatchers(
                         HttpMethod.GET, "/api/articles/**", "/api/profiles/**", "/api/tags")
                     .permitAll()
+                    .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**")
+                    .permitAll()
+                    .requestMatchers(managementPortRequests())
+                    .permitAll()
                     .anyRequest()
                     .authenticated())
-        .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(concurrencyLimitFilter, JwtTokenFilter.class);
 
     return http.build();
   }
+
+  /**
+   * Requests to the actuator's own port, which {@code management.server.address} keeps on the
+   * loopback interface; nothing matches while the actuator shares the application's port.
+   */
+  private RequestMatcher managementPortRequests() {
+    final var port = managementPort;
+    if (port <= 0 || port == serverPort) {
+      return request -> false;
+    }
+    return request -> request.getLocalPort() == port;
+  }
 }
@@ -0,0 +1,50 @@
+package io.realworld.backend.infrastructure.config;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup tuning.
+ *
+ * <p>Beans declared in or typed from {@code conduit.startup.lazy-packages} (springdoc by default)
+ * are created on first use instead of during startup. They only serve the API docs, so a cold
+ * start does not wait for them. With AOT processing the flag is recorded in the generated bean
+ * definitions.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+  @Bean
+  static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+    final var packages =
+        Binder.get(environment)
+            .bind("conduit.startup.lazy-packages", Bindable.listOf(String.class))
+            .orElse(List.of("org.springdoc"));
+    return beanFactory -> {
+      for (final var name : beanFactory.getBeanDefinitionNames()) {
+        final var definition = beanFactory.getBeanDefinition(name);
+        final var type = beanFactory.getType(name, false);
+        final var factoryMethod =
+            definition instanceof AnnotatedBeanDefinition annotated
+                ? annotated.getFactoryMethodMetadata()
+                : null;
+        final var declaredIn =
+            factoryMethod != null ? factoryMethod.getDeclaringClassName() : null;
+        if ((type != null && inPackages(type.getName(), packages))
+            || (declaredIn != null && inPackages(declaredIn, packages))) {
+          definition.setLazyInit(true);
+        }
+      }
+    };
+  }
+
+  private static boolean inPackages(String className, List<String> packages) {
+    return packages.stream().anyMatch(p -> className.startsWith(p + "."));
+  }
+}
@@ -0,0 +1,17 @@
+package io.realworld.backend.infrastructure.config;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Spring MVC settings beyond what Spring Boot configures. */
+@Configuration(proxyBeanMethods = false)
+public class WebConfiguration implements WebMvcConfigurer {
+
+  /** Puts the rendered JSON writer first so Jackson never sees database rendered responses. */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(0, new RenderedJsonHttpMessageConverter());
+  }
+}
@@ -0,0 +1,47 @@
+package io.realworld.backend.infrastructure.favourite;
+
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import io.realworld.backend.domain.service.FavouriteBuffer;
+import jakarta.persistence.EntityManager;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Selects how favourites are written.
+ *
+ * <p>Writes are synchronous unless {@code conduit.favourites.write-behind.enabled} is set.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FavouriteBufferConfiguration {
+
+  @Bean
+  @ConditionalOnProperty(name = "conduit.favourites.write-behind.enabled", havingValue = "true")
+  WriteBehindFavouriteBuffer writeBehindFavouriteBuffer(
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      DomainEventPublisher domainEventPublisher,
+      @Value("${conduit.favourites.write-behind.journal-dir}") Path journalDir,
+      @Value("${conduit.favourites.write-behind.flush-interval}") Duration flushInterval) {
+    return new WriteBehindFavouriteBuffer(
+        entityManager,
+        new TransactionTemplate(transactionManager),
+        domainEventPublisher,
+        new FavouriteJournal(journalDir),
+        flushInterval);
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "conduit.favourites.write-behind.enabled",
+      havingValue = "false",
+      matchIfMissing = true)
+  FavouriteBuffer synchronousFavourites() {
+    return FavouriteBuffer.DISABLED;
+  }
+}
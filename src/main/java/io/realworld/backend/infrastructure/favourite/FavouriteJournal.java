@@ -0,0 +1,191 @@
+package io.realworld.backend.infrastructure.favourite;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Append-only local journal of favourite intents, split into numbered segments.
+ *
+ * <p>Appends are group-committed: a single writer thread drains every queued record, writes them
+ * with one {@code write} and one {@code fsync}, then completes their futures. After a flush to the
+ * database the buffer {@link #rotate() rotates} to a new segment and deletes the older ones.
+ */
+final class FavouriteJournal implements Closeable {
+  /** A recorded intent. */
+  record Intent(long userId, long articleId, boolean favourite) {}
+
+  private record Append(
+      long userId, long articleId, boolean favourite, CompletableFuture<Void> done) {}
+
+  private static final int RECORD_SIZE = 2 * Long.BYTES + 1;
+  private static final int MAX_BATCH = 1024;
+  private static final Pattern SEGMENT = Pattern.compile("favourites-(\\d{16})\\.journal");
+  private static final Append STOP = new Append(0, 0, false, new CompletableFuture<>());
+
+  private final Path directory;
+  private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+  private final Object lock = new Object();
+  private @Nullable FileChannel channel;
+  private long segment;
+  private @Nullable Thread writer;
+
+  FavouriteJournal(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Reads every existing segment, oldest first; a torn record at the end is ignored. */
+  List<Intent> recover() throws IOException {
+    final var intents = new ArrayList<Intent>();
+    for (final var file : segments()) {
+      final var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+      while (buffer.remaining() >= RECORD_SIZE) {
+        intents.add(new Intent(buffer.getLong(), buffer.getLong(), buffer.get() == 1));
+      }
+    }
+    return intents;
+  }
+
+  /**
+   * Opens a segment after the existing ones and starts the writer thread.
+   *
+   * @return the sequence of the opened segment
+   */
+  long open() throws IOException {
+    Files.createDirectories(directory);
+    final var existing = segments();
+    segment = existing.isEmpty() ? 0 : sequence(existing.get(existing.size() - 1)) + 1;
+    channel = openSegment(segment);
+    writer = Thread.ofPlatform().name("favourite-journal").daemon().start(this::writeLoop);
+    return segment;
+  }
+
+  /** Queues an intent; the future completes once it is on disk. */
+  CompletableFuture<Void> append(long userId, long articleId, boolean favourite) {
+    final var done = new CompletableFuture<Void>();
+    queue.add(new Append(userId, articleId, favourite, done));
+    return done;
+  }
+
+  /**
+   * Starts a new segment.
+   *
+   * @return the sequence of the new segment; all older segments may be deleted once every intent
+   *     appended so far has reached the database
+   */
+  long rotate() throws IOException {
+    synchronized (lock) {
+      final var current = channel;
+      if (current != null) {
+        current.close();
+      }
+      segment++;
+      channel = openSegment(segment);
+      return segment;
+    }
+  }
+
+  /** Deletes segments older than {@code sequence}. */
+  void deleteBefore(long sequence) throws IOException {
+    for (final var file : segments()) {
+      if (sequence(file) < sequence) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    final var thread = writer;
+    if (thread != null) {
+      queue.add(STOP);
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    synchronized (lock) {
+      final var current = channel;
+      if (current != null) {
+        current.close();
+      }
+    }
+  }
+
+  private void writeLoop() {
+    final var batch = new ArrayList<Append>(MAX_BATCH);
+    while (true) {
+      batch.clear();
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        return;
+      }
+      queue.drainTo(batch, MAX_BATCH - 1);
+      final var stop = batch.remove(STOP);
+      final var buffer = ByteBuffer.allocate(batch.size() * RECORD_SIZE);
+      for (final var append : batch) {
+        buffer.putLong(append.userId()).putLong(append.articleId());
+        buffer.put((byte) (append.favourite() ? 1 : 0));
+      }
+      buffer.flip();
+      try {
+        synchronized (lock) {
+          final var current = channel;
+          if (current == null) {
+            throw new IOException("Favourite journal is not open");
+          }
+          while (buffer.hasRemaining()) {
+            current.write(buffer);
+          }
+          current.force(false);
+        }
+        batch.forEach(append -> append.done().complete(null));
+      } catch (IOException e) {
+        batch.forEach(append -> append.done().completeExceptionally(e));
+      }
+      if (stop) {
+        return;
+      }
+    }
+  }
+
+  private FileChannel openSegment(long sequence) throws IOException {
+    return FileChannel.open(
+        directory.resolve(String.format("favourites-%016d.journal", sequence)),
+        StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE);
+  }
+
+  private List<Path> segments() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (var files = Files.list(directory)) {
+      return files
+          .filter(f -> SEGMENT.matcher(f.getFileName().toString()).matches())
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static long sequence(Path file) {
+    final var matcher = SEGMENT.matcher(file.getFileName().toString());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Not a journal segment: " + file);
+    }
+    return Long.parseLong(matcher.group(1));
+  }
+}
@@ -0,0 +1,276 @@
+package io.realworld.backend.infrastructure.favourite;
+
+import io.realworld.backend.domain.event.DomainEvent.Favourited;
+import io.realworld.backend.domain.event.DomainEvent.Unfavourited;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import io.realworld.backend.domain.service.FavouriteBuffer;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind {@link FavouriteBuffer}.
+ *
+ * <p>Intents are coalesced per (user, article) in a {@link ConcurrentHashMap}, so only the last
+ * one is written and a toggle back to the persisted state writes nothing. Each intent is appended
+ * to a {@link FavouriteJournal} before it is acknowledged. Every {@code flush-interval} the
+ * pending intents are written with multi-row statements in one transaction, and the journal
+ * segments they came from are deleted. On startup, intents left in the journal by a crash are
+ * written before requests are served. {@link Favourited} and {@link Unfavourited} events are
+ * published with the writes, so projections see a favourite only once it is in the database.
+ */
+@Slf4j
+class WriteBehindFavouriteBuffer implements FavouriteBuffer, SmartLifecycle {
+  private static final int CHUNK_SIZE = 256;
+
+  private record Key(long userId, long articleId) {}
+
+  /** Last intent for a pair, and whether the row existed before the first pending intent. */
+  private record Pending(boolean favourite, boolean persisted) {
+    int countDelta() {
+      return (favourite ? 1 : 0) - (persisted ? 1 : 0);
+    }
+  }
+
+  private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, Long> countDeltas = new ConcurrentHashMap<>();
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final DomainEventPublisher domainEventPublisher;
+  private final FavouriteJournal journal;
+  private final Duration flushInterval;
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  WriteBehindFavouriteBuffer(
+      EntityManager entityManager,
+      TransactionTemplate transactionTemplate,
+      DomainEventPublisher domainEventPublisher,
+      FavouriteJournal journal,
+      Duration flushInterval) {
+    this.entityManager = entityManager;
+    this.transactionTemplate = transactionTemplate;
+    this.domainEventPublisher = domainEventPublisher;
+    this.journal = journal;
+    this.flushInterval = flushInterval;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public boolean record(
+      long userId, long articleId, boolean favourite, BooleanSupplier persisted) {
+    final var key = new Key(userId, articleId);
+    final boolean changed;
+    while (true) {
+      final var current = pending.get(key);
+      if (current == null) {
+        final var next = new Pending(favourite, persisted.getAsBoolean());
+        if (pending.putIfAbsent(key, next) == null) {
+          addCountDelta(articleId, next.countDelta());
+          changed = next.persisted() != favourite;
+          break;
+        }
+      } else {
+        final var next = new Pending(favourite, current.persisted());
+        if (pending.replace(key, current, next)) {
+          addCountDelta(articleId, next.countDelta() - current.countDelta());
+          changed = current.favourite() != favourite;
+          break;
+        }
+      }
+    }
+    journal.append(userId, articleId, favourite).join();
+    return changed;
+  }
+
+  @Override
+  public Optional<Boolean> pendingState(long userId, long articleId) {
+    return Optional.ofNullable(pending.get(new Key(userId, articleId))).map(Pending::favourite);
+  }
+
+  @Override
+  public long pendingCountDelta(long articleId) {
+    return countDeltas.getOrDefault(articleId, 0L);
+  }
+
+  @Override
+  public void start() {
+    try {
+      final var recovered = new LinkedHashMap<Key, Boolean>();
+      for (final var intent : journal.recover()) {
+        recovered.put(new Key(intent.userId(), intent.articleId()), intent.favourite());
+      }
+      if (!recovered.isEmpty()) {
+        log.info("Replaying {} favourite intents from the journal", recovered.size());
+        write(recovered);
+      }
+      journal.deleteBefore(journal.open());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("favourite-flush").daemon().unstarted(r));
+    final var nanos = flushInterval.toNanos();
+    executor.scheduleWithFixedDelay(this::flushQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      flush();
+      journal.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /** Starts before and stops after the web server, so no request finds the buffer stopped. */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 2048;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException | IOException e) {
+      log.warn("Favourite flush failed, retrying on the next tick", e);
+    }
+  }
+
+  /** Writes every pending intent, then forgets the ones that were not replaced meanwhile. */
+  synchronized void flush() throws IOException {
+    final var segment = journal.rotate();
+    final var snapshot = new ArrayList<Map.Entry<Key, Pending>>(pending.size());
+    pending.forEach((key, value) -> snapshot.add(Map.entry(key, value)));
+    final var changes = new LinkedHashMap<Key, Boolean>();
+    for (final var entry : snapshot) {
+      if (entry.getValue().favourite() != entry.getValue().persisted()) {
+        changes.put(entry.getKey(), entry.getValue().favourite());
+      }
+    }
+    write(changes);
+    for (final var entry : snapshot) {
+      settle(entry.getKey(), entry.getValue());
+    }
+    journal.deleteBefore(segment);
+  }
+
+  /** Drops a written intent, or rebases a newer one on the state that was just written. */
+  private void settle(Key key, Pending written) {
+    while (true) {
+      final var current = pending.get(key);
+      if (current == null) {
+        return;
+      }
+      if (current.equals(written)) {
+        if (pending.remove(key, current)) {
+          addCountDelta(key.articleId(), -current.countDelta());
+          return;
+        }
+      } else {
+        final var rebased = new Pending(current.favourite(), written.favourite());
+        if (pending.replace(key, current, rebased)) {
+          addCountDelta(key.articleId(), rebased.countDelta() - current.countDelta());
+          return;
+        }
+      }
+    }
+  }
+
+  private void addCountDelta(long articleId, long delta) {
+    if (delta != 0) {
+      countDeltas.compute(
+          articleId,
+          (id, current) -> {
+            final var next = (current == null ? 0 : current) + delta;
+            return next == 0 ? null : next;
+          });
+    }
+  }
+
+  private void write(Map<Key, Boolean> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    final var inserts = new ArrayList<Key>();
+    final var deletes = new ArrayList<Key>();
+    changes.forEach((key, favourite) -> (favourite ? inserts : deletes).add(key));
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          for (int i = 0; i < inserts.size(); i += CHUNK_SIZE) {
+            insert(inserts.subList(i, Math.min(i + CHUNK_SIZE, inserts.size())));
+          }
+          for (int i = 0; i < deletes.size(); i += CHUNK_SIZE) {
+            delete(deletes.subList(i, Math.min(i + CHUNK_SIZE, deletes.size())));
+          }
+          inserts.forEach(
+              k -> domainEventPublisher.publish(new Favourited(k.userId(), k.articleId())));
+          deletes.forEach(
+              k -> domainEventPublisher.publish(new Unfavourited(k.userId(), k.articleId())));
+        });
+  }
+
+  private void insert(List<Key> keys) {
+    final var hql = new StringBuilder("INSERT INTO ArticleFavourite (id.userId, id.articleId) ");
+    for (int i = 0; i < keys.size(); i++) {
+      hql.append(i == 0 ? "VALUES " : ", ").append("(:u").append(i).append(", :a").append(i);
+      hql.append(')');
+    }
+    hql.append(" ON CONFLICT DO NOTHING");
+    execute(hql.toString(), keys);
+  }
+
+  private void delete(List<Key> keys) {
+    final var hql = new StringBuilder("DELETE FROM ArticleFavourite f WHERE ");
+    for (int i = 0; i < keys.size(); i++) {
+      hql.append(i == 0 ? "" : " OR ").append("(f.id.userId = :u").append(i);
+      hql.append(" AND f.id.articleId = :a").append(i).append(')');
+    }
+    execute(hql.toString(), keys);
+  }
+
+  private void execute(String hql, List<Key> keys) {
+    final var query = entityManager.createQuery(hql);
+    for (int i = 0; i < keys.size(); i++) {
+      query.setParameter("u" + i, keys.get(i).userId());
+      query.setParameter("a" + i, keys.get(i).articleId());
+    }
+    query.executeUpdate();
+  }
+}
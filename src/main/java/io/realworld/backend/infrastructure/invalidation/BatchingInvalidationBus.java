@@ -0,0 +1,284 @@
+package io.realworld.backend.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.realworld.backend.domain.service.InvalidationBus;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Collects published keys and sends them every {@code flush-interval} over an {@link
+ * InvalidationTransport}.
+ *
+ * <p>Keys published again before a flush are sent once. A flush becomes as few messages as the
+ * transport's length limit allows, each one line per cache:
+ *
+ * <pre>
+ * origin sequence publishedAt
+ * cache key key ...
+ * </pre>
+ *
+ * <p>with every field URL-encoded. {@code origin} identifies this instance for its lifetime and
+ * {@code sequence} numbers its messages without gaps, so a receiver that sees a gap, such as a
+ * message the database failed to send, evicts every cache instead. A cache line without keys
+ * evicts the whole cache; it replaces a key too long to send.
+ *
+ * <p>Peers hold stale entries for at most the flush interval plus transport latency. {@code
+ * conduit.invalidation.lag} measures that bound on the receiving side: time from the first publish
+ * of a message's keys to their eviction, by the wall clocks of both instances. Other meters: {@code
+ * conduit.invalidation.published} and {@code conduit.invalidation.received} (keys), {@code
+ * conduit.invalidation.resets} and {@code conduit.invalidation.send.failures}.
+ */
+@Slf4j
+final class BatchingInvalidationBus implements InvalidationBus, SmartLifecycle {
+  /** Room kept in each message for the header line. */
+  private static final int HEADER_LENGTH = 96;
+
+  private final InvalidationTransport transport;
+  private final Clock clock;
+  private final Duration flushInterval;
+  private final String origin = UUID.randomUUID().toString();
+  private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+  /** Last sequence received from each other instance. */
+  private final Map<String, Long> received = new ConcurrentHashMap<>();
+  /** Held while a batch is taken and sent, so batches leave in order. */
+  private final Object sendLock = new Object();
+
+  private final Counter publishedKeys;
+  private final Counter receivedKeys;
+  private final Counter resets;
+  private final Counter sendFailures;
+  private final Timer lag;
+
+  /** Keys waiting for the next flush, by cache; guarded by {@code this}. */
+  private Map<String, Set<String>> pending = new HashMap<>();
+  /** When the oldest pending key was published; guarded by {@code this}. */
+  private long pendingSince;
+  /** Guarded by {@link #sendLock}. */
+  private long sequence;
+
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  BatchingInvalidationBus(
+      InvalidationTransport transport,
+      Clock clock,
+      MeterRegistry registry,
+      Duration flushInterval) {
+    this.transport = transport;
+    this.clock = clock;
+    this.flushInterval = flushInterval;
+    this.publishedKeys = registry.counter("conduit.invalidation.published");
+    this.receivedKeys = registry.counter("conduit.invalidation.received");
+    this.resets = registry.counter("conduit.invalidation.resets");
+    this.sendFailures = registry.counter("conduit.invalidation.send.failures");
+    this.lag = Timer.builder("conduit.invalidation.lag").register(registry);
+  }
+
+  @Override
+  public synchronized void publish(String cache, Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    if (pending.isEmpty()) {
+      pendingSince = clock.millis();
+    }
+    pending.computeIfAbsent(cache, c -> new LinkedHashSet<>()).addAll(keys);
+  }
+
+  @Override
+  public void subscribe(String cache, Listener listener) {
+    listeners.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  /** Sends the pending keys; called by the flush thread, and once more on stop. */
+  void flush() {
+    synchronized (sendLock) {
+      final Map<String, Set<String>> batch;
+      final long publishedAt;
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = pending;
+        publishedAt = pendingSince;
+        pending = new HashMap<>();
+      }
+      batch.values().forEach(keys -> publishedKeys.increment(keys.size()));
+      for (final var body : encode(batch)) {
+        sequence++;
+        try {
+          transport.send(origin + ' ' + sequence + ' ' + publishedAt + '\n' + body);
+        } catch (RuntimeException e) {
+          // Receivers see the gap in the sequence and evict everything
+          sendFailures.increment();
+          log.warn("Could not send invalidation message {}", sequence, e);
+        }
+      }
+    }
+  }
+
+  /** Message bodies for {@code batch}, each within the transport's length limit. */
+  private List<String> encode(Map<String, Set<String>> batch) {
+    final var limit = transport.maxMessageLength() - HEADER_LENGTH;
+    final var bodies = new ArrayList<String>();
+    final var body = new StringBuilder();
+    final var evictAll = new LinkedHashSet<String>();
+    for (final var entry : batch.entrySet()) {
+      final var cache = encode(entry.getKey());
+      var lineOpen = false;
+      for (final var key : entry.getValue()) {
+        final var token = encode(key);
+        if (cache.length() + token.length() + 2 > limit) {
+          evictAll.add(cache);
+          continue;
+        }
+        if (body.length() + (lineOpen ? 0 : cache.length() + 1) + token.length() + 1 > limit) {
+          bodies.add(body.toString());
+          body.setLength(0);
+          lineOpen = false;
+        }
+        if (!lineOpen) {
+          appendLine(body, cache);
+          lineOpen = true;
+        }
+        body.append(' ').append(token);
+      }
+    }
+    for (final var cache : evictAll) {
+      if (body.length() + cache.length() + 1 > limit) {
+        bodies.add(body.toString());
+        body.setLength(0);
+      }
+      appendLine(body, cache);
+    }
+    if (body.length() > 0) {
+      bodies.add(body.toString());
+    }
+    return bodies;
+  }
+
+  private static void appendLine(StringBuilder body, String cache) {
+    if (body.length() > 0) {
+      body.append('\n');
+    }
+    body.append(cache);
+  }
+
+  /** Applies a message from the transport. */
+  void receive(String message) {
+    try {
+      final var lines = message.split("\n");
+      final var header = lines[0].split(" ");
+      final var sender = header[0];
+      if (origin.equals(sender)) {
+        return;
+      }
+      final var messageSequence = Long.parseLong(header[1]);
+      final var publishedAt = Long.parseLong(header[2]);
+      final var previous = received.put(sender, messageSequence);
+      if (previous != null && messageSequence != previous + 1) {
+        log.warn("Missed invalidations from {} before message {}", sender, messageSequence);
+        reset();
+      }
+      for (var i = 1; i < lines.length; i++) {
+        apply(lines[i].split(" "));
+      }
+      lag.record(Math.max(0, clock.millis() - publishedAt), TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      log.warn("Could not apply invalidation message, evicting every cache", e);
+      reset();
+    }
+  }
+
+  private void apply(String[] line) {
+    final var subscribers = listeners.getOrDefault(decode(line[0]), List.of());
+    if (line.length == 1) {
+      subscribers.forEach(Listener::evictAll);
+      return;
+    }
+    final var keys = new ArrayList<String>(line.length - 1);
+    for (var i = 1; i < line.length; i++) {
+      keys.add(decode(line[i]));
+    }
+    receivedKeys.increment(keys.size());
+    for (final var subscriber : subscribers) {
+      subscriber.evict(keys);
+    }
+  }
+
+  /** Evicts every subscribed cache, as some invalidations may have been lost. */
+  void reset() {
+    resets.increment();
+    listeners.values().forEach(subscribers -> subscribers.forEach(Listener::evictAll));
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  private static String decode(String value) {
+    return URLDecoder.decode(value, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void start() {
+    transport.start(this::receive, this::reset);
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("invalidation-flusher").daemon().unstarted(r));
+    final var nanos = flushInterval.toNanos();
+    executor.scheduleWithFixedDelay(this::flushQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      scheduler = null;
+      flushQuietly();
+      transport.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.warn("Invalidation flush failed, retrying on the next tick", e);
+    }
+  }
+}
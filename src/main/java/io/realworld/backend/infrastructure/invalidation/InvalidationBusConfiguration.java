@@ -0,0 +1,72 @@
+package io.realworld.backend.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.domain.service.InvalidationBus;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how in-process caches are invalidated on the other instances.
+ *
+ * <p>{@code conduit.invalidation.transport} is {@code none} for a single instance, {@code postgres}
+ * for {@code LISTEN/NOTIFY} on the application database, or {@code loopback} for several
+ * application contexts in one JVM. {@code postgres} is ignored on any other database.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class InvalidationBusConfiguration {
+
+  @Bean
+  @ConditionalOnProperty(name = "conduit.invalidation.transport", havingValue = "postgres")
+  InvalidationBus postgresInvalidationBus(
+      DataSource dataSource,
+      ObjectProvider<MeterRegistry> registry,
+      @Value("${conduit.invalidation.channel:conduit_invalidation}") String channel,
+      @Value("${conduit.invalidation.flush-interval:20ms}") Duration flushInterval)
+      throws SQLException {
+    final String product;
+    try (var connection = dataSource.getConnection()) {
+      product = connection.getMetaData().getDatabaseProductName();
+    }
+    if (!"PostgreSQL".equals(product)) {
+      log.info("Cache invalidation over LISTEN/NOTIFY needs PostgreSQL, not {}; disabled", product);
+      return InvalidationBus.DISABLED;
+    }
+    return new BatchingInvalidationBus(
+        new PostgresInvalidationTransport(dataSource, channel),
+        Clock.systemUTC(),
+        registry.getIfAvailable(SimpleMeterRegistry::new),
+        flushInterval);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "conduit.invalidation.transport", havingValue = "loopback")
+  InvalidationBus loopbackInvalidationBus(
+      ObjectProvider<MeterRegistry> registry,
+      @Value("${conduit.invalidation.channel:conduit_invalidation}") String channel,
+      @Value("${conduit.invalidation.flush-interval:20ms}") Duration flushInterval) {
+    return new BatchingInvalidationBus(
+        new LoopbackInvalidationTransport(channel),
+        Clock.systemUTC(),
+        registry.getIfAvailable(SimpleMeterRegistry::new),
+        flushInterval);
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "conduit.invalidation.transport",
+      havingValue = "none",
+      matchIfMissing = true)
+  InvalidationBus localInvalidationBus() {
+    return InvalidationBus.DISABLED;
+  }
+}
@@ -0,0 +1,21 @@
+package io.realworld.backend.infrastructure.invalidation;
+
+import java.util.function.Consumer;
+
+/** Carries encoded invalidation messages between the instances of the application. */
+interface InvalidationTransport {
+  /**
+   * Starts delivering the messages other instances send to {@code receiver}, in the order each of
+   * them sent theirs. {@code reset} runs whenever messages may have been lost, such as after a
+   * reconnect.
+   */
+  void start(Consumer<String> receiver, Runnable reset);
+
+  /** Sends {@code message} to every other instance. */
+  void send(String message);
+
+  /** Longest message {@link #send} accepts, in characters. Messages are ASCII. */
+  int maxMessageLength();
+
+  void close();
+}
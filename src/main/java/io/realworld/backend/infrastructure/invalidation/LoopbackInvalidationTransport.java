@@ -0,0 +1,58 @@
+package io.realworld.backend.infrastructure.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Delivers messages to the other transports on the same channel in this JVM, so that several
+ * application contexts started by one test behave like separate instances.
+ *
+ * <p>Messages are handed over synchronously on the sending thread, which keeps each sender's order
+ * and never loses any. The message length limit is PostgreSQL's, so batches split the same way.
+ */
+final class LoopbackInvalidationTransport implements InvalidationTransport {
+  private static final Map<String, Set<LoopbackInvalidationTransport>> CHANNELS =
+      new ConcurrentHashMap<>();
+
+  private final String channel;
+  private volatile @Nullable Consumer<String> receiver;
+
+  LoopbackInvalidationTransport(String channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public void start(Consumer<String> receiver, Runnable reset) {
+    this.receiver = receiver;
+    CHANNELS.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(this);
+  }
+
+  @Override
+  public void send(String message) {
+    for (final var peer : CHANNELS.getOrDefault(channel, Set.of())) {
+      final var peerReceiver = peer.receiver;
+      if (peer != this && peerReceiver != null) {
+        peerReceiver.accept(message);
+      }
+    }
+  }
+
+  @Override
+  public int maxMessageLength() {
+    return PostgresInvalidationTransport.MAX_PAYLOAD_LENGTH;
+  }
+
+  @Override
+  public void close() {
+    CHANNELS.computeIfPresent(
+        channel,
+        (c, members) -> {
+          members.remove(this);
+          return members.isEmpty() ? null : members;
+        });
+    receiver = null;
+  }
+}
@@ -0,0 +1,123 @@
+package io.realworld.backend.infrastructure.invalidation;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.postgresql.PGConnection;
+
+/**
+ * PostgreSQL {@code LISTEN/NOTIFY} on one channel of the application database.
+ *
+ * <p>A listener thread keeps one pooled connection for {@code LISTEN} and polls it for
+ * notifications; PostgreSQL delivers them in commit order, and every {@code pg_notify} runs in its
+ * own transaction, so each sender's order is kept. Notifications sent while the listener is
+ * disconnected are lost, so every (re)connect runs the reset. Needs a session-level connection: a
+ * pooler in transaction mode drops {@code LISTEN} registrations.
+ */
+@Slf4j
+final class PostgresInvalidationTransport implements InvalidationTransport {
+  /** {@code NOTIFY} payloads must be shorter than 8000 bytes. */
+  static final int MAX_PAYLOAD_LENGTH = 7999;
+
+  private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final int POLL_MILLIS = 500;
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+  private final DataSource dataSource;
+  private final String channel;
+  private volatile boolean running;
+  private volatile @Nullable Thread listener;
+
+  PostgresInvalidationTransport(DataSource dataSource, String channel) {
+    if (!CHANNEL.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Invalid notification channel: " + channel);
+    }
+    this.dataSource = dataSource;
+    this.channel = channel;
+  }
+
+  @Override
+  public void start(Consumer<String> receiver, Runnable reset) {
+    running = true;
+    listener =
+        Thread.ofPlatform()
+            .name("invalidation-listener")
+            .daemon()
+            .start(() -> listen(receiver, reset));
+  }
+
+  private void listen(Consumer<String> receiver, Runnable reset) {
+    while (running) {
+      try (var connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        reset.run();
+        final var notifications = connection.unwrap(PGConnection.class);
+        while (running) {
+          final var received = notifications.getNotifications(POLL_MILLIS);
+          if (received == null) {
+            continue;
+          }
+          for (final var notification : received) {
+            if (channel.equals(notification.getName())) {
+              receiver.accept(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Invalidation listener disconnected, reconnecting in {}", RECONNECT_DELAY, e);
+        try {
+          Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void send(String message) {
+    try (var connection = dataSource.getConnection();
+        var statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+      statement.setString(1, channel);
+      statement.setString(2, message);
+      statement.execute();
+      if (!connection.getAutoCommit()) {
+        connection.commit();
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not send invalidations", e);
+    }
+  }
+
+  @Override
+  public int maxMessageLength() {
+    return MAX_PAYLOAD_LENGTH;
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    final var thread = listener;
+    if (thread == null) {
+      return;
+    }
+    try {
+      thread.join(Duration.ofMillis(POLL_MILLIS * 2L));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      listener = null;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package io.realworld.backend.infrastructure.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.infrastructure.limiter.ConcurrencyLimitFilter.Endpoint;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the {@link ConcurrencyLimitFilter}, which {@code SecurityConfiguration} places before the
+ * JWT filter.
+ *
+ * <p>Reads and writes share {@code conduit.concurrency-limit.*}; logins and registrations are
+ * capped separately by {@code conduit.concurrency-limit.auth.max-limit}, as BCrypt needs a core
+ * each. {@code conduit.concurrency-limit.bypass-paths} lists the health-check paths the platform
+ * probes, which must keep answering while the instance sheds load.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ConcurrencyLimitConfiguration {
+
+  @Bean
+  ConcurrencyLimitFilter concurrencyLimitFilter(
+      ObjectProvider<MeterRegistry> registry,
+      @Value("${conduit.concurrency-limit.enabled:true}") boolean enabled,
+      @Value("${conduit.concurrency-limit.bypass-paths:/api/tags,/actuator/health}")
+          List<String> bypassPaths,
+      @Value("${conduit.concurrency-limit.initial-limit:20}") int initialLimit,
+      @Value("${conduit.concurrency-limit.min-limit:4}") int minLimit,
+      @Value("${conduit.concurrency-limit.max-limit:200}") int maxLimit,
+      @Value("${conduit.concurrency-limit.auth.max-limit:8}") int authMaxLimit,
+      @Value("${conduit.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+    final var authMinLimit = Math.min(minLimit, authMaxLimit);
+    return new ConcurrencyLimitFilter(
+        enabled,
+        bypassPaths,
+        Map.of(
+            Endpoint.READ, new GradientLimit(initialLimit, minLimit, maxLimit),
+            Endpoint.WRITE, new GradientLimit(initialLimit, minLimit, maxLimit),
+            Endpoint.AUTH,
+                new GradientLimit(
+                    Math.max(authMinLimit, Math.min(initialLimit, authMaxLimit)),
+                    authMinLimit,
+                    authMaxLimit)),
+        retryAfter,
+        registry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+}
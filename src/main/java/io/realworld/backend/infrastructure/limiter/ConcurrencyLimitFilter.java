@@ -0,0 +1,134 @@
+package io.realworld.backend.infrastructure.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds load before a request reaches authentication, so that an overloaded instance keeps serving
+ * what it admits at normal latency instead of slowing every request down together.
+ *
+ * <p>Requests are classed as {@link Endpoint#READ reads}, {@link Endpoint#WRITE writes} and {@link
+ * Endpoint#AUTH logins and registrations}, each with its own {@link GradientLimit}. A request over
+ * its class's limit gets 503 with {@code Retry-After} at once. Logins and registrations spend most
+ * of their time in BCrypt, so they are also refused while reads are at their limit. Health-check
+ * paths, and everything below them, are never limited: a load balancer that sees 503 there would
+ * take the instance out just when it is shedding load as intended.
+ *
+ * <p>Meters, tagged by {@code endpoint}: {@code conduit.concurrency.limit} and {@code
+ * conduit.concurrency.inflight} gauges and the {@code conduit.concurrency.rejected} counter.
+ */
+public final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  /** Endpoint classes, in the order they are served when the instance is overloaded. */
+  enum Endpoint {
+    READ,
+    WRITE,
+    AUTH
+  }
+
+  private final boolean enabled;
+  private final List<String> bypassPaths;
+  private final String retryAfterSeconds;
+  private final Map<Endpoint, GradientLimit> limits = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Counter> rejected = new EnumMap<>(Endpoint.class);
+
+  ConcurrencyLimitFilter(
+      boolean enabled,
+      List<String> bypassPaths,
+      Map<Endpoint, GradientLimit> limits,
+      Duration retryAfter,
+      MeterRegistry registry) {
+    this.enabled = enabled;
+    this.bypassPaths = List.copyOf(bypassPaths);
+    this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    for (final var endpoint : Endpoint.values()) {
+      final var limit = limits.get(endpoint);
+      if (limit == null) {
+        throw new IllegalArgumentException("No concurrency limit for " + endpoint);
+      }
+      final var tag = endpoint.name().toLowerCase(Locale.ROOT);
+      this.limits.put(endpoint, limit);
+      Gauge.builder("conduit.concurrency.limit", limit, GradientLimit::limit)
+          .description("Requests that may be in flight at once")
+          .tag("endpoint", tag)
+          .register(registry);
+      Gauge.builder("conduit.concurrency.inflight", limit, GradientLimit::inflight)
+          .description("Requests in flight")
+          .tag("endpoint", tag)
+          .register(registry);
+      rejected.put(
+          endpoint,
+          Counter.builder("conduit.concurrency.rejected")
+              .description("Requests refused with 503 because the limit was reached")
+              .tag("endpoint", tag)
+              .register(registry));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (!enabled) {
+      return true;
+    }
+    final var path = path(request);
+    return bypassPaths.stream()
+        .anyMatch(bypass -> path.equals(bypass) || path.startsWith(bypass + "/"));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    final var endpoint = classify(request);
+    final var limit = limits.get(endpoint);
+    final var inflight =
+        endpoint == Endpoint.AUTH && !limits.get(Endpoint.READ).hasHeadroom()
+            ? 0
+            : limit.tryAcquire();
+    if (inflight == 0) {
+      rejected.get(endpoint).increment();
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      return;
+    }
+    final var start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      limit.release(inflight, System.nanoTime() - start);
+    }
+  }
+
+  static Endpoint classify(HttpServletRequest request) {
+    final var method = request.getMethod();
+    if (HttpMethod.GET.matches(method)
+        || HttpMethod.HEAD.matches(method)
+        || HttpMethod.OPTIONS.matches(method)) {
+      return Endpoint.READ;
+    }
+    final var path = path(request);
+    if (HttpMethod.POST.matches(method)
+        && (path.equals("/api/users") || path.equals("/api/users/login"))) {
+      return Endpoint.AUTH;
+    }
+    return Endpoint.WRITE;
+  }
+
+  private static String path(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+}
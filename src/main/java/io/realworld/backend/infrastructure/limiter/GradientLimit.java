@@ -0,0 +1,108 @@
+package io.realworld.backend.infrastructure.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows observed latency.
+ *
+ * <p>Two moving averages of request latency are kept: a short one for the current load and a long
+ * one as the baseline. While the short average stays within {@link #TOLERANCE} of the baseline the
+ * limit grows by about its square root per sample; once queueing makes requests slower, the limit
+ * is multiplied by the ratio of the two, down to half per sample. Samples taken while less than
+ * half the limit is in use say nothing about capacity and leave the limit alone. When the
+ * baseline is far above the current latency, after an overload has passed, it decays so the limit
+ * can recover.
+ */
+final class GradientLimit {
+  /** Current latency may be this much above the baseline before the limit shrinks. */
+  private static final double TOLERANCE = 1.5;
+
+  private static final double SHORT_ALPHA = 0.1;
+  private static final double LONG_ALPHA = 0.01;
+  /** Weight of each new limit estimate. */
+  private static final double SMOOTHING = 0.2;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private volatile double limit;
+
+  /** Guarded by {@code this}. */
+  private double shortRtt;
+  /** Guarded by {@code this}. */
+  private double longRtt;
+
+  GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Need 1 <= min <= initial <= max, got %d, %d, %d", minLimit, initialLimit, maxLimit));
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+  }
+
+  /**
+   * Takes a slot if fewer than {@link #limit()} requests are in flight.
+   *
+   * @return the number of requests in flight including this one, or 0 if the limit is reached
+   */
+  int tryAcquire() {
+    while (true) {
+      final var current = inflight.get();
+      if (current >= limit()) {
+        return 0;
+      }
+      if (inflight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * Returns a slot taken by {@link #tryAcquire()} and adjusts the limit.
+   *
+   * @param inflightAtStart the value {@link #tryAcquire()} returned
+   * @param rttNanos how long the request took
+   */
+  void release(int inflightAtStart, long rttNanos) {
+    inflight.decrementAndGet();
+    sample(inflightAtStart, rttNanos);
+  }
+
+  private synchronized void sample(int inflightAtStart, long rttNanos) {
+    final double rtt = Math.max(1, rttNanos);
+    if (longRtt == 0) {
+      shortRtt = rtt;
+      longRtt = rtt;
+      return;
+    }
+    shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+    longRtt += (rtt - longRtt) * LONG_ALPHA;
+    if (longRtt > 2 * shortRtt) {
+      longRtt *= 0.95;
+    }
+    final var current = limit;
+    if (inflightAtStart < current / 2) {
+      return;
+    }
+    final var gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+    final var estimate = current * gradient + Math.sqrt(current);
+    limit = Math.max(minLimit, Math.min(maxLimit, current + (estimate - current) * SMOOTHING));
+  }
+
+  /** The number of requests that may be in flight at once. */
+  int limit() {
+    return (int) limit;
+  }
+
+  int inflight() {
+    return inflight.get();
+  }
+
+  /** Whether another request would be admitted now. */
+  boolean hasHeadroom() {
+    return inflight() < limit();
+  }
+}
@@ -0,0 +1,129 @@
+package io.realworld.backend.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.realworld.backend.application.exception.InvalidRequestException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Times every {@code *ApiDelegate} method and records the bytes the calling thread allocated while
+ * serving it.
+ *
+ * <p>Meters are resolved once per method and outcome, so the hot path is two clock reads, two
+ * allocation counter reads and a map lookup.
+ */
+class ApiDelegateMetricsInterceptor implements MethodInterceptor {
+  static final String TIMER = "conduit.api.invocations";
+  static final String ALLOCATION = "conduit.api.allocated";
+
+  private static final com.sun.management.@Nullable ThreadMXBean THREADS = allocationBean();
+
+  private final ObjectProvider<MeterRegistry> registryProvider;
+  private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+  ApiDelegateMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+    this.registryProvider = registryProvider;
+  }
+
+  @Override
+  public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+    final var startAllocated = allocatedBytes();
+    final var start = System.nanoTime();
+    var outcome = Outcome.SUCCESS;
+    try {
+      final var result = invocation.proceed();
+      if (result instanceof ResponseEntity<?> response
+          && !response.getStatusCode().is2xxSuccessful()) {
+        outcome = Outcome.CLIENT_ERROR;
+      }
+      return result;
+    } catch (InvalidRequestException e) {
+      outcome = Outcome.CLIENT_ERROR;
+      throw e;
+    } catch (Throwable t) {
+      outcome = Outcome.SERVER_ERROR;
+      throw t;
+    } finally {
+      final var elapsed = System.nanoTime() - start;
+      final var allocated = allocatedBytes() - startAllocated;
+      final var methodMeters =
+          meters.computeIfAbsent(invocation.getMethod(), m -> new MethodMeters(m, registry()));
+      methodMeters.timers.get(outcome).record(elapsed, TimeUnit.NANOSECONDS);
+      if (startAllocated >= 0) {
+        methodMeters.allocation.record(allocated);
+      }
+    }
+  }
+
+  private MeterRegistry registry() {
+    return registryProvider.getObject();
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.@Nullable ThreadMXBean allocationBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemorySupported()
+        && bean.isThreadAllocatedMemoryEnabled()) {
+      return bean;
+    }
+    return null;
+  }
+
+  enum Outcome {
+    SUCCESS,
+    CLIENT_ERROR,
+    SERVER_ERROR
+  }
+
+  private static final class MethodMeters {
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+    private final DistributionSummary allocation;
+
+    MethodMeters(Method method, MeterRegistry registry) {
+      final var delegate = delegateName(method);
+      for (final var outcome : Outcome.values()) {
+        timers.put(
+            outcome,
+            Timer.builder(TIMER)
+                .description("Time spent in a REST API delegate method")
+                .tag("delegate", delegate)
+                .tag("operation", method.getName())
+                .tag("outcome", outcome.name())
+                .register(registry));
+      }
+      allocation =
+          DistributionSummary.builder(ALLOCATION)
+              .description("Bytes allocated by the request thread inside a delegate method")
+              .baseUnit("bytes")
+              .tag("delegate", delegate)
+              .tag("operation", method.getName())
+              .register(registry);
+    }
+
+    private static String delegateName(Method method) {
+      for (final var iface : method.getDeclaringClass().getInterfaces()) {
+        if (ApiDelegateMetricsPointcut.isDelegateInterface(iface)
+            && ReflectionUtils.findMethod(iface, method.getName(), method.getParameterTypes())
+                != null) {
+          return iface.getSimpleName();
+        }
+      }
+      return method.getDeclaringClass().getSimpleName();
+    }
+  }
+}
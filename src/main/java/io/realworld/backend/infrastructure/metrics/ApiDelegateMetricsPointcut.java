@@ -0,0 +1,37 @@
+package io.realworld.backend.infrastructure.metrics;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Matches methods that implement an operation of a generated {@code *ApiDelegate} interface.
+ *
+ * <p>Matching happens once per method when the proxy is built, never per invocation. Also used by
+ * the tracing advice.
+ */
+public class ApiDelegateMetricsPointcut extends StaticMethodMatcherPointcut {
+  private static final String API_PACKAGE = "io.realworld.backend.rest.api";
+
+  static boolean isDelegateInterface(Class<?> type) {
+    return type.isInterface()
+        && type.getSimpleName().endsWith("ApiDelegate")
+        && API_PACKAGE.equals(type.getPackageName());
+  }
+
+  @Override
+  public boolean matches(Method method, Class<?> targetClass) {
+    if ("getRequest".equals(method.getName())) {
+      return false;
+    }
+    for (final var iface : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+      if (isDelegateInterface(iface)
+          && ReflectionUtils.findMethod(iface, method.getName(), method.getParameterTypes())
+              != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
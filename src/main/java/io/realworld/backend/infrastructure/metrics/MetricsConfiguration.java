@@ -0,0 +1,41 @@
+package io.realworld.backend.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Latency metrics for the REST delegates and the repositories.
+ *
+ * <p>Percentile histograms, Hibernate statistics and Hikari pool gauges are configured in {@code
+ * application.properties}; everything is exposed under {@code /actuator/metrics}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+  /**
+   * Wraps every {@code *ApiDelegate} method, outside the transaction advice so commit time is
+   * included.
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor apiDelegateMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+    final var advisor =
+        new DefaultPointcutAdvisor(
+            new ApiDelegateMetricsPointcut(), new ApiDelegateMetricsInterceptor(registry));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return advisor;
+  }
+
+  @Bean
+  static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> registry) {
+    return new RepositoryMetricsPostProcessor(registry);
+  }
+}
@@ -0,0 +1,57 @@
+package io.realworld.backend.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+
+/** Times every method of one Spring Data repository proxy. */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+  static final String TIMER = "conduit.repository.invocations";
+
+  private final String repository;
+  private final ObjectProvider<MeterRegistry> registryProvider;
+  private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+  RepositoryMetricsInterceptor(String repository, ObjectProvider<MeterRegistry> registryProvider) {
+    this.repository = repository;
+    this.registryProvider = registryProvider;
+  }
+
+  @Override
+  public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+    final var start = System.nanoTime();
+    var failed = false;
+    try {
+      return invocation.proceed();
+    } catch (Throwable t) {
+      failed = true;
+      throw t;
+    } finally {
+      final var elapsed = System.nanoTime() - start;
+      timers
+          .computeIfAbsent(invocation.getMethod(), this::register)[failed ? 1 : 0]
+          .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Timer[] register(Method method) {
+    final var registry = registryProvider.getObject();
+    return new Timer[] {timer(registry, method, "SUCCESS"), timer(registry, method, "ERROR")};
+  }
+
+  private Timer timer(MeterRegistry registry, Method method, String outcome) {
+    return Timer.builder(TIMER)
+        .description("Time spent in a repository method, including the SQL it runs")
+        .tag("repository", repository)
+        .tag("method", method.getName())
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+}
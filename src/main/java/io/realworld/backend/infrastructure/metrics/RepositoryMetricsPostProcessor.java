@@ -0,0 +1,33 @@
+package io.realworld.backend.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link RepositoryMetricsInterceptor} to every Spring Data repository proxy while its
+ * factory bean is being initialised.
+ */
+class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+  private final ObjectProvider<MeterRegistry> registryProvider;
+
+  RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+    this.registryProvider = registryProvider;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+      factoryBean.addRepositoryFactoryCustomizer(
+          factory ->
+              factory.addRepositoryProxyPostProcessor(
+                  (proxyFactory, repositoryInformation) ->
+                      proxyFactory.addAdvice(
+                          new RepositoryMetricsInterceptor(
+                              repositoryInformation.getRepositoryInterface().getSimpleName(),
+                              registryProvider))));
+    }
+    return bean;
+  }
+}
@@ -0,0 +1,56 @@
+package io.realworld.backend.infrastructure.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.event.ProjectionHandler;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox: services publish domain events into the request transaction and a local
+ * poller dispatches them to every {@link ProjectionHandler} bean.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OutboxConfiguration {
+
+  @Bean
+  DomainEventPublisher domainEventPublisher(OutboxEventRepository outboxEventRepository) {
+    return new OutboxDomainEventPublisher(outboxEventRepository, Clock.systemUTC());
+  }
+
+  @Bean
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  OutboxPoller outboxPoller(
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository,
+      PlatformTransactionManager transactionManager,
+      ObjectProvider<ProjectionHandler> handlers,
+      ObjectProvider<MeterRegistry> registry,
+      @Value("${conduit.outbox.poll-interval:100ms}") Duration pollInterval,
+      @Value("${conduit.outbox.batch-size:500}") int batchSize,
+      @Value("${conduit.outbox.gap-timeout:10s}") Duration gapTimeout,
+      @Value("${conduit.outbox.retention:1h}") Duration retention,
+      @Value("${conduit.outbox.max-backoff:1m}") Duration maxBackoff) {
+    return new OutboxPoller(
+        outboxEventRepository,
+        checkpointRepository,
+        new TransactionTemplate(transactionManager),
+        Clock.systemUTC(),
+        handlers.orderedStream().toList(),
+        registry.getIfAvailable(SimpleMeterRegistry::new),
+        pollInterval,
+        batchSize,
+        gapTimeout,
+        retention,
+        maxBackoff);
+  }
+}
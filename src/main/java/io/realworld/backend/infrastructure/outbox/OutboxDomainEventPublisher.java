@@ -0,0 +1,67 @@
+package io.realworld.backend.infrastructure.outbox;
+
+import io.realworld.backend.domain.aggregate.outbox.OutboxEvent;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.event.DomainEvent;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects the events of a transaction and inserts them into the outbox right before it commits.
+ *
+ * <p>Inserting last keeps the window between taking an outbox id and committing it short, which is
+ * what lets the poller dispatch in id order without waiting long on gaps.
+ */
+final class OutboxDomainEventPublisher implements DomainEventPublisher {
+  private final OutboxEventRepository outboxEventRepository;
+  private final Clock clock;
+
+  OutboxDomainEventPublisher(OutboxEventRepository outboxEventRepository, Clock clock) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.clock = clock;
+  }
+
+  @Override
+  public void publish(DomainEvent event) {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException("Domain events must be published inside a transaction");
+    }
+    pendingEvents().events.add(event);
+  }
+
+  /** The synchronization of the current transaction; a suspended outer one is not visible. */
+  private PendingEvents pendingEvents() {
+    for (final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof PendingEvents pending && pending.owner() == this) {
+        return pending;
+      }
+    }
+    final var pending = new PendingEvents();
+    TransactionSynchronizationManager.registerSynchronization(pending);
+    return pending;
+  }
+
+  private final class PendingEvents implements TransactionSynchronization {
+    private final List<DomainEvent> events = new ArrayList<>();
+
+    OutboxDomainEventPublisher owner() {
+      return OutboxDomainEventPublisher.this;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      final var now = clock.instant();
+      outboxEventRepository.saveAll(
+          events.stream()
+              .map(
+                  e ->
+                      new OutboxEvent(
+                          OutboxEventCodec.type(e), OutboxEventCodec.encode(e), now))
+              .toList());
+    }
+  }
+}
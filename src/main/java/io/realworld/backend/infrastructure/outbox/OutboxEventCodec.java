@@ -0,0 +1,43 @@
+package io.realworld.backend.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.realworld.backend.domain.event.DomainEvent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Stores an event as its record name and a JSON object of its components. */
+final class OutboxEventCodec {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Map<String, Class<?>> TYPES =
+      Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+          .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+  private OutboxEventCodec() {}
+
+  static String type(DomainEvent event) {
+    return event.getClass().getSimpleName();
+  }
+
+  static String encode(DomainEvent event) {
+    try {
+      return MAPPER.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Cannot serialize " + event, e);
+    }
+  }
+
+  static DomainEvent decode(String type, String payload) {
+    final var eventClass = TYPES.get(type);
+    if (eventClass == null) {
+      throw new IllegalArgumentException("Unknown domain event type " + type);
+    }
+    try {
+      return (DomainEvent) MAPPER.readValue(payload, eventClass);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Cannot read " + type + " from " + payload, e);
+    }
+  }
+}
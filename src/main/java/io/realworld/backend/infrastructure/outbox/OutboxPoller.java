@@ -0,0 +1,415 @@
+package io.realworld.backend.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEvent;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpoint;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.event.ProjectionHandler;
+import io.realworld.backend.domain.event.PublishedEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Dispatches committed outbox events to the {@link ProjectionHandler}s.
+ *
+ * <p>Every {@code poll-interval} one batch after the lowest checkpoint is read and each handler
+ * gets the events past its own checkpoint. Outbox ids are taken in insertion order but committed
+ * concurrently, so a missing id may still be in flight: the batch stops before it until it has
+ * been missing for {@code gap-timeout}, after which it is assumed rolled back. Ids given up on are
+ * looked up again for a few minutes and, if they do show up, delivered late to every handler.
+ *
+ * <p>A handler without a checkpoint is backfilled chunk by chunk, one transaction each, before its
+ * checkpoint is created after the newest event seen beforehand. Deleting a checkpoint row rebuilds
+ * the view the same way; the poller notices when it next has events for the handler, or within
+ * a minute otherwise.
+ *
+ * <p>A handler whose batch fails is retried with exponential backoff up to {@code max-backoff};
+ * other handlers carry on. Events every handler has applied are deleted after {@code retention}.
+ *
+ * <p>Meters, tagged by handler: {@code conduit.outbox.lag} (age of the oldest event not applied
+ * yet), {@code conduit.outbox.dispatch} (batch latency), {@code conduit.outbox.events} and {@code
+ * conduit.outbox.failures}.
+ */
+@Slf4j
+final class OutboxPoller implements SmartLifecycle {
+  private static final Duration FIRST_RETRY = Duration.ofMillis(100);
+  private static final Duration LATE_COMMIT_WINDOW = Duration.ofMinutes(5);
+  private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(1);
+  private static final long NO_CHECKPOINT = -1;
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final TransactionOperations transactionOperations;
+  private final Clock clock;
+  private final List<HandlerState> handlers;
+  private final Duration pollInterval;
+  private final int batchSize;
+  private final Duration gapTimeout;
+  private final Duration retention;
+  private final Duration maxBackoff;
+  /** Missing ids the poller is waiting for, with when each was first noticed. */
+  private final Map<Long, Instant> gaps = new HashMap<>();
+  /** Ids given up on, with when; delivered late if they are committed after all. */
+  private final Map<Long, Instant> skipped = new HashMap<>();
+  private Instant lastCleanup = Instant.MIN;
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  /** Dispatch progress of one handler; only touched by the poller thread, except the lag. */
+  private static final class HandlerState {
+    private final ProjectionHandler handler;
+    private final Timer dispatchTimer;
+    private final Counter dispatched;
+    private final Counter failures;
+    private boolean initialized;
+    private long position;
+    private int attempts;
+    private Instant retryAt = Instant.MIN;
+    private volatile double lagSeconds;
+
+    HandlerState(ProjectionHandler handler, MeterRegistry registry) {
+      this.handler = handler;
+      final var name = handler.name();
+      this.dispatchTimer =
+          Timer.builder("conduit.outbox.dispatch").tag("handler", name).register(registry);
+      this.dispatched =
+          Counter.builder("conduit.outbox.events").tag("handler", name).register(registry);
+      this.failures =
+          Counter.builder("conduit.outbox.failures").tag("handler", name).register(registry);
+      Gauge.builder("conduit.outbox.lag", this, s -> s.lagSeconds)
+          .tag("handler", name)
+          .baseUnit("seconds")
+          .register(registry);
+    }
+  }
+
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  OutboxPoller(
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository,
+      TransactionOperations transactionOperations,
+      Clock clock,
+      List<ProjectionHandler> handlers,
+      MeterRegistry registry,
+      Duration pollInterval,
+      int batchSize,
+      Duration gapTimeout,
+      Duration retention,
+      Duration maxBackoff) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionOperations = transactionOperations;
+    this.clock = clock;
+    this.handlers = handlers.stream().map(h -> new HandlerState(h, registry)).toList();
+    this.pollInterval = pollInterval;
+    this.batchSize = batchSize;
+    this.gapTimeout = gapTimeout;
+    this.retention = retention;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /** Runs one dispatch round; called by the poller thread. */
+  synchronized void poll() {
+    final var now = clock.instant();
+    final var ready = new ArrayList<HandlerState>();
+    for (final var state : handlers) {
+      if (now.isBefore(state.retryAt) || !(state.initialized || initialize(state, now))) {
+        continue;
+      }
+      ready.add(state);
+    }
+    if (ready.isEmpty()) {
+      return;
+    }
+    deliverLate(ready, now);
+    final var from = ready.stream().mapToLong(s -> s.position).min().orElseThrow();
+    final var events =
+        contiguous(
+                outboxEventRepository.findByIdGreaterThanOrderByIdAsc(from, Limit.of(batchSize)),
+                from,
+                now)
+            .stream()
+            .map(OutboxPoller::decode)
+            .toList();
+    for (final var state : ready) {
+      dispatch(state, events, now);
+    }
+    if (Duration.between(lastCleanup, now).compareTo(CLEANUP_INTERVAL) >= 0) {
+      lastCleanup = now;
+      detectDeletedCheckpoints();
+      cleanup(now);
+    }
+  }
+
+  /**
+   * Loads the checkpoint. If there is none, backfills the handler and then creates it after the
+   * newest event from before the backfill, so changes made meanwhile are applied as events.
+   */
+  private boolean initialize(HandlerState state, Instant now) {
+    final var name = state.handler.name();
+    try {
+      var checkpoint =
+          transactionOperations.execute(status -> checkpointRepository.findById(name).orElse(null));
+      if (checkpoint == null) {
+        final long maxId =
+            Objects.requireNonNull(
+                transactionOperations.execute(status -> outboxEventRepository.findMaxId()));
+        backfill(state.handler);
+        checkpoint =
+            Objects.requireNonNull(
+                transactionOperations.execute(
+                    status ->
+                        checkpointRepository
+                            .findById(name)
+                            .orElseGet(
+                                () ->
+                                    checkpointRepository.save(
+                                        new ProjectionCheckpoint(name, maxId, now)))));
+      }
+      state.position = checkpoint.getLastEventId();
+      state.initialized = true;
+      return true;
+    } catch (RuntimeException e) {
+      fail(state, now, "initialize", e);
+      return false;
+    }
+  }
+
+  private void backfill(ProjectionHandler handler) {
+    final var start = System.nanoTime();
+    var chunks = 0;
+    var next = 0L;
+    while (next >= 0) {
+      final var after = next;
+      next =
+          Objects.requireNonNull(transactionOperations.execute(status -> handler.backfill(after)));
+      chunks++;
+    }
+    log.info(
+        "Backfilled projection {} in {} chunks, {} ms",
+        handler.name(),
+        chunks,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /** Marks handlers whose checkpoint was deleted, so the next poll rebuilds them. */
+  private void detectDeletedCheckpoints() {
+    for (final var state : handlers) {
+      if (!state.initialized) {
+        continue;
+      }
+      try {
+        final var name = state.handler.name();
+        if (!Boolean.TRUE.equals(
+            transactionOperations.execute(status -> checkpointRepository.existsById(name)))) {
+          rebuild(state);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Checkpoint lookup failed, retrying on the next run", e);
+      }
+    }
+  }
+
+  private static void rebuild(HandlerState state) {
+    log.info("Checkpoint of projection {} was deleted, rebuilding it", state.handler.name());
+    state.initialized = false;
+    state.attempts = 0;
+    state.retryAt = Instant.MIN;
+  }
+
+  /**
+   * The events up to the first id that is missing for less than {@code gap-timeout}; ids missing
+   * for longer are given up on.
+   */
+  private List<OutboxEvent> contiguous(List<OutboxEvent> rows, long from, Instant now) {
+    final var accepted = new ArrayList<OutboxEvent>(rows.size());
+    var expected = from + 1;
+    for (final var row : rows) {
+      if (row.getId() > expected) {
+        final var firstSeen = gaps.computeIfAbsent(expected, id -> now);
+        if (Duration.between(firstSeen, now).compareTo(gapTimeout) < 0) {
+          break;
+        }
+        log.warn("Outbox ids {}..{} not committed after {}", expected, row.getId() - 1, gapTimeout);
+        for (var id = expected; id < row.getId(); id++) {
+          skipped.put(id, now);
+        }
+      }
+      accepted.add(row);
+      expected = row.getId() + 1;
+    }
+    final var next = expected;
+    gaps.keySet().removeIf(id -> id < next);
+    return accepted;
+  }
+
+  private void dispatch(HandlerState state, List<PublishedEvent> events, Instant now) {
+    final var pending = events.stream().filter(e -> e.id() > state.position).toList();
+    state.lagSeconds =
+        pending.isEmpty() ? 0 : Duration.between(pending.get(0).occurredAt(), now).toMillis() / 1e3;
+    if (pending.isEmpty()) {
+      return;
+    }
+    final var name = state.handler.name();
+    final var last = pending.get(pending.size() - 1).id();
+    final var start = System.nanoTime();
+    try {
+      final long applied =
+          Objects.requireNonNull(
+              transactionOperations.execute(
+                  status -> {
+                    final var checkpoint = checkpointRepository.findForUpdate(name).orElse(null);
+                    if (checkpoint == null) {
+                      return NO_CHECKPOINT;
+                    }
+                    if (checkpoint.getLastEventId() != state.position) {
+                      // Another instance applied these events meanwhile
+                      return checkpoint.getLastEventId();
+                    }
+                    state.handler.handle(pending);
+                    checkpoint.setLastEventId(last);
+                    checkpoint.setUpdatedAt(now);
+                    return last;
+                  }));
+      if (applied == NO_CHECKPOINT) {
+        rebuild(state);
+        return;
+      }
+      if (applied == last) {
+        state.dispatched.increment(pending.size());
+        state.lagSeconds = 0;
+      }
+      state.position = applied;
+      state.attempts = 0;
+      state.retryAt = Instant.MIN;
+    } catch (RuntimeException e) {
+      fail(state, now, "apply events " + pending.get(0).id() + ".." + last, e);
+    } finally {
+      state.dispatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Delivers skipped ids that were committed after all, to every handler, out of order. */
+  private void deliverLate(List<HandlerState> ready, Instant now) {
+    skipped.values().removeIf(at -> Duration.between(at, now).compareTo(LATE_COMMIT_WINDOW) > 0);
+    if (skipped.isEmpty()) {
+      return;
+    }
+    final var late =
+        outboxEventRepository.findAllById(skipped.keySet()).stream()
+            .map(OutboxPoller::decode)
+            .toList();
+    if (late.isEmpty()) {
+      return;
+    }
+    var delivered = true;
+    for (final var state : ready) {
+      try {
+        transactionOperations.executeWithoutResult(status -> state.handler.handle(late));
+      } catch (RuntimeException e) {
+        fail(state, now, "apply late events", e);
+        delivered = false;
+      }
+    }
+    if (delivered) {
+      late.forEach(e -> skipped.remove(e.id()));
+    }
+  }
+
+  private void cleanup(Instant now) {
+    if (!handlers.stream().allMatch(s -> s.initialized)) {
+      return;
+    }
+    final var upTo = handlers.stream().mapToLong(s -> s.position).min().orElse(0);
+    try {
+      final var deleted =
+          Objects.requireNonNull(
+              transactionOperations.execute(
+                  status -> outboxEventRepository.deleteDispatched(upTo, now.minus(retention))));
+      if (deleted > 0) {
+        log.debug("Deleted {} dispatched outbox events", deleted);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Outbox cleanup failed, retrying on the next run", e);
+    }
+  }
+
+  private void fail(HandlerState state, Instant now, String action, RuntimeException e) {
+    state.attempts++;
+    state.failures.increment();
+    final var exponent = Math.min(state.attempts - 1, 20);
+    final var backoff = FIRST_RETRY.multipliedBy(1L << exponent);
+    final var delay = backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    state.retryAt = now.plus(delay);
+    log.warn(
+        "Projection {} failed to {}, attempt {}, retrying in {}",
+        state.handler.name(),
+        action,
+        state.attempts,
+        delay,
+        e);
+  }
+
+  private static PublishedEvent decode(OutboxEvent row) {
+    return new PublishedEvent(
+        row.getId(),
+        row.getCreatedAt(),
+        OutboxEventCodec.decode(row.getType(), row.getPayload()));
+  }
+
+  @Override
+  public void start() {
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("outbox-poller").daemon().unstarted(r));
+    final var nanos = pollInterval.toNanos();
+    executor.scheduleWithFixedDelay(this::pollQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  private void pollQuietly() {
+    try {
+      poll();
+    } catch (RuntimeException e) {
+      log.warn("Outbox poll failed, retrying on the next tick", e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import io.realworld.backend.domain.readmodel.ArticleListJson;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how article list responses are built.
+ *
+ * <p>The application maps rows to response objects unless {@code
+ * conduit.articles.database-json.enabled} is set and the database is PostgreSQL; on any other
+ * database, such as H2 in the dev profile, the setting is ignored.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class ArticleListJsonConfiguration {
+
+  @Bean
+  @ConditionalOnProperty(name = "conduit.articles.database-json.enabled", havingValue = "true")
+  ArticleListJson databaseArticleListJson(DataSource dataSource) throws SQLException {
+    final String product;
+    try (var connection = dataSource.getConnection()) {
+      product = connection.getMetaData().getDatabaseProductName();
+    }
+    if (!"PostgreSQL".equals(product)) {
+      log.info("Database rendered article lists need PostgreSQL, not {}; mapping rows", product);
+      return ArticleListJson.DISABLED;
+    }
+    return new PostgresArticleListJson(dataSource);
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "conduit.articles.database-json.enabled",
+      havingValue = "false",
+      matchIfMissing = true)
+  ArticleListJson mappedArticleListJson() {
+    return ArticleListJson.DISABLED;
+  }
+}
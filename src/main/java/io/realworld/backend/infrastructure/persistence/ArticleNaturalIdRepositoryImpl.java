@@ -0,0 +1,36 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleNaturalIdRepository;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Resolves the slug through the natural-id cache, then the article through the entity cache. */
+@Transactional(readOnly = true)
+class ArticleNaturalIdRepositoryImpl implements ArticleNaturalIdRepository {
+  private final EntityManager entityManager;
+
+  ArticleNaturalIdRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public Optional<Article> findBySlug(String slug) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(Article.class).loadOptional(slug);
+  }
+
+  @Override
+  public List<Article> findBySlugs(List<String> slugs) {
+    return entityManager
+        .unwrap(Session.class)
+        .byMultipleNaturalId(Article.class)
+        .multiLoad(slugs)
+        .stream()
+        .filter(Objects::nonNull)
+        .toList();
+  }
+}
@@ -0,0 +1,142 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import io.realworld.backend.domain.readmodel.ArticleListJson;
+import io.realworld.backend.infrastructure.tracing.Span.Kind;
+import io.realworld.backend.infrastructure.tracing.Tracer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Renders article list pages with {@code json_build_object} over the {@code ArticleSummary} read
+ * model, so the application passes the text through instead of building response objects.
+ *
+ * <p>One statement returns the page and the total count. The viewer flags come from a {@code
+ * LATERAL} subquery per row against the favourite and follow tables; the favourite count and the
+ * tags are columns of the summary already. Filters that are not set are left out of the statement
+ * rather than matched with {@code IS NULL OR}.
+ *
+ * <p>Identifiers are unquoted and folded to lower case, matching the prod naming strategy.
+ */
+public class PostgresArticleListJson implements ArticleListJson {
+  /**
+   * One element of {@code articles}, with keys in alphabetical order like Jackson writes them; the
+   * flags (favorited, then following) are filled in per viewer.
+   */
+  private static final String ARTICLE =
+      "json_build_object('author', json_build_object('bio', s.authorBio, "
+          + "'following', %2$s, 'image', s.authorImage, 'username', s.authorUsername), "
+          + "'body', s.body, 'createdAt', "
+          + timestamp("s.createdAt")
+          + ", 'description', s.description, "
+          + "'favorited', %1$s, 'favoritesCount', s.favouritesCount, "
+          + "'slug', s.slug, 'tagList', to_json(s.tags), 'title', s.title, 'updatedAt', "
+          + timestamp("s.updatedAt")
+          + ")";
+
+  private static final String VIEWER_FLAGS =
+      "LEFT JOIN LATERAL (SELECT "
+          + "EXISTS (SELECT 1 FROM ArticleFavourite f "
+          + "WHERE f.userId = :viewerId AND f.articleId = s.articleId) AS favorited, "
+          + "EXISTS (SELECT 1 FROM FollowRelation r "
+          + "WHERE r.followerId = :viewerId AND r.followeeId = s.authorId) AS following"
+          + ") v ON true ";
+
+  private final JdbcClient jdbcClient;
+
+  public PostgresArticleListJson(DataSource dataSource) {
+    this.jdbcClient = JdbcClient.create(dataSource);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public String findByFilters(
+      @Nullable Long tagId,
+      @Nullable String author,
+      @Nullable String favorited,
+      @Nullable Long viewerId,
+      int offset,
+      int limit) {
+    final var conditions = new ArrayList<String>();
+    final Map<String, Object> params = new HashMap<>();
+    if (tagId != null) {
+      conditions.add(
+          "EXISTS (SELECT 1 FROM article_tag t "
+              + "WHERE t.article_id = s.articleId AND t.tag_id = :tagId)");
+      params.put("tagId", tagId);
+    }
+    if (author != null) {
+      conditions.add("s.authorUsername = :author");
+      params.put("author", author);
+    }
+    if (favorited != null) {
+      conditions.add(
+          "EXISTS (SELECT 1 FROM ArticleFavourite f JOIN users u ON u.id = f.userId "
+              + "WHERE f.articleId = s.articleId AND u.username = :favorited)");
+      params.put("favorited", favorited);
+    }
+    return render(conditions, params, viewerId, offset, limit);
+  }
+
+  @Override
+  public String findByAuthorIdIn(
+      Collection<Long> authorIds, @Nullable Long viewerId, int offset, int limit) {
+    return render(
+        List.of("s.authorId IN (:authorIds)"),
+        Map.of("authorIds", authorIds),
+        viewerId,
+        offset,
+        limit);
+  }
+
+  private String render(
+      List<String> conditions,
+      Map<String, ?> filterParams,
+      @Nullable Long viewerId,
+      int offset,
+      int limit) {
+    final var where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+    final var article =
+        viewerId == null
+            ? String.format(ARTICLE, "false", "false")
+            : String.format(ARTICLE, "v.favorited", "v.following");
+    final var page =
+        "SELECT s.articleId, s.createdAt, "
+            + article
+            + " AS article FROM ArticleSummary s "
+            + (viewerId == null ? "" : VIEWER_FLAGS)
+            + where
+            + " ORDER BY s.createdAt DESC, s.articleId DESC LIMIT :limit OFFSET :offset";
+    final var sql =
+        "SELECT CAST(json_build_object('articles', COALESCE((SELECT json_agg(p.article "
+            + "ORDER BY p.createdAt DESC, p.articleId DESC) FROM ("
+            + page
+            + ") p), CAST('[]' AS json)), 'articlesCount', (SELECT count(*) FROM ArticleSummary s "
+            + where
+            + ")) AS text)";
+    final var statement =
+        jdbcClient.sql(sql).params(filterParams).param("limit", limit).param("offset", offset);
+    try (var scope = Tracer.startSpan("ArticleListJson.render", Kind.CLIENT)) {
+      Tracer.recordSql(sql);
+      return (viewerId == null ? statement : statement.param("viewerId", viewerId))
+          .query(String.class)
+          .single();
+    }
+  }
+
+  /** Formats like Jackson writes a UTC {@code OffsetDateTime}: no trailing zeros, then Z. */
+  private static String timestamp(String column) {
+    return "regexp_replace(to_char("
+        + column
+        + " AT TIME ZONE 'UTC', 'YYYY-MM-DD\"T\"HH24:MI:SS.US'), '\\.?0+$', '') || 'Z'";
+  }
+}
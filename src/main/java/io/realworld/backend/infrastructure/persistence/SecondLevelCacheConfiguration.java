@@ -0,0 +1,89 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.user.User;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache regions, held in an in-process Caffeine JCache manager.
+ *
+ * <p>Every region Hibernate uses is created here with its size and time-to-live from {@code
+ * conduit.cache.*}; Hibernate is told to fail on any other region instead of creating an unbounded
+ * one. Writes through this instance invalidate its entries directly; writes elsewhere reach it
+ * through {@link SecondLevelCacheInvalidation} when {@code conduit.invalidation.transport} is set,
+ * and otherwise after the region's time-to-live at the latest. Without a transport, user entries
+ * (which include the password hash) live at most {@code conduit.cache.user.unshared-time-to-live},
+ * so a password or profile change on another node is seen within seconds. Hit and miss counts per
+ * region are part of the Hibernate statistics exposed under {@code /actuator/metrics}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfiguration {
+  static final String QUERY_RESULTS_REGION = "default-query-results-region";
+  static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+  @Bean(destroyMethod = "close")
+  CacheManager hibernateCacheManager(
+      @Value("${conduit.cache.user.maximum-size:10000}") long userSize,
+      @Value("${conduit.cache.user.time-to-live:10m}") Duration userTtl,
+      @Value("${conduit.cache.user.unshared-time-to-live:5s}") Duration unsharedUserTtl,
+      @Value("${conduit.invalidation.transport:none}") String invalidationTransport,
+      @Value("${conduit.cache.article.maximum-size:10000}") long articleSize,
+      @Value("${conduit.cache.article.time-to-live:10m}") Duration articleTtl,
+      @Value("${conduit.cache.query.maximum-size:1000}") long querySize,
+      @Value("${conduit.cache.query.time-to-live:1m}") Duration queryTtl) {
+    // The provider shares managers by URI, so each application context gets its own
+    final var cacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(
+                URI.create("conduit-hibernate-" + UUID.randomUUID()),
+                SecondLevelCacheConfiguration.class.getClassLoader());
+    // Nothing evicts users changed on other nodes, so keep them only briefly
+    final var userRegionTtl =
+        "none".equals(invalidationTransport) && unsharedUserTtl.compareTo(userTtl) < 0
+            ? unsharedUserTtl
+            : userTtl;
+    cacheManager.createCache(User.CACHE_REGION, region(userSize, userRegionTtl));
+    cacheManager.createCache(User.NATURAL_ID_CACHE_REGION, region(userSize, userRegionTtl));
+    cacheManager.createCache(Article.CACHE_REGION, region(articleSize, articleTtl));
+    cacheManager.createCache(Article.NATURAL_ID_CACHE_REGION, region(articleSize, articleTtl));
+    cacheManager.createCache(Article.TAGS_CACHE_REGION, region(articleSize, articleTtl));
+    cacheManager.createCache(Tag.CACHE_REGION, region(articleSize, articleTtl));
+    cacheManager.createCache(QUERY_RESULTS_REGION, region(querySize, queryTtl));
+    // Unbounded and never expiring: must outlive every cached query result, or a stale result
+    // would be served as fresh
+    final var timestamps = new CaffeineConfiguration<Object, Object>();
+    timestamps.setStatisticsEnabled(true);
+    cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+    return cacheManager;
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+    return properties -> {
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> region(
+      long maximumSize, Duration timeToLive) {
+    final var configuration = new CaffeineConfiguration<Object, Object>();
+    configuration.setStatisticsEnabled(true);
+    configuration.setMaximumSize(OptionalLong.of(maximumSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+    return configuration;
+  }
+}
@@ -0,0 +1,131 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import io.realworld.backend.domain.service.InvalidationBus;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts second-level cache entries on the other instances when an entity is updated or deleted
+ * here.
+ *
+ * <p>Hibernate calls this listener after each commit for every changed entity of a cached type.
+ * The bus carries {@code entityName#id}, and the bare entity name when a natural id such as a slug
+ * changed or the entity was deleted. Peers evict the entity and the cached collections it owns, and
+ * the natural id region of its type for a bare name. They also drop their cached query results,
+ * because which queries an entity affects is only tracked per instance. Inserts need nothing: no
+ * instance can have cached a row that did not exist. Ids of cached entities are {@code long}s.
+ */
+@Component
+class SecondLevelCacheInvalidation
+    implements PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener,
+        InvalidationBus.Listener {
+  /** Cache name on the {@link InvalidationBus}. */
+  static final String INVALIDATION_CACHE = "second-level";
+
+  private final SessionFactoryImplementor sessionFactory;
+  private final InvalidationBus invalidationBus;
+  /** Roles of the cached collections of each entity, by entity name. */
+  private final Map<String, List<String>> collectionRoles = new HashMap<>();
+
+  SecondLevelCacheInvalidation(
+      EntityManagerFactory entityManagerFactory, InvalidationBus invalidationBus) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.invalidationBus = invalidationBus;
+    sessionFactory
+        .getMappingMetamodel()
+        .forEachCollectionDescriptor(
+            collection -> {
+              if (collection.hasCache()) {
+                collectionRoles
+                    .computeIfAbsent(
+                        collection.getOwnerEntityPersister().getEntityName(),
+                        name -> new ArrayList<>())
+                    .add(collection.getRole());
+              }
+            });
+    final var listeners =
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+    listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    invalidationBus.subscribe(INVALIDATION_CACHE, this);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return persister.canWriteToCache();
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    final var entityName = event.getPersister().getEntityName();
+    final var key = entityName + '#' + event.getId();
+    invalidationBus.publish(
+        INVALIDATION_CACHE, naturalIdChanged(event) ? List.of(key, entityName) : List.of(key));
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    final var entityName = event.getPersister().getEntityName();
+    invalidationBus.publish(
+        INVALIDATION_CACHE, List.of(entityName + '#' + event.getId(), entityName));
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+  private static boolean naturalIdChanged(PostUpdateEvent event) {
+    final var naturalId = event.getPersister().getNaturalIdMapping();
+    final var oldState = event.getOldState();
+    if (naturalId == null) {
+      return false;
+    }
+    if (oldState == null) {
+      return true;
+    }
+    return naturalId.getNaturalIdAttributes().stream()
+        .mapToInt(attribute -> attribute.getStateArrayPosition())
+        .anyMatch(i -> !Objects.equals(oldState[i], event.getState()[i]));
+  }
+
+  @Override
+  public void evict(Collection<String> keys) {
+    final var cache = sessionFactory.getCache();
+    for (final var key : keys) {
+      final var separator = key.lastIndexOf('#');
+      if (separator < 0) {
+        cache.evictNaturalIdData(key);
+        continue;
+      }
+      final var entityName = key.substring(0, separator);
+      final var id = Long.valueOf(key.substring(separator + 1));
+      cache.evictEntityData(entityName, id);
+      for (final var role : collectionRoles.getOrDefault(entityName, List.of())) {
+        cache.evictCollectionData(role, id);
+      }
+    }
+    cache.evictQueryRegions();
+  }
+
+  @Override
+  public void evictAll() {
+    sessionFactory.getCache().evictAllRegions();
+  }
+}
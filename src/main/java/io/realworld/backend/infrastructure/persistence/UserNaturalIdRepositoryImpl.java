@@ -0,0 +1,23 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserNaturalIdRepository;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Resolves the email through the natural-id cache, then the user through the entity cache. */
+@Transactional(readOnly = true)
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+  private final EntityManager entityManager;
+
+  UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public Optional<User> findByEmail(String email) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+  }
+}
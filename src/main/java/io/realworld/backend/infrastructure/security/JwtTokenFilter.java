@@ -2,6 +2,7 @@ package io.realworld.backend.infrastructure.security;
 
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.service.JwtService;
+import io.realworld.backend.infrastructure.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +31,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
       HttpServletResponse httpServletResponse,
       FilterChain filterChain)
       throws ServletException, IOException {
+    try (var scope = Tracer.startSpan("JwtTokenFilter")) {
+      authenticate(httpServletRequest);
+    }
+    filterChain.doFilter(httpServletRequest, httpServletResponse);
+  }
+
+  private void authenticate(HttpServletRequest httpServletRequest) {
     getTokenString(httpServletRequest.getHeader(AUTH_HEADER))
         .ifPresent(
             (String token) -> {
@@ -54,7 +62,6 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                       });
             });
-    filterChain.doFilter(httpServletRequest, httpServletResponse);
   }
 
   private Optional<String> getTokenString(String header) {
@@ -0,0 +1,173 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Queues ended spans and writes them every {@code export-interval} as OTLP/JSON {@code
+ * ExportTraceServiceRequest}s, at most {@value #BATCH_SIZE} spans each.
+ *
+ * <p>Request threads only offer to a bounded queue; when it is full the span is dropped rather
+ * than slowing the request. A failed write drops its batch. Spans still queued on stop are written
+ * before the context closes. Meters: {@code conduit.tracing.spans} by {@code outcome} ({@code
+ * exported}, {@code dropped} or {@code failed}).
+ */
+@Slf4j
+final class BatchSpanExporter implements SpanExporter, SmartLifecycle {
+  static final int BATCH_SIZE = 512;
+
+  /** Where encoded batches go. */
+  interface Sink {
+    void write(String exportRequest) throws IOException;
+
+    /** Appends each batch as one line of {@code file}, as the OpenTelemetry file exporter does. */
+    static Sink file(Path file) {
+      return exportRequest -> {
+        final var parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+          Files.createDirectories(parent);
+        }
+        Files.writeString(
+            file,
+            exportRequest + "\n",
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+      };
+    }
+
+    /** POSTs each batch to an OTLP/HTTP traces endpoint, e.g. a local collector. */
+    static Sink otlpHttp(URI endpoint, Duration timeout) {
+      final var client = HttpClient.newBuilder().connectTimeout(timeout).build();
+      return exportRequest -> {
+        final var request =
+            HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(exportRequest))
+                .build();
+        try {
+          final var status =
+              client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+          if (status / 100 != 2) {
+            throw new IOException(endpoint + " answered " + status);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while exporting spans", e);
+        }
+      };
+    }
+  }
+
+  private final Sink sink;
+  private final OtlpJson encoder;
+  private final Duration exportInterval;
+  private final BlockingQueue<Span> queue;
+  private final Counter exported;
+  private final Counter dropped;
+  private final Counter failed;
+
+  private volatile @Nullable ScheduledExecutorService scheduler;
+
+  BatchSpanExporter(
+      Sink sink,
+      OtlpJson encoder,
+      Duration exportInterval,
+      int queueSize,
+      MeterRegistry registry) {
+    this.sink = sink;
+    this.encoder = encoder;
+    this.exportInterval = exportInterval;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.exported = spans(registry, "exported");
+    this.dropped = spans(registry, "dropped");
+    this.failed = spans(registry, "failed");
+  }
+
+  private static Counter spans(MeterRegistry registry, String outcome) {
+    return Counter.builder("conduit.tracing.spans")
+        .description("Ended spans by what became of them")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  @Override
+  public void export(Span span) {
+    if (!queue.offer(span)) {
+      dropped.increment();
+    }
+  }
+
+  /** Writes every queued span; called by the export thread, and once more on stop. */
+  void flush() {
+    final var batch = new ArrayList<Span>(Math.min(BATCH_SIZE, queue.size()));
+    while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+      try {
+        sink.write(encoder.encode(batch));
+        exported.increment(batch.size());
+      } catch (IOException | RuntimeException e) {
+        failed.increment(batch.size());
+        log.warn("Could not export {} spans", batch.size(), e);
+      }
+      batch.clear();
+    }
+  }
+
+  @Override
+  public void start() {
+    final var executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("span-exporter").daemon().unstarted(r));
+    final var nanos = exportInterval.toNanos();
+    executor.scheduleWithFixedDelay(this::flush, nanos, nanos, TimeUnit.NANOSECONDS);
+    scheduler = executor;
+  }
+
+  @Override
+  public void stop() {
+    final var executor = scheduler;
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      scheduler = null;
+      flush();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /** Starts before and stops after the web server, so the last requests' spans are written. */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 2048;
+  }
+}
@@ -0,0 +1,92 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encodes spans as an OTLP/JSON {@code ExportTraceServiceRequest}, readable by an OpenTelemetry
+ * collector's {@code otlp} or {@code otlpjsonfile} receivers.
+ *
+ * <p>Ids are hex and 64-bit integers are strings, as the OTLP JSON mapping requires.
+ */
+final class OtlpJson {
+  private static final String SCOPE_NAME = "io.realworld.backend";
+  private static final int STATUS_ERROR = 2;
+
+  private final JsonMapper mapper = JsonMapper.builder().build();
+  private final List<Map<String, Object>> resourceAttributes;
+
+  OtlpJson(String serviceName) {
+    this.resourceAttributes = List.of(attribute("service.name", serviceName));
+  }
+
+  String encode(List<Span> spans) {
+    final var encoded = new ArrayList<Map<String, Object>>(spans.size());
+    for (final var span : spans) {
+      encoded.add(span(span));
+    }
+    return mapper.writeValueAsString(
+        Map.of(
+            "resourceSpans",
+            List.of(
+                Map.of(
+                    "resource", Map.of("attributes", resourceAttributes),
+                    "scopeSpans",
+                        List.of(
+                            Map.of("scope", Map.of("name", SCOPE_NAME), "spans", encoded))))));
+  }
+
+  private static Map<String, Object> span(Span span) {
+    final var json = new LinkedHashMap<String, Object>();
+    json.put("traceId", span.getTraceId());
+    json.put("spanId", span.getSpanId());
+    final var parentSpanId = span.getParentSpanId();
+    if (parentSpanId != null) {
+      json.put("parentSpanId", parentSpanId);
+    }
+    final var traceState = span.getTraceState();
+    if (traceState != null) {
+      json.put("traceState", traceState);
+    }
+    json.put("name", span.getName());
+    json.put("kind", span.getKind().otlpValue());
+    json.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+    json.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+    json.put("attributes", attributes(span.getAttributes()));
+    if (!span.getEvents().isEmpty()) {
+      final var events = new ArrayList<Map<String, Object>>(span.getEvents().size());
+      for (final var event : span.getEvents()) {
+        events.add(
+            Map.of(
+                "timeUnixNano", Long.toString(event.epochNanos()),
+                "name", event.name(),
+                "attributes", attributes(event.attributes())));
+      }
+      json.put("events", events);
+    }
+    final var error = span.getError();
+    if (error != null) {
+      json.put("status", Map.of("code", STATUS_ERROR, "message", error));
+    }
+    return json;
+  }
+
+  private static List<Map<String, Object>> attributes(Map<String, Object> attributes) {
+    final var json = new ArrayList<Map<String, Object>>(attributes.size());
+    attributes.forEach((key, value) -> json.add(attribute(key, value)));
+    return json;
+  }
+
+  private static Map<String, Object> attribute(String key, Object value) {
+    return Map.of(
+        "key",
+        key,
+        "value",
+        value instanceof Long number
+            ? Map.of("intValue", number.toString())
+            : Map.of("stringValue", value.toString()));
+  }
+}
@@ -0,0 +1,28 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import io.realworld.backend.infrastructure.tracing.Span.Kind;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link TracingInterceptor} to every Spring Data repository proxy while its factory bean is
+ * being initialised; the statements each call runs are recorded on its span by {@link
+ * SqlStatementTracer}.
+ */
+class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+      factoryBean.addRepositoryFactoryCustomizer(
+          factory ->
+              factory.addRepositoryProxyPostProcessor(
+                  (proxyFactory, repositoryInformation) ->
+                      proxyFactory.addAdvice(
+                          new TracingInterceptor(
+                              repositoryInformation.getRepositoryInterface().getSimpleName(),
+                              Kind.CLIENT))));
+    }
+    return bean;
+  }
+}
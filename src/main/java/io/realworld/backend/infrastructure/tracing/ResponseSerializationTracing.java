@@ -0,0 +1,73 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Times writing the response body: a span opens just before the message converter runs and ends
+ * when the request completes.
+ *
+ * <p>Article lists are mapped to DTOs while they are streamed, so their span includes the mapping.
+ */
+@ControllerAdvice
+class ResponseSerializationTracing implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+  private static final String SCOPE_ATTRIBUTE =
+      ResponseSerializationTracing.class.getName() + ".scope";
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public @Nullable Object beforeBodyWrite(
+      @Nullable Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (body == null
+        || Tracer.currentSpan() == null
+        || !(request instanceof ServletServerHttpRequest servletRequest)) {
+      return body;
+    }
+    final var httpRequest = servletRequest.getServletRequest();
+    closeScope(httpRequest);
+    final var scope = Tracer.startSpan("serialize " + body.getClass().getSimpleName());
+    final var span = scope.span();
+    if (span != null) {
+      span.setAttribute("conduit.converter", selectedConverterType.getSimpleName());
+      span.setAttribute("http.response.header.content-type", selectedContentType.toString());
+    }
+    httpRequest.setAttribute(SCOPE_ATTRIBUTE, scope);
+    return body;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler,
+      @Nullable Exception ex) {
+    closeScope(request);
+  }
+
+  private static void closeScope(HttpServletRequest request) {
+    if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Tracer.Scope scope) {
+      request.removeAttribute(SCOPE_ATTRIBUTE);
+      scope.close();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * One timed operation of a sampled trace, created through {@link Tracer}.
+ *
+ * <p>A span is written only by the thread it is current on, and handed to the {@link
+ * SpanExporter} once it has ended. Start and end times are taken from {@link System#nanoTime()}
+ * and placed on the wall clock through the offset captured when the trace's first span started
+ * here, so the spans of one request line up exactly.
+ */
+public final class Span {
+  /** Span kinds, numbered as in OTLP. */
+  public enum Kind {
+    INTERNAL(1),
+    SERVER(2),
+    CLIENT(3);
+
+    private final int otlpValue;
+
+    Kind(int otlpValue) {
+      this.otlpValue = otlpValue;
+    }
+
+    int otlpValue() {
+      return otlpValue;
+    }
+  }
+
+  /** A timestamped annotation, e.g. one SQL statement. */
+  record Event(long epochNanos, String name, Map<String, Object> attributes) {}
+
+  private final SpanExporter exporter;
+  private final String traceId;
+  private final String spanId;
+  private final @Nullable String parentSpanId;
+  private final @Nullable String traceState;
+  private final Kind kind;
+  private final long epochOffsetNanos;
+  private final long startNanos;
+  private final Map<String, Object> attributes = new LinkedHashMap<>();
+  private final List<Event> events = new ArrayList<>(0);
+  private String name;
+  private long endNanos;
+  private @Nullable String error;
+
+  Span(
+      SpanExporter exporter,
+      String traceId,
+      @Nullable String parentSpanId,
+      @Nullable String traceState,
+      String name,
+      Kind kind,
+      long epochOffsetNanos) {
+    this.exporter = exporter;
+    this.traceId = traceId;
+    this.spanId = randomHex(1);
+    this.parentSpanId = parentSpanId;
+    this.traceState = traceState;
+    this.name = name;
+    this.kind = kind;
+    this.epochOffsetNanos = epochOffsetNanos;
+    this.startNanos = System.nanoTime();
+  }
+
+  /** A span of the same trace whose parent is this one. */
+  Span child(String childName, Kind childKind) {
+    return new Span(exporter, traceId, spanId, traceState, childName, childKind, epochOffsetNanos);
+  }
+
+  /** Renames the span, e.g. once the route of a request is known. */
+  public void updateName(String newName) {
+    this.name = newName;
+  }
+
+  public void setAttribute(String key, String value) {
+    attributes.put(key, value);
+  }
+
+  public void setAttribute(String key, long value) {
+    attributes.put(key, value);
+  }
+
+  /** Adds an event with one attribute at the current time. */
+  public void addEvent(String eventName, String key, String value) {
+    events.add(
+        new Event(epochOffsetNanos + System.nanoTime(), eventName, Map.of(key, value)));
+  }
+
+  /** Marks the span failed by {@code t}. */
+  public void recordError(Throwable t) {
+    error = t.getMessage() == null ? t.getClass().getName() : t.getMessage();
+    attributes.put("exception.type", t.getClass().getName());
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String getSpanId() {
+    return spanId;
+  }
+
+  void end() {
+    endNanos = System.nanoTime();
+    exporter.export(this);
+  }
+
+  @Nullable String getParentSpanId() {
+    return parentSpanId;
+  }
+
+  @Nullable String getTraceState() {
+    return traceState;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  long getStartEpochNanos() {
+    return epochOffsetNanos + startNanos;
+  }
+
+  long getEndEpochNanos() {
+    return epochOffsetNanos + endNanos;
+  }
+
+  Map<String, Object> getAttributes() {
+    return Collections.unmodifiableMap(attributes);
+  }
+
+  List<Event> getEvents() {
+    return Collections.unmodifiableList(events);
+  }
+
+  @Nullable String getError() {
+    return error;
+  }
+
+  /** {@code longs} random longs as lower-case hex, never all zeros. */
+  static String randomHex(int longs) {
+    final var random = ThreadLocalRandom.current();
+    final var hex = new StringBuilder(16 * longs);
+    for (int i = 0; i < longs; i++) {
+      var value = random.nextLong();
+      while (value == 0) {
+        value = random.nextLong();
+      }
+      final var digits = Long.toHexString(value);
+      hex.append("0".repeat(16 - digits.length())).append(digits);
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,9 @@
+package io.realworld.backend.infrastructure.tracing;
+
+/** Receives ended spans; called on the request thread, so it must not block. */
+public interface SpanExporter {
+  /** Discards every span. */
+  SpanExporter NONE = span -> {};
+
+  void export(Span span);
+}
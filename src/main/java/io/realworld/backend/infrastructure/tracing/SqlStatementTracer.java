@@ -0,0 +1,18 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every statement Hibernate prepares, with literals replaced, on the current span.
+ *
+ * <p>Registered through {@code hibernate.session_factory.statement_inspector}; Hibernate creates
+ * it with the no-argument constructor. Outside a sampled trace it is one thread-local read.
+ */
+public class SqlStatementTracer implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    Tracer.recordSql(sql);
+    return sql;
+  }
+}
@@ -0,0 +1,69 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The W3C Trace Context {@code traceparent} header: {@code 00-<trace id>-<parent id>-<flags>}.
+ *
+ * <p>Malformed values are ignored, as the specification asks, and the request starts a new trace.
+ * Versions above {@code 00} are read by their first four fields.
+ */
+record TraceParent(String traceId, String spanId, boolean sampled) {
+  static final String HEADER = "traceparent";
+  static final String STATE_HEADER = "tracestate";
+  static final String RESPONSE_HEADER = "traceresponse";
+
+  private static final int LENGTH = 55;
+
+  /** The header value, or null if it is absent or malformed. */
+  static @Nullable TraceParent parse(@Nullable String header) {
+    if (header == null || header.length() < LENGTH) {
+      return null;
+    }
+    final var version = header.substring(0, 2);
+    if (!isHex(version, 0, 2) || "ff".equals(version)) {
+      return null;
+    }
+    final var extended = header.length() > LENGTH;
+    if (extended && ("00".equals(version) || header.charAt(LENGTH) != '-')) {
+      return null;
+    }
+    if (header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-') {
+      return null;
+    }
+    if (!isHex(header, 3, 35) || !isHex(header, 36, 52) || !isHex(header, 53, 55)) {
+      return null;
+    }
+    final var traceId = header.substring(3, 35);
+    final var spanId = header.substring(36, 52);
+    if (isZero(traceId) || isZero(spanId)) {
+      return null;
+    }
+    final var flags = Integer.parseInt(header, 53, 55, 16);
+    return new TraceParent(traceId, spanId, (flags & 1) == 1);
+  }
+
+  /** The header value for a sampled span, e.g. for {@code traceresponse}. */
+  static String format(Span span) {
+    return "00-" + span.getTraceId() + "-" + span.getSpanId() + "-01";
+  }
+
+  private static boolean isHex(String value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      final var c = value.charAt(i);
+      if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isZero(String hex) {
+    for (int i = 0; i < hex.length(); i++) {
+      if (hex.charAt(i) != '0') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,142 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import io.realworld.backend.infrastructure.tracing.Span.Kind;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Starts spans and keeps the current one of each thread.
+ *
+ * <p>A trace starts at {@link TracingFilter} with {@link #startServerSpan}, sampled as the caller's
+ * {@code traceparent} says or, without one, with probability {@code conduit.tracing.sample-ratio}.
+ * Everything below it calls the static {@link #startSpan}, which outside a sampled trace is one
+ * thread-local read and returns {@link Scope#NOOP}; unsampled requests allocate nothing. Work
+ * handed to other threads is not traced.
+ */
+public final class Tracer {
+  /** Samples nothing. */
+  public static final Tracer DISABLED = new Tracer(0, SpanExporter.NONE);
+
+  private static final ThreadLocal<@Nullable Span> CURRENT = new ThreadLocal<>();
+  private static final int MAX_SQL_LENGTH = 2000;
+  private static final Pattern SQL_LITERALS =
+      Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+  private final double sampleRatio;
+  private final SpanExporter exporter;
+
+  /** Creates a tracer that samples new traces with {@code sampleRatio} (0 to 1). */
+  public Tracer(double sampleRatio, SpanExporter exporter) {
+    if (sampleRatio < 0 || sampleRatio > 1) {
+      throw new IllegalArgumentException("Sample ratio must be between 0 and 1: " + sampleRatio);
+    }
+    this.sampleRatio = sampleRatio;
+    this.exporter = exporter;
+  }
+
+  /** Whether spans go anywhere; if not, requests are passed through untouched. */
+  public boolean isEnabled() {
+    return exporter != SpanExporter.NONE;
+  }
+
+  /**
+   * Starts the root span of this process for a request that continues {@code parent}, if any, and
+   * makes it current; returns {@link Scope#NOOP} if the request is not sampled.
+   */
+  Scope startServerSpan(String name, @Nullable TraceParent parent, @Nullable String traceState) {
+    final boolean sampled =
+        parent != null
+            ? parent.sampled()
+            : sampleRatio > 0 && ThreadLocalRandom.current().nextDouble() < sampleRatio;
+    if (!sampled || exporter == SpanExporter.NONE) {
+      return Scope.NOOP;
+    }
+    final var epochOffset =
+        ChronoUnit.NANOS.between(Instant.EPOCH, Instant.now()) - System.nanoTime();
+    final var span =
+        new Span(
+            exporter,
+            parent != null ? parent.traceId() : Span.randomHex(2),
+            parent != null ? parent.spanId() : null,
+            traceState,
+            name,
+            Kind.SERVER,
+            epochOffset);
+    return open(span, CURRENT.get());
+  }
+
+  /** Starts a child of the current span and makes it current; a no-op outside a sampled trace. */
+  public static Scope startSpan(String name) {
+    return startSpan(name, Kind.INTERNAL);
+  }
+
+  /** As {@link #startSpan(String)}, with {@link Kind#CLIENT} for calls to the database. */
+  public static Scope startSpan(String name, Kind kind) {
+    final var parent = CURRENT.get();
+    if (parent == null) {
+      return Scope.NOOP;
+    }
+    return open(parent.child(name, kind), parent);
+  }
+
+  /** The current span of this thread, if it is in a sampled trace. */
+  public static @Nullable Span currentSpan() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Records {@code sql} on the current span with its literals replaced by {@code ?}, so values
+   * written inline never leave the process.
+   */
+  public static void recordSql(String sql) {
+    final var span = CURRENT.get();
+    if (span == null) {
+      return;
+    }
+    var sanitized = SQL_LITERALS.matcher(sql).replaceAll("?");
+    if (sanitized.length() > MAX_SQL_LENGTH) {
+      sanitized = sanitized.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+    span.addEvent("sql", "db.query.text", sanitized);
+  }
+
+  private static Scope open(Span span, @Nullable Span previous) {
+    CURRENT.set(span);
+    return new Scope(span, previous);
+  }
+
+  /** Ends a span and restores the previous current span; close in reverse order of start. */
+  public static final class Scope implements AutoCloseable {
+    /** Scope of an unsampled operation. */
+    public static final Scope NOOP = new Scope(null, null);
+
+    private final @Nullable Span span;
+    private final @Nullable Span previous;
+
+    private Scope(@Nullable Span span, @Nullable Span previous) {
+      this.span = span;
+      this.previous = previous;
+    }
+
+    /** The span, or null if the operation is not sampled. */
+    public @Nullable Span span() {
+      return span;
+    }
+
+    @Override
+    public void close() {
+      if (span == null) {
+        return;
+      }
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.infrastructure.metrics.ApiDelegateMetricsPointcut;
+import io.realworld.backend.infrastructure.tracing.BatchSpanExporter.Sink;
+import io.realworld.backend.infrastructure.tracing.Span.Kind;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request tracing, off unless {@code conduit.tracing.enabled} is set.
+ *
+ * <p>A sampled request gets a server span from {@link TracingFilter} with children for JWT
+ * authentication, the {@code *ApiDelegate} method, each repository call and its SQL, and writing
+ * the response. Spans are exported by {@code conduit.tracing.exporter}: {@code file} appends
+ * OTLP/JSON lines to {@code conduit.tracing.file}, {@code otlp} posts them to an OTLP/HTTP
+ * collector at {@code conduit.tracing.otlp.endpoint}. When tracing is off none of the advice is
+ * installed and the filter passes requests straight through.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+  private static final String ENABLED = "conduit.tracing.enabled";
+
+  @Bean
+  @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+  SpanExporter batchSpanExporter(
+      ObjectProvider<MeterRegistry> registry,
+      @Value("${conduit.tracing.exporter:file}") String exporter,
+      @Value("${conduit.tracing.file:target/traces.jsonl}") Path file,
+      @Value("${conduit.tracing.otlp.endpoint:http://localhost:4318/v1/traces}") URI endpoint,
+      @Value("${conduit.tracing.service-name:conduit}") String serviceName,
+      @Value("${conduit.tracing.export-interval:1s}") Duration exportInterval,
+      @Value("${conduit.tracing.queue-size:2048}") int queueSize) {
+    final var sink =
+        switch (exporter) {
+          case "file" -> Sink.file(file);
+          case "otlp" -> Sink.otlpHttp(endpoint, Duration.ofSeconds(10));
+          default ->
+              throw new IllegalArgumentException(
+                  "conduit.tracing.exporter must be file or otlp, not " + exporter);
+        };
+    return new BatchSpanExporter(
+        sink,
+        new OtlpJson(serviceName),
+        exportInterval,
+        queueSize,
+        registry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = ENABLED, havingValue = "false", matchIfMissing = true)
+  SpanExporter noSpanExporter() {
+    return SpanExporter.NONE;
+  }
+
+  @Bean
+  Tracer tracer(
+      SpanExporter exporter, @Value("${conduit.tracing.sample-ratio:1.0}") double sampleRatio) {
+    return new Tracer(sampleRatio, exporter);
+  }
+
+  @Bean
+  TracingFilter tracingFilter(Tracer tracer) {
+    return new TracingFilter(tracer);
+  }
+
+  /** Wraps every {@code *ApiDelegate} method, just outside its metrics advice. */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+  static Advisor apiDelegateTracingAdvisor() {
+    final var advisor =
+        new DefaultPointcutAdvisor(
+            new ApiDelegateMetricsPointcut(), new TracingInterceptor(null, Kind.INTERNAL));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 9);
+    return advisor;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+  static RepositoryTracingPostProcessor repositoryTracingPostProcessor() {
+    return new RepositoryTracingPostProcessor();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+  ResponseSerializationTracing responseSerializationTracing() {
+    return new ResponseSerializationTracing();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+  WebMvcConfigurer responseSerializationTracingConfigurer(
+      ResponseSerializationTracing serializationTracing) {
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationTracing);
+      }
+    };
+  }
+}
@@ -0,0 +1,73 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens the server span of each sampled request, ahead of every other filter so that load shedding
+ * and authentication are inside it.
+ *
+ * <p>The trace continues the caller's {@code traceparent} when there is a valid one, and its id is
+ * returned in {@code traceresponse}. The span is named after the matched route once the handler is
+ * known, e.g. {@code GET /api/articles/{slug}}. Actuator requests are never traced.
+ */
+public final class TracingFilter extends OncePerRequestFilter implements Ordered {
+  private static final String ACTUATOR_PATH = "/actuator/";
+
+  private final Tracer tracer;
+
+  TracingFilter(Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !tracer.isEnabled() || request.getRequestURI().startsWith(ACTUATOR_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    final var method = request.getMethod();
+    final var path = request.getRequestURI();
+    try (var scope =
+        tracer.startServerSpan(
+            method + " " + path,
+            TraceParent.parse(request.getHeader(TraceParent.HEADER)),
+            request.getHeader(TraceParent.STATE_HEADER))) {
+      final var span = scope.span();
+      if (span == null) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+      span.setAttribute("http.request.method", method);
+      span.setAttribute("url.path", path);
+      response.setHeader(TraceParent.RESPONSE_HEADER, TraceParent.format(span));
+      try {
+        filterChain.doFilter(request, response);
+      } catch (IOException | ServletException | RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      } finally {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)
+            instanceof String route) {
+          span.setAttribute("http.route", route);
+          span.updateName(method + " " + route);
+        }
+        span.setAttribute("http.response.status_code", response.getStatus());
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import io.realworld.backend.infrastructure.tracing.Span.Kind;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Runs each invocation in a span named {@code Type.method}; outside a sampled trace it only
+ * proceeds.
+ *
+ * <p>Span names are built once per method.
+ */
+class TracingInterceptor implements MethodInterceptor {
+  private final @Nullable String typeName;
+  private final Kind kind;
+  private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+  /**
+   * @param typeName the type in span names, e.g. the repository interface; the target class if null
+   */
+  TracingInterceptor(@Nullable String typeName, Kind kind) {
+    this.typeName = typeName;
+    this.kind = kind;
+  }
+
+  @Override
+  public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+    if (Tracer.currentSpan() == null) {
+      return invocation.proceed();
+    }
+    final var name = names.computeIfAbsent(invocation.getMethod(), m -> name(invocation, m));
+    try (var scope = Tracer.startSpan(name, kind)) {
+      try {
+        return invocation.proceed();
+      } catch (Throwable t) {
+        final var span = scope.span();
+        if (span != null) {
+          span.recordError(t);
+        }
+        throw t;
+      }
+    }
+  }
+
+  private String name(MethodInvocation invocation, Method method) {
+    if (typeName != null) {
+      return typeName + "." + method.getName();
+    }
+    final var target = invocation.getThis();
+    final var type =
+        target == null ? method.getDeclaringClass() : AopUtils.getTargetClass(target);
+    return type.getSimpleName() + "." + method.getName();
+  }
+}
@@ -0,0 +1,61 @@
+-- Schema as Hibernate generated it before migrations were introduced. Identifiers are unquoted, so
+-- PostgreSQL folds them to lower case exactly like PhysicalNamingStrategyStandardImpl output.
+-- Databases created that way are baselined at this version and skip this script.
+
+CREATE SEQUENCE User_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Article_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Comment_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+  id bigint NOT NULL,
+  email varchar(255) NOT NULL,
+  username varchar(255) NOT NULL,
+  passwordHash varchar(255) NOT NULL,
+  bio varchar(255),
+  image varchar(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE Article (
+  id bigint NOT NULL,
+  slug varchar(255) NOT NULL,
+  title varchar(255) NOT NULL,
+  description varchar(255) NOT NULL,
+  body varchar(255) NOT NULL,
+  author_id bigint NOT NULL,
+  createdAt timestamp(6) with time zone NOT NULL,
+  updatedAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (id),
+  FOREIGN KEY (author_id) REFERENCES users
+);
+
+CREATE TABLE Article_tags (
+  Article_id bigint NOT NULL,
+  tags varchar(255),
+  FOREIGN KEY (Article_id) REFERENCES Article
+);
+
+CREATE TABLE Comment (
+  id bigint NOT NULL,
+  article_id bigint,
+  author_id bigint,
+  body varchar(255) NOT NULL,
+  createdAt timestamp(6) with time zone NOT NULL,
+  updatedAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (id),
+  FOREIGN KEY (article_id) REFERENCES Article,
+  FOREIGN KEY (author_id) REFERENCES users
+);
+
+-- Embedded id columns are ordered by name, so these keys lead with articleId and followeeId
+CREATE TABLE ArticleFavourite (
+  articleId bigint NOT NULL,
+  userId bigint NOT NULL,
+  PRIMARY KEY (articleId, userId)
+);
+
+CREATE TABLE FollowRelation (
+  followeeId bigint NOT NULL,
+  followerId bigint NOT NULL,
+  PRIMARY KEY (followeeId, followerId)
+);
@@ -0,0 +1,6 @@
+CREATE TABLE TrendingScore (
+  articleId bigint NOT NULL,
+  score float(53) NOT NULL,
+  scoredAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (articleId)
+);
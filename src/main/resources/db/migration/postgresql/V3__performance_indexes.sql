@@ -0,0 +1,55 @@
+-- Indexes for the lookups the repositories issue. CONCURRENTLY keeps the tables writable while
+-- an index builds, and is only allowed outside a transaction (see the .conf file next to this
+-- script). A failed concurrent build leaves an INVALID index behind: drop it before re-running.
+-- Constraints are only attached if missing, so the script can be re-run after a partial failure.
+--
+-- ArticleFavourite (articleId, userId) and FollowRelation (followeeId, followerId) primary keys
+-- already serve lookups by article and by followee; the second column needs its own index.
+
+-- Article by slug; unique indexes back the constraints so no second scan is needed
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS article_slug_uk ON Article (slug);
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'article_slug_uk'
+                 AND conrelid = 'article'::regclass) THEN
+    ALTER TABLE Article ADD CONSTRAINT article_slug_uk UNIQUE USING INDEX article_slug_uk;
+  END IF;
+END $$;
+
+-- Feed and author filter (author_id IN ... ORDER BY createdAt DESC), global list by recency
+CREATE INDEX CONCURRENTLY IF NOT EXISTS article_author_created_idx
+  ON Article (author_id, createdAt);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS article_created_idx ON Article (createdAt);
+
+-- Tag filter, and batch loading of an article page's tags
+CREATE INDEX CONCURRENTLY IF NOT EXISTS article_tags_tags_idx ON Article_tags (tags);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS article_tags_article_idx ON Article_tags (Article_id);
+
+-- Favourites of a user (favorited filter, favourite flags on a page)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS articlefavourite_user_idx ON ArticleFavourite (userId);
+
+-- Users a user follows (feed, following flags, follow graph)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS followrelation_follower_idx
+  ON FollowRelation (followerId);
+
+-- Comments of an article in creation order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS comment_article_created_idx
+  ON Comment (article_id, createdAt);
+
+-- Login by email, profile by username
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_email_uk ON users (email);
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'users_email_uk'
+                 AND conrelid = 'users'::regclass) THEN
+    ALTER TABLE users ADD CONSTRAINT users_email_uk UNIQUE USING INDEX users_email_uk;
+  END IF;
+END $$;
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_username_uk ON users (username);
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'users_username_uk'
+                 AND conrelid = 'users'::regclass) THEN
+    ALTER TABLE users ADD CONSTRAINT users_username_uk UNIQUE USING INDEX users_username_uk;
+  END IF;
+END $$;
@@ -0,0 +1,14 @@
+CREATE TABLE OutboxEvent (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  type varchar(255) NOT NULL,
+  payload varchar(1024) NOT NULL,
+  createdAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE ProjectionCheckpoint (
+  handler varchar(255) NOT NULL,
+  lastEventId bigint NOT NULL,
+  updatedAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (handler)
+);
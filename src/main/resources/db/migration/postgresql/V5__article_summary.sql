@@ -0,0 +1,26 @@
+-- Read model behind the article lists, filled by the article-summary projection: it backfills
+-- every existing article when it first runs, so the table starts empty and its indexes can be
+-- built in the migration transaction.
+
+CREATE TABLE ArticleSummary (
+  articleId bigint NOT NULL,
+  slug varchar(255) NOT NULL,
+  title varchar(255) NOT NULL,
+  description varchar(255) NOT NULL,
+  body varchar(255) NOT NULL,
+  tags varchar(255)[] NOT NULL,
+  authorId bigint NOT NULL,
+  authorUsername varchar(255) NOT NULL,
+  authorBio varchar(255),
+  authorImage varchar(255),
+  favouritesCount bigint NOT NULL,
+  createdAt timestamp(6) with time zone NOT NULL,
+  updatedAt timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (articleId)
+);
+
+-- Global list by recency, feed (authorId IN ... ORDER BY createdAt DESC) and author filter; the
+-- feed index also serves copying an author's edited profile
+CREATE INDEX articlesummary_created_idx ON ArticleSummary (createdAt);
+CREATE INDEX articlesummary_author_created_idx ON ArticleSummary (authorId, createdAt);
+CREATE INDEX articlesummary_username_created_idx ON ArticleSummary (authorUsername, createdAt);
@@ -0,0 +1,36 @@
+-- Tags become rows of their own, and articles reference them by id through article_tag. Existing
+-- names are normalized like Tag.normalize (NFC, surrounding whitespace removed), so tags that only
+-- differed by that are merged; blank tags are dropped. The copy runs in the migration transaction,
+-- so article tags cannot change while it runs.
+
+CREATE TABLE Tag (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  name varchar(255) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT tag_name_uk UNIQUE (name)
+);
+
+-- The primary key loads the tags of an article, article_tag_tag_idx finds the articles of a tag
+CREATE TABLE article_tag (
+  article_id bigint NOT NULL,
+  tag_id bigint NOT NULL,
+  PRIMARY KEY (article_id, tag_id),
+  FOREIGN KEY (article_id) REFERENCES Article,
+  FOREIGN KEY (tag_id) REFERENCES Tag
+);
+
+CREATE TEMPORARY TABLE normalized_tag ON COMMIT DROP AS
+SELECT Article_id AS article_id, regexp_replace(normalize(tags, NFC), '^\s+|\s+$', '', 'g') AS name
+FROM Article_tags
+WHERE tags IS NOT NULL;
+
+INSERT INTO Tag (name)
+SELECT DISTINCT name FROM normalized_tag WHERE name <> '' ORDER BY name;
+
+INSERT INTO article_tag (article_id, tag_id)
+SELECT DISTINCT n.article_id, t.id FROM normalized_tag n JOIN Tag t ON t.name = n.name;
+
+-- Built after the copy, which is faster than maintaining it row by row
+CREATE INDEX article_tag_tag_idx ON article_tag (tag_id, article_id);
+
+DROP TABLE Article_tags;
@@ -0,0 +1,126 @@
+package io.realworld.reactive;
+
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.dto.Mappers.FavouriteInfo;
+import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
+import io.realworld.backend.application.util.SortedLongSet;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import io.realworld.backend.rest.api.GenericErrorModelData;
+import io.realworld.backend.rest.api.GenericErrorModelErrorsData;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers of the public read endpoints, answering as the servlet application answers an
+ * anonymous viewer: nothing is favourited or followed, and responses are built by {@link Mappers}.
+ *
+ * <p>Every request is treated as anonymous, so only unauthenticated {@code GET}s should be routed
+ * here. Unlike the servlet application, article reads are not counted as views for trending. An
+ * unknown slug is a 422 and an unknown username a 404, with the usual error body.
+ */
+@Slf4j
+class PublicReadHandler {
+  private static final int DEFAULT_LIMIT = 20;
+
+  private final PublicReadQueries queries;
+
+  PublicReadHandler(PublicReadQueries queries) {
+    this.queries = queries;
+  }
+
+  /** Routes of the public endpoints. */
+  RouterFunction<ServerResponse> routes() {
+    return RouterFunctions.route()
+        .GET("/api/articles", this::getArticles)
+        .GET("/api/articles/{slug}", this::getArticle)
+        .GET("/api/tags", this::getTags)
+        .GET("/api/profiles/{username}", this::getProfile)
+        .onError(
+            NumberFormatException.class,
+            (e, request) -> error(HttpStatus.UNPROCESSABLE_CONTENT, e.getMessage()))
+        .onError(
+            Exception.class,
+            (e, request) -> {
+              log.error("Could not serve {}", request.path(), e);
+              return error(HttpStatus.INTERNAL_SERVER_ERROR, e.toString());
+            })
+        .build();
+  }
+
+  /** A page of the global article list; the page and the count are read concurrently. */
+  Mono<ServerResponse> getArticles(ServerRequest request) {
+    // Tag names are compared normalized, as TagDictionary does before its id lookup
+    final var tag = request.queryParam("tag").map(Tag::normalize).orElse(null);
+    final var author = request.queryParam("author").orElse(null);
+    final var favorited = request.queryParam("favorited").orElse(null);
+    final var limit = intParam(request, "limit", DEFAULT_LIMIT);
+    final var offset = intParam(request, "offset", 0);
+    return Mono.zip(
+            queries.findByFilters(tag, author, favorited, limit, offset),
+            queries.countByFilters(tag, author, favorited))
+        .flatMap(
+            page ->
+                ok(
+                    Mappers.toMultipleArticlesResponseData(
+                        page.getT1(),
+                        new MultipleFavouriteInfo(
+                            Set.of(),
+                            page.getT1().stream()
+                                .collect(
+                                    Collectors.toMap(
+                                        ArticleListItem::articleId,
+                                        ArticleListItem::favouritesCount))),
+                        SortedLongSet.EMPTY,
+                        page.getT2())));
+  }
+
+  Mono<ServerResponse> getArticle(ServerRequest request) {
+    final var slug = request.pathVariable("slug");
+    return queries
+        .findBySlug(slug)
+        .flatMap(
+            article ->
+                ok(
+                    Mappers.toSingleArticleResponse(
+                        article, new FavouriteInfo(false, (int) article.favouritesCount()), false)))
+        .switchIfEmpty(Mono.defer(() -> error(HttpStatus.UNPROCESSABLE_CONTENT, slug)));
+  }
+
+  Mono<ServerResponse> getTags(ServerRequest request) {
+    return queries.findTagNamesInUse().flatMap(tags -> ok(Mappers.toTagsResponseData(tags)));
+  }
+
+  Mono<ServerResponse> getProfile(ServerRequest request) {
+    final var username = request.pathVariable("username");
+    return queries
+        .findProfile(username)
+        .flatMap(profile -> ok(Mappers.toPublicProfileResponse(profile, false)))
+        .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND, username)));
+  }
+
+  private static int intParam(ServerRequest request, String name, int defaultValue) {
+    return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+  }
+
+  private static Mono<ServerResponse> ok(Object body) {
+    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+  }
+
+  private static Mono<ServerResponse> error(HttpStatus status, String message) {
+    final var errors = new GenericErrorModelErrorsData();
+    errors.setBody(List.of(message));
+    final var model = new GenericErrorModelData();
+    model.setErrors(errors);
+    return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(model);
+  }
+}
@@ -0,0 +1,177 @@
+package io.realworld.reactive;
+
+import io.r2dbc.spi.Readable;
+import io.realworld.backend.application.service.ProfileCache.CachedProfile;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reads behind the public endpoints, as SQL over R2DBC against the PostgreSQL schema of the
+ * Flyway migrations.
+ *
+ * <p>Each statement takes a pooled connection only while it runs; there is no transaction around
+ * a request, so a list page and its count may see different commits, as may an article and its
+ * favourite count. The queries match the servlet ones: lists come from {@code ArticleSummary}
+ * with the filters of {@code ArticleSummaryRepository#findByFilters}, a single article from the
+ * {@code Article} aggregate tables. Favourites still buffered by the servlet application's
+ * write-behind are not seen.
+ */
+class PublicReadQueries {
+  private static final String FILTERS =
+      "WHERE (CAST(:tag AS varchar) IS NULL OR EXISTS ("
+          + "SELECT 1 FROM article_tag at JOIN Tag t ON t.id = at.tag_id "
+          + "WHERE at.article_id = s.articleId AND t.name = :tag)) AND "
+          + "(CAST(:author AS varchar) IS NULL OR s.authorUsername = :author) AND "
+          + "(CAST(:favorited AS varchar) IS NULL OR EXISTS ("
+          + "SELECT 1 FROM ArticleFavourite f JOIN users u ON u.id = f.userId "
+          + "WHERE f.articleId = s.articleId AND u.username = :favorited)) ";
+
+  private static final String LIST =
+      "SELECT s.articleId, s.slug, s.title, s.description, s.body, s.tags, s.authorId, "
+          + "s.authorUsername, s.authorBio, s.authorImage, s.favouritesCount, s.createdAt, "
+          + "s.updatedAt FROM ArticleSummary s "
+          + FILTERS
+          + "ORDER BY s.createdAt DESC LIMIT :limit OFFSET :offset";
+
+  private static final String COUNT = "SELECT COUNT(*) FROM ArticleSummary s " + FILTERS;
+
+  // Tags in code point order, as Article#getTagNames sorts them
+  private static final String ARTICLE =
+      "SELECT a.id AS articleId, a.slug, a.title, a.description, a.body, "
+          + "ARRAY(SELECT t.name FROM article_tag at JOIN Tag t ON t.id = at.tag_id "
+          + "WHERE at.article_id = a.id ORDER BY t.name COLLATE \"C\") AS tags, "
+          + "u.id AS authorId, u.username AS authorUsername, u.bio AS authorBio, "
+          + "u.image AS authorImage, "
+          + "(SELECT COUNT(*) FROM ArticleFavourite f WHERE f.articleId = a.id) "
+          + "AS favouritesCount, "
+          + "a.createdAt, a.updatedAt "
+          + "FROM Article a JOIN users u ON u.id = a.author_id WHERE a.slug = :slug";
+
+  private static final String TAGS =
+      "SELECT t.name FROM Tag t "
+          + "WHERE EXISTS (SELECT 1 FROM article_tag at WHERE at.tag_id = t.id) "
+          + "ORDER BY t.name";
+
+  private static final String PROFILE =
+      "SELECT u.id, u.username, u.bio, u.image, "
+          + "(SELECT COUNT(*) FROM FollowRelation f WHERE f.followeeId = u.id) AS followersCount, "
+          + "(SELECT COUNT(*) FROM FollowRelation f WHERE f.followerId = u.id) AS followingCount, "
+          + "(SELECT COUNT(*) FROM Article a WHERE a.author_id = u.id) AS articlesCount "
+          + "FROM users u WHERE u.username = :username";
+
+  private final DatabaseClient databaseClient;
+
+  PublicReadQueries(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  /** A page of the global article list, newest first; {@code tag} must be normalized. */
+  Mono<List<ArticleListItem>> findByFilters(
+      @Nullable String tag,
+      @Nullable String author,
+      @Nullable String favorited,
+      int limit,
+      int offset) {
+    return filtered(LIST, tag, author, favorited)
+        .bind("limit", limit)
+        .bind("offset", offset)
+        .map(PublicReadQueries::articleListItem)
+        .all()
+        .collectList();
+  }
+
+  /** The number of articles in the global list with these filters; {@code tag} as above. */
+  Mono<Integer> countByFilters(
+      @Nullable String tag, @Nullable String author, @Nullable String favorited) {
+    return filtered(COUNT, tag, author, favorited)
+        .map(row -> Objects.requireNonNull(row.get(0, Long.class)).intValue())
+        .one();
+  }
+
+  /** The article with {@code slug}, or empty. */
+  Mono<ArticleListItem> findBySlug(String slug) {
+    return databaseClient
+        .sql(ARTICLE)
+        .bind("slug", slug)
+        .map(PublicReadQueries::articleListItem)
+        .one();
+  }
+
+  /** The names of the tags of at least one article, sorted. */
+  Mono<List<String>> findTagNamesInUse() {
+    return databaseClient
+        .sql(TAGS)
+        .map(row -> Objects.requireNonNull(row.get("name", String.class)))
+        .all()
+        .collectList();
+  }
+
+  /** The viewer-independent profile of {@code username}, or empty. */
+  Mono<CachedProfile> findProfile(String username) {
+    return databaseClient
+        .sql(PROFILE)
+        .bind("username", username)
+        .map(
+            row ->
+                new CachedProfile(
+                    longValue(row, "id"),
+                    string(row, "username"),
+                    row.get("bio", String.class),
+                    row.get("image", String.class),
+                    (int) longValue(row, "followersCount"),
+                    (int) longValue(row, "followingCount"),
+                    (int) longValue(row, "articlesCount")))
+        .one();
+  }
+
+  private GenericExecuteSpec filtered(
+      String sql, @Nullable String tag, @Nullable String author, @Nullable String favorited) {
+    var spec = databaseClient.sql(sql);
+    spec = bindNullable(spec, "tag", tag);
+    spec = bindNullable(spec, "author", author);
+    return bindNullable(spec, "favorited", favorited);
+  }
+
+  private static GenericExecuteSpec bindNullable(
+      GenericExecuteSpec spec, String name, @Nullable String value) {
+    return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+  }
+
+  private static ArticleListItem articleListItem(Readable row) {
+    final var tags = row.get("tags", String[].class);
+    return new ArticleListItem(
+        longValue(row, "articleId"),
+        string(row, "slug"),
+        string(row, "title"),
+        string(row, "description"),
+        string(row, "body"),
+        tags == null ? List.of() : Arrays.asList(tags),
+        longValue(row, "authorId"),
+        string(row, "authorUsername"),
+        row.get("authorBio", String.class),
+        row.get("authorImage", String.class),
+        longValue(row, "favouritesCount"),
+        instant(row, "createdAt"),
+        instant(row, "updatedAt"));
+  }
+
+  private static String string(Readable row, String name) {
+    return Objects.requireNonNull(row.get(name, String.class), name);
+  }
+
+  private static long longValue(Readable row, String name) {
+    return Objects.requireNonNull(row.get(name, Long.class), name);
+  }
+
+  private static Instant instant(Readable row, String name) {
+    return Objects.requireNonNull(row.get(name, OffsetDateTime.class), name).toInstant();
+  }
+}
@@ -0,0 +1,69 @@
+package io.realworld.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * The public, read-only endpoints ({@code GET /api/articles}, {@code /api/articles/{slug}}, {@code
+ * /api/tags} and {@code /api/profiles/{username}}) served by WebFlux handlers over R2DBC.
+ *
+ * <p>Runs as its own process next to the servlet application, on {@code conduit.reactive.port},
+ * against the same PostgreSQL schema, and answers anonymous viewers with the same JSON; writes and
+ * authenticated reads stay with the servlet application. It lives outside {@code
+ * io.realworld.backend}, so the servlet application never scans it, and it enables no
+ * auto-configuration: the JPA, security and servlet classes on the shared classpath stay unused.
+ * Settings come from {@code reactive.properties}. Built with {@code -Preactive}; {@code make
+ * reactive-run} starts it and {@code make read-path-comparison} compares the two stacks.
+ */
+@SpringBootConfiguration(proxyBeanMethods = false)
+@Import({PublicReadQueries.class, PublicReadHandler.class, ReactiveReadServer.class})
+public class ReactiveReadApplication {
+
+  public static void main(String[] args) throws InterruptedException {
+    final var application = new SpringApplication(ReactiveReadApplication.class);
+    // Reactor Netty is started by ReactiveReadServer, not by a Boot web server factory
+    application.setWebApplicationType(WebApplicationType.NONE);
+    application.setDefaultProperties(Map.of("spring.config.name", "reactive"));
+    application.run(args).getBean(ReactiveReadServer.class).awaitShutdown();
+  }
+
+  /** Connection pool; {@code close} returns a publisher, so the context disposes it instead. */
+  @Bean(destroyMethod = "dispose")
+  ConnectionPool connectionFactory(
+      @Value("${conduit.reactive.r2dbc.url}") String url,
+      @Value("${conduit.reactive.r2dbc.username:}") String username,
+      @Value("${conduit.reactive.r2dbc.password:}") String password,
+      @Value("${conduit.reactive.r2dbc.max-size:10}") int maxSize,
+      @Value("${conduit.reactive.r2dbc.max-idle-time:30m}") Duration maxIdleTime) {
+    final var options = ConnectionFactoryOptions.parse(url).mutate();
+    if (!username.isEmpty()) {
+      options.option(ConnectionFactoryOptions.USER, username);
+    }
+    if (!password.isEmpty()) {
+      options.option(ConnectionFactoryOptions.PASSWORD, password);
+    }
+    return new ConnectionPool(
+        ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+            .name("conduit-reactive")
+            .initialSize(Math.min(2, maxSize))
+            .maxSize(maxSize)
+            .maxIdleTime(maxIdleTime)
+            .build());
+  }
+
+  @Bean
+  DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+    return DatabaseClient.create(connectionFactory);
+  }
+}
@@ -0,0 +1,68 @@
+package io.realworld.reactive;
+
+import java.util.concurrent.CountDownLatch;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty server of the {@link PublicReadHandler} routes, started and stopped with the
+ * context. JSON is written by Jackson with its default settings, as the servlet application writes
+ * it.
+ */
+@Slf4j
+class ReactiveReadServer implements SmartLifecycle {
+  private final HttpHandler httpHandler;
+  private final String address;
+  private final int port;
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  private volatile @Nullable DisposableServer server;
+
+  ReactiveReadServer(
+      PublicReadHandler handler,
+      @Value("${conduit.reactive.address:0.0.0.0}") String address,
+      @Value("${conduit.reactive.port:8081}") int port) {
+    this.httpHandler = RouterFunctions.toHttpHandler(handler.routes());
+    this.address = address;
+    this.port = port;
+  }
+
+  /** Blocks until the server has stopped. */
+  void awaitShutdown() throws InterruptedException {
+    stopped.await();
+  }
+
+  @Override
+  public void start() {
+    final var started =
+        HttpServer.create()
+            .host(address)
+            .port(port)
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+    server = started;
+    log.info("Reactive read path listening on {}:{}", address, started.port());
+  }
+
+  @Override
+  public void stop() {
+    final var current = server;
+    if (current == null) {
+      return;
+    }
+    server = null;
+    current.disposeNow();
+    stopped.countDown();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return server != null;
+  }
+}
@@ -0,0 +1,124 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import io.realworld.backend.domain.readmodel.ArticleSummary;
+import io.realworld.backend.domain.readmodel.ArticleSummaryRepository;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the heap allocated by one page of article list rows read as {@link ArticleSummary}
+ * entities, as list endpoints used to, with the {@link ArticleListItem} rows they read now.
+ *
+ * <p>Both reads are the same JPQL query, once selecting the entity and once the constructor
+ * expression of {@link ArticleSummaryRepository#LIST_ITEM} over all of its columns, run against
+ * in-memory H2 on the calling thread. They fetch the same columns and rows, so the difference is
+ * what entity hydration, persistence context registration and the dirty check at commit cost.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ArticleListAllocationTest {
+  private static final int PAGE = 20;
+  private static final int WARMUP = 200;
+  private static final int SAMPLES = 51;
+  private static final String ORDER = "ORDER BY s.createdAt DESC";
+
+  private final EntityManager entityManager;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TestData testData;
+
+  @Autowired
+  public ArticleListAllocationTest(
+      ArticleService articleService,
+      UserService userService,
+      EntityManager entityManager,
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @BeforeAll
+  public void seed() {
+    testData.createUser("allocation-author");
+    authenticate("allocation-author");
+    for (int i = 0; i < PAGE; i++) {
+      testData.createArticle("allocation article " + i);
+    }
+    SecurityContextHolder.clearContext();
+    TestData.awaitProjections(outboxEventRepository, checkpointRepository);
+  }
+
+  @Test
+  public void listRowsAllocateLessThanEntities() {
+    final IntSupplier entities =
+        () ->
+            entityManager
+                .createQuery("SELECT s FROM ArticleSummary s " + ORDER, ArticleSummary.class)
+                .setMaxResults(PAGE)
+                .getResultList()
+                .size();
+    final IntSupplier rows =
+        () ->
+            entityManager
+                .createQuery(ArticleSummaryRepository.LIST_ITEM + ORDER, ArticleListItem.class)
+                .setMaxResults(PAGE)
+                .getResultList()
+                .size();
+
+    final var entityBytes = medianAllocatedBytes(entities);
+    final var rowBytes = medianAllocatedBytes(rows);
+
+    assertThat(rowBytes)
+        .as(
+            "Allocated per page of %d: entities %d bytes, list rows %d bytes",
+            PAGE, entityBytes, rowBytes)
+        .isLessThan(entityBytes);
+  }
+
+  /** Median bytes allocated by the current thread for one read in its own transaction. */
+  private long medianAllocatedBytes(IntSupplier read) {
+    final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    for (int i = 0; i < WARMUP; i++) {
+      assertThat(inTransaction(read)).isEqualTo(PAGE);
+    }
+    final var samples = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      final var before = threads.getCurrentThreadAllocatedBytes();
+      inTransaction(read);
+      samples[i] = threads.getCurrentThreadAllocatedBytes() - before;
+    }
+    Arrays.sort(samples);
+    return samples[SAMPLES / 2];
+  }
+
+  private int inTransaction(IntSupplier read) {
+    final Integer size = transactionTemplate.execute(status -> read.getAsInt());
+    return size == null ? 0 : size;
+  }
+}
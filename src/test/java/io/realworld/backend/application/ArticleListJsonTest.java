@@ -0,0 +1,207 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.TagDictionary;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.infrastructure.persistence.PostgresArticleListJson;
+import io.realworld.backend.rest.api.UpdateUserData;
+import io.realworld.backend.rest.api.UpdateUserRequestData;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks that article lists rendered by PostgreSQL are the same JSON documents that {@code
+ * Mappers.toMultipleArticlesResponseData} produces for the mapped path.
+ *
+ * <p>Opt-in like {@link QueryPlanTest}: {@code -Dconduit.test.postgres.url=jdbc:postgresql://...}.
+ * The application context keeps the mapped path, so the services return what Jackson would
+ * serialize, and the database renderer is called directly. Users are named per run, so the
+ * database does not need to be empty.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=${conduit.test.postgres.url:}",
+      "spring.datasource.username=${conduit.test.postgres.username:postgres}",
+      "spring.datasource.password=${conduit.test.postgres.password:postgres}",
+      "jwt.secret=caa3e0593e2b968efb6278433206c1a8e3c19a92d57868fd86100aa95cf38771",
+      "jwt.sessionTime=86400"
+    })
+@ActiveProfiles("prod")
+@EnabledIfSystemProperty(named = "conduit.test.postgres.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ArticleListJsonTest {
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  /** Query parameters of {@code GET /api/articles}. */
+  private record Filter(
+      @Nullable String tag, @Nullable String author, @Nullable String favorited) {}
+
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final UserService userService;
+  private final UserRepository userRepository;
+  private final TagDictionary tagDictionary;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final PostgresArticleListJson articleListJson;
+  private final TestData testData;
+  private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+  @Autowired
+  public ArticleListJsonTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      UserService userService,
+      UserRepository userRepository,
+      TagDictionary tagDictionary,
+      DataSource dataSource,
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.userService = userService;
+    this.userRepository = userRepository;
+    this.tagDictionary = tagDictionary;
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.articleListJson = new PostgresArticleListJson(dataSource);
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @BeforeAll
+  public void seed() {
+    testData.createUser(name("author"));
+    testData.createUser(name("plain"));
+    testData.createUser(name("reader"));
+
+    authenticate(name("author"));
+    final var profile = new UpdateUserData();
+    profile.setBio("Writes \"quoted\" bios, ünïcödé and\nnew lines");
+    profile.setImage("https://example.com/" + run + ".png");
+    final var update = new UpdateUserRequestData();
+    update.setUser(profile);
+    userService.updateCurrentUser(update);
+    final var favourite = testData.createArticle("json \"first\" " + run);
+    testData.createArticle("json second " + run);
+    testData.createArticle("json third with a longer title " + run);
+
+    authenticate(name("plain"));
+    final var other = testData.createArticle("json plain " + run);
+    testData.createArticle("json plain again " + run);
+
+    authenticate(name("reader"));
+    profileService.followUserByUsername(name("author"));
+    articleService.createArticleFavorite(favourite);
+    articleService.createArticleFavorite(other);
+    SecurityContextHolder.clearContext();
+    TestData.awaitProjections(outboxEventRepository, checkpointRepository);
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void anonymousListsMatchMappedResponses() {
+    assertSameLists(null);
+  }
+
+  @Test
+  public void viewerListsMatchMappedResponses() {
+    authenticate(name("reader"));
+    assertSameLists(viewerId(name("reader")));
+  }
+
+  @Test
+  public void feedMatchesMappedResponse() {
+    authenticate(name("reader"));
+    final var viewerId = viewerId(name("reader"));
+    final var authorIds = List.of(viewerId(name("author")));
+    for (final var page : List.of(new int[] {0, 20}, new int[] {1, 1}, new int[] {5, 20})) {
+      assertSameJson(
+          mapped(() -> validateBody(articleService.getArticlesFeed(page[1], page[0]))),
+          articleListJson.findByAuthorIdIn(authorIds, viewerId, page[0], page[1]));
+    }
+  }
+
+  private void assertSameLists(@Nullable Long viewerId) {
+    final var author = name("author");
+    final var reader = name("reader");
+    final var filters =
+        List.of(
+            new Filter(null, null, null),
+            new Filter("budget", null, null),
+            new Filter("no-such-tag-" + run, null, null),
+            new Filter(null, author, null),
+            new Filter(null, null, reader),
+            new Filter("budget", author, reader));
+    for (final var f : filters) {
+      for (final var page : List.of(new int[] {0, 20}, new int[] {1, 2}, new int[] {0, 1})) {
+        assertSameJson(
+            mapped(
+                () ->
+                    validateBody(
+                        articleService.getArticles(
+                            f.tag(), f.author(), f.favorited(), page[1], page[0]))),
+            articleListJson.findByFilters(
+                tagId(f.tag()), f.author(), f.favorited(), viewerId, page[0], page[1]));
+      }
+    }
+  }
+
+  private static void assertSameJson(String expected, String actual) {
+    try {
+      assertThat(MAPPER.readTree(actual)).isEqualTo(MAPPER.readTree(expected));
+    } catch (JsonProcessingException e) {
+      throw new AssertionError("Not JSON: " + actual, e);
+    }
+  }
+
+  private static String mapped(Supplier<?> response) {
+    try {
+      return MAPPER.writeValueAsString(response.get());
+    } catch (JsonProcessingException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /** The id of {@code tag}; one that no tag has if it does not exist, which renders nothing. */
+  private @Nullable Long tagId(@Nullable String tag) {
+    return tag == null ? null : tagDictionary.idOf(tag).orElse(-1);
+  }
+
+  private long viewerId(String username) {
+    return userRepository.findByUsername(username).orElseThrow().getId();
+  }
+
+  private String name(String role) {
+    return "json-" + role + "-" + run;
+  }
+}
@@ -0,0 +1,123 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.dto.ArticleListResponseData;
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
+import io.realworld.backend.application.util.SortedLongSet;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Checks that the streaming article list serializer writes the same bytes as a Jackson mapper with
+ * default settings for the mapped {@code MultipleArticlesResponseData}, and that the application's
+ * message converter writes both like that mapper.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+public class ArticleListResponseSerializerTest {
+  private static final List<ArticleListItem> ARTICLES =
+      List.of(
+          new ArticleListItem(
+              1,
+              "quotes-and-unicode",
+              "\"Quoted\" </script> title with ünïcödé, 😀 and a\nnew line",
+              "tab\tand back\\slash",
+              "control \u0001 character",
+              List.of("json", "émoji-😀"),
+              10,
+              "plain-author",
+              null,
+              null,
+              3,
+              Instant.parse("2024-01-02T03:04:05Z"),
+              Instant.parse("2024-01-02T03:04:05.120Z")),
+          new ArticleListItem(
+              2,
+              "with-profile",
+              "Title",
+              "Description",
+              "Body",
+              List.of(),
+              20,
+              "profile-author",
+              "Bio with a / slash",
+              "https://example.com/images/a.png",
+              0,
+              Instant.parse("1999-12-31T23:59:59.123456Z"),
+              Instant.parse("2000-01-01T00:00:00.000001Z")));
+  private static final MultipleFavouriteInfo FAVOURITES =
+      new MultipleFavouriteInfo(Set.of(2L), Map.of(1L, 3L, 2L, 1L));
+  private static final SortedLongSet FOLLOWING = SortedLongSet.of(List.of(20L));
+  private static final JsonMapper DEFAULTS = JsonMapper.builder().build();
+
+  private final HttpMessageConverter<Object> converter;
+
+  @Autowired
+  @SuppressWarnings("unchecked")
+  public ArticleListResponseSerializerTest(RequestMappingHandlerAdapter handlerAdapter) {
+    this.converter =
+        (HttpMessageConverter<Object>)
+            handlerAdapter.getMessageConverters().stream()
+                .filter(
+                    c -> c.canWrite(MultipleArticlesResponseData.class, MediaType.APPLICATION_JSON))
+                .findFirst()
+                .orElseThrow();
+  }
+
+  @Test
+  public void writesTheSameBytesAsTheMappedResponse() throws IOException {
+    final var mapped = Mappers.toMultipleArticlesResponseData(ARTICLES, FAVOURITES, FOLLOWING, 42);
+    final var expected = DEFAULTS.writeValueAsString(mapped);
+
+    assertThat(
+            DEFAULTS.writeValueAsString(
+                new ArticleListResponseData(ARTICLES, FAVOURITES, FOLLOWING, 42)))
+        .isEqualTo(expected);
+    // Timestamps now come from the cache
+    assertThat(write(new ArticleListResponseData(ARTICLES, FAVOURITES, FOLLOWING, 42)))
+        .isEqualTo(expected);
+    assertThat(write(mapped)).isEqualTo(expected);
+  }
+
+  @Test
+  public void writesTheSameBytesForAnEmptyPage() throws IOException {
+    final var favourites = new MultipleFavouriteInfo(Set.of(), Map.of());
+    assertThat(
+            write(new ArticleListResponseData(List.of(), favourites, SortedLongSet.EMPTY, 0)))
+        .isEqualTo(
+            DEFAULTS.writeValueAsString(
+                Mappers.toMultipleArticlesResponseData(
+                    List.of(), favourites, SortedLongSet.EMPTY, 0)));
+  }
+
+  @Test
+  public void mapsArticlesWhenReadFromJava() {
+    assertThat(new ArticleListResponseData(ARTICLES, FAVOURITES, FOLLOWING, 42).getArticles())
+        .isEqualTo(
+            Mappers.toMultipleArticlesResponseData(ARTICLES, FAVOURITES, FOLLOWING, 42)
+                .getArticles());
+  }
+
+  private String write(MultipleArticlesResponseData body) throws IOException {
+    final var message = new MockHttpOutputMessage();
+    converter.write(body, MediaType.APPLICATION_JSON, message);
+    return message.getBodyAsString(StandardCharsets.UTF_8);
+  }
+}
@@ -6,19 +6,28 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.FollowGraphService;
+import io.realworld.backend.application.service.ProfileCache;
+import io.realworld.backend.application.service.PublicReadCache;
+import io.realworld.backend.application.service.TagDictionary;
+import io.realworld.backend.application.service.TrendingService;
 import io.realworld.backend.domain.aggregate.article.Article;
 import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
 import io.realworld.backend.domain.aggregate.comment.CommentRepository;
-import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
-import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteId;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
-import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
 import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.readmodel.ArticleListJson;
+import io.realworld.backend.domain.readmodel.ArticleSummaryRepository;
 import io.realworld.backend.domain.service.AuthenticationService;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import io.realworld.backend.domain.service.FavouriteBuffer;
 import io.realworld.backend.rest.api.NewArticleData;
 import io.realworld.backend.rest.api.NewArticleRequestData;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,17 +37,31 @@ import org.mockito.Mock;
 public class ArticleServiceTest {
   private @MonotonicNonNull ArticleService articleService;
   @Mock private @MonotonicNonNull ArticleRepository articleRepository;
-  @Mock private @MonotonicNonNull FollowRelationRepository followRelationRepository;
+  @Mock private @MonotonicNonNull TagRepository tagRepository;
+  @Mock private @MonotonicNonNull TagDictionary tagDictionary;
+  @Mock private @MonotonicNonNull ArticleSummaryRepository articleSummaryRepository;
+  @Mock private @MonotonicNonNull FollowGraphService followGraphService;
   @Mock private @MonotonicNonNull ArticleFavouriteRepository articleFavouriteRepository;
   @Mock private @MonotonicNonNull CommentRepository commentRepository;
+  @Mock private @MonotonicNonNull TrendingService trendingService;
+  @Mock private @MonotonicNonNull ProfileCache profileCache;
+  @Mock private @MonotonicNonNull PublicReadCache publicReadCache;
+  @Mock private @MonotonicNonNull DomainEventPublisher domainEventPublisher;
   @Mock private @MonotonicNonNull AuthenticationService authenticationService;
 
   @BeforeEach
   @RequiresNonNull({
     "articleRepository",
-    "followRelationRepository",
+    "tagRepository",
+    "tagDictionary",
+    "articleSummaryRepository",
+    "followGraphService",
     "articleFavouriteRepository",
     "commentRepository",
+    "trendingService",
+    "profileCache",
+    "publicReadCache",
+    "domainEventPublisher",
     "authenticationService"
   })
   public void setUp() {
@@ -48,14 +71,23 @@ public class ArticleServiceTest {
     articleService =
         new ArticleService(
             articleRepository,
-            followRelationRepository,
+            tagRepository,
+            tagDictionary,
+            articleSummaryRepository,
+            ArticleListJson.DISABLED,
+            followGraphService,
             articleFavouriteRepository,
+            FavouriteBuffer.DISABLED,
             commentRepository,
+            trendingService,
+            profileCache,
+            publicReadCache,
+            domainEventPublisher,
             authenticationService);
   }
 
   @Test
-  @RequiresNonNull({"articleService"})
+  @RequiresNonNull({"articleService", "tagDictionary"})
   public void testCreateArticle() {
     final var req = new NewArticleRequestData();
     final var newArticle = new NewArticleData();
@@ -64,6 +96,7 @@ public class ArticleServiceTest {
     newArticle.setBody("body");
     newArticle.setTagList(Collections.singletonList("tag"));
     req.setArticle(newArticle);
+    given(tagDictionary.resolve(newArticle.getTagList())).willReturn(Set.of(new Tag("tag")));
     final var resp = articleService.createArticle(req);
     final var body = validateBody(resp);
     final var article = body.getArticle();
@@ -99,8 +132,7 @@ public class ArticleServiceTest {
     final var article = new Article();
     article.setTitle("title");
     given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
-    given(articleFavouriteRepository.findById(new ArticleFavouriteId(0, 0)))
-        .willReturn(Optional.of(new ArticleFavourite(0, 0)));
+    given(articleFavouriteRepository.insertIfAbsent(0, 0)).willReturn(1);
     given(articleFavouriteRepository.countByIdArticleId(0)).willReturn(2);
     final var resp = articleService.createArticleFavorite(article.getSlug());
     final var body = validateBody(resp);
@@ -0,0 +1,135 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ArticleSummaryProjection;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.readmodel.ArticleSummaryRepository;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import io.realworld.backend.rest.api.UpdateArticleData;
+import io.realworld.backend.rest.api.UpdateArticleRequestData;
+import io.realworld.backend.rest.api.UpdateUserData;
+import io.realworld.backend.rest.api.UpdateUserRequestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Checks that the article lists follow writes through the article summary projection. */
+@SpringBootTest
+@ActiveProfiles("dev")
+public class ArticleSummaryTest {
+  private final ArticleService articleService;
+  private final UserService userService;
+  private final ArticleSummaryProjection projection;
+  private final ArticleSummaryRepository articleSummaryRepository;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TestData testData;
+
+  @Autowired
+  public ArticleSummaryTest(
+      ArticleService articleService,
+      UserService userService,
+      ArticleSummaryProjection projection,
+      ArticleSummaryRepository articleSummaryRepository,
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository,
+      PlatformTransactionManager transactionManager) {
+    this.articleService = articleService;
+    this.userService = userService;
+    this.projection = projection;
+    this.articleSummaryRepository = articleSummaryRepository;
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void listsFollowArticleFavouriteAndProfileChanges() {
+    testData.createUser("summary-author");
+    testData.createUser("summary-fan");
+    authenticate("summary-author");
+    final var slug = testData.createArticle("summary article");
+    authenticate("summary-fan");
+    articleService.createArticleFavorite(slug);
+    authenticate("summary-author");
+    final var profile = new UpdateUserData();
+    profile.setBio("edited bio");
+    final var profileReq = new UpdateUserRequestData();
+    profileReq.setUser(profile);
+    userService.updateCurrentUser(profileReq);
+    final var rename = new UpdateArticleData();
+    rename.setTitle("summary renamed");
+    final var renameReq = new UpdateArticleRequestData();
+    renameReq.setArticle(rename);
+    final var renamed = validateBody(articleService.updateArticle(slug, renameReq));
+    awaitProjections();
+
+    final var listed = articlesBy("summary-author");
+    assertThat(listed.getArticlesCount()).isEqualTo(1);
+    final var article = listed.getArticles().get(0);
+    assertThat(article.getSlug()).isEqualTo(renamed.getArticle().getSlug());
+    assertThat(article.getTitle()).isEqualTo("summary renamed");
+    assertThat(article.getTagList()).contains("budget");
+    assertThat(article.getFavoritesCount()).isEqualTo(1);
+    assertThat(article.getAuthor().getUsername()).isEqualTo("summary-author");
+    assertThat(article.getAuthor().getBio()).isEqualTo("edited bio");
+    assertThat(
+            validateBody(articleService.getArticles("budget", null, "summary-fan", 20, 0))
+                .getArticles())
+        .extracting(a -> a.getSlug())
+        .containsExactly(article.getSlug());
+
+    articleService.deleteArticle(article.getSlug());
+    awaitProjections();
+    assertThat(articlesBy("summary-author").getArticles()).isEmpty();
+  }
+
+  @Test
+  public void deletingTheCheckpointRebuildsTheSameSummaries() {
+    testData.createUser("summary-backfill");
+    authenticate("summary-backfill");
+    testData.createArticle("backfilled article one");
+    testData.createArticle("backfilled article two");
+    awaitProjections();
+    final var before = articlesBy("summary-backfill");
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          articleSummaryRepository.deleteAllInBatch();
+          checkpointRepository.deleteById(projection.name());
+        });
+    testData.createArticle("backfilled article three");
+    awaitProjections();
+
+    assertThat(before.getArticles()).hasSize(2);
+    final var after = articlesBy("summary-backfill");
+    assertThat(after.getArticles()).hasSize(3);
+    assertThat(after.getArticles().subList(1, 3)).isEqualTo(before.getArticles());
+  }
+
+  private MultipleArticlesResponseData articlesBy(String author) {
+    return validateBody(articleService.getArticles(null, author, null, 20, 0));
+  }
+
+  private void awaitProjections() {
+    TestData.awaitProjections(outboxEventRepository, checkpointRepository);
+  }
+}
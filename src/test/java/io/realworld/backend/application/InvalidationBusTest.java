@@ -0,0 +1,136 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.BackendApplication;
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.FollowGraphService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.rest.api.UpdateUserData;
+import io.realworld.backend.rest.api.UpdateUserRequestData;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs two application contexts on one database, joined by the loopback invalidation transport,
+ * and checks that a write on one evicts the caches of the other.
+ */
+public class InvalidationBusTest {
+  private static final long TIMEOUT_NANOS = 10_000_000_000L;
+  private static final Duration FLUSH_INTERVAL = Duration.ofMillis(20);
+  /** How long a peer may serve a stale entry: one flush interval plus loopback delivery. */
+  private static final Duration STALENESS_BOUND = FLUSH_INTERVAL.plusSeconds(1);
+
+  private static ConfigurableApplicationContext writer;
+  private static ConfigurableApplicationContext reader;
+
+  @BeforeAll
+  public static void startInstances() {
+    final var run = UUID.randomUUID().toString();
+    writer = start(run, "create");
+    reader = start(run, "none");
+  }
+
+  private static ConfigurableApplicationContext start(String run, String ddlAuto) {
+    return new SpringApplicationBuilder(BackendApplication.class)
+        .profiles("dev")
+        .run(
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:invalidation-" + run + ";DB_CLOSE_DELAY=-1",
+            "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+            "--conduit.invalidation.transport=loopback",
+            "--conduit.invalidation.flush-interval=" + FLUSH_INTERVAL.toMillis() + "ms",
+            "--conduit.invalidation.channel=invalidation_" + run.replace('-', '_'));
+  }
+
+  @AfterAll
+  public static void stopInstances() {
+    if (reader != null) {
+      reader.close();
+    }
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void profileUpdatedOnOneInstanceIsSeenOnTheOther() throws Exception {
+    testData(writer).createUser("invalidation-bio");
+    final var profiles = reader.getBean(ProfileService.class);
+    final var users = reader.getBean(UserRepository.class);
+    final var id = users.findByUsername("invalidation-bio").orElseThrow().getId();
+    assertThat(bio(profiles, "invalidation-bio")).isNull();
+
+    authenticate("invalidation-bio");
+    final var update = new UpdateUserData();
+    update.setBio("updated elsewhere");
+    final var req = new UpdateUserRequestData();
+    req.setUser(update);
+    writer.getBean(UserService.class).updateCurrentUser(req);
+    final var updated = System.nanoTime();
+
+    awaitTrue(() -> "updated elsewhere".equals(bio(profiles, "invalidation-bio")));
+    assertThat(Duration.ofNanos(System.nanoTime() - updated))
+        .as("Profile stale on the other instance")
+        .isLessThanOrEqualTo(STALENESS_BOUND);
+    final var lag = reader.getBean(MeterRegistry.class).get("conduit.invalidation.lag").timer();
+    assertThat(lag.count()).isPositive();
+    assertThat(lag.max(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(STALENESS_BOUND.toMillis());
+    assertThat(users.findById(id).orElseThrow().getBio()).contains("updated elsewhere");
+  }
+
+  @Test
+  public void followOnOneInstanceIsSeenOnTheOther() throws Exception {
+    final var testData = testData(writer);
+    testData.createUser("invalidation-follower");
+    testData.createUser("invalidation-followee");
+    final var users = reader.getBean(UserRepository.class);
+    final var followerId = users.findByUsername("invalidation-follower").orElseThrow().getId();
+    final var followeeId = users.findByUsername("invalidation-followee").orElseThrow().getId();
+    final var followGraph = reader.getBean(FollowGraphService.class);
+    assertThat(followGraph.isFollowing(followerId, followeeId)).isFalse();
+    assertThat(followGraph.followers(followeeId).size()).isZero();
+
+    authenticate("invalidation-follower");
+    writer.getBean(ProfileService.class).followUserByUsername("invalidation-followee");
+
+    awaitTrue(() -> followGraph.isFollowing(followerId, followeeId));
+    assertThat(followGraph.followers(followeeId).size()).isEqualTo(1);
+  }
+
+  private static TestData testData(ConfigurableApplicationContext context) {
+    return new TestData(context.getBean(UserService.class), context.getBean(ArticleService.class));
+  }
+
+  private static String bio(ProfileService profiles, String username) {
+    return validateBody(profiles.getProfileByUsername(username)).getProfile().getBio();
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    final var deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("Timed out waiting for invalidation").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+}
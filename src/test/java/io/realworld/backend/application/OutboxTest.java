@@ -0,0 +1,182 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.TestData.email;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.event.DomainEvent;
+import io.realworld.backend.domain.event.DomainEvent.ArticleCreated;
+import io.realworld.backend.domain.event.DomainEvent.ArticleUpdated;
+import io.realworld.backend.domain.event.DomainEvent.CommentAdded;
+import io.realworld.backend.domain.event.DomainEvent.Favourited;
+import io.realworld.backend.domain.event.DomainEvent.Followed;
+import io.realworld.backend.domain.event.ProjectionHandler;
+import io.realworld.backend.domain.event.PublishedEvent;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Publishes domain events through the services and checks what the projection handler gets. */
+@SpringBootTest(
+    properties = {"conduit.outbox.poll-interval=20ms", "conduit.outbox.gap-timeout=1s"})
+@ActiveProfiles("dev")
+public class OutboxTest {
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final UserRepository userRepository;
+  private final ArticleRepository articleRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final DomainEventPublisher domainEventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final RecordingHandler handler;
+  private final TestData testData;
+
+  @Autowired
+  public OutboxTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      UserService userService,
+      UserRepository userRepository,
+      ArticleRepository articleRepository,
+      ProjectionCheckpointRepository checkpointRepository,
+      DomainEventPublisher domainEventPublisher,
+      PlatformTransactionManager transactionManager,
+      RecordingHandler handler) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.userRepository = userRepository;
+    this.articleRepository = articleRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.domainEventPublisher = domainEventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.handler = handler;
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @TestConfiguration
+  static class HandlerConfiguration {
+    @Bean
+    RecordingHandler recordingHandler() {
+      return new RecordingHandler();
+    }
+  }
+
+  /** Records every event; can be told to fail its next batch. */
+  static final class RecordingHandler implements ProjectionHandler {
+    private final List<PublishedEvent> received = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failNext = new AtomicBoolean();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public String name() {
+      return "test-recorder";
+    }
+
+    @Override
+    public void handle(List<PublishedEvent> events) {
+      if (failNext.compareAndSet(true, false)) {
+        failures.incrementAndGet();
+        throw new IllegalStateException("Injected failure");
+      }
+      received.addAll(events);
+    }
+
+    List<DomainEvent> events() {
+      return received.stream().map(PublishedEvent::event).toList();
+    }
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void committedEventsArriveInOrderAfterAFailedBatchIsRetried() throws Exception {
+    handler.failNext.set(true);
+    testData.createUser("outbox-author");
+    testData.createUser("outbox-followee");
+    authenticate("outbox-author");
+    final var slug = testData.createArticle("outbox article");
+    articleService.createArticleFavorite(slug);
+    testData.comment("outbox-author", slug);
+    authenticate("outbox-author");
+    profileService.followUserByUsername("outbox-followee");
+
+    final var author = userRepository.findByEmail(email("outbox-author")).orElseThrow().getId();
+    final var followee =
+        userRepository.findByEmail(email("outbox-followee")).orElseThrow().getId();
+    final var article = articleRepository.findBySlug(slug).orElseThrow().getId();
+    final Predicate<DomainEvent> ours =
+        e ->
+            e.equals(new ArticleCreated(article, author))
+                || e.equals(new Favourited(author, article))
+                || (e instanceof CommentAdded c && c.articleId() == article)
+                || e.equals(new Followed(author, followee));
+    awaitEvents(events -> events.stream().filter(ours).count() == 4);
+
+    final var delivered = handler.events().stream().filter(ours).toList();
+    assertThat(delivered.get(0)).isEqualTo(new ArticleCreated(article, author));
+    assertThat(delivered.get(1)).isEqualTo(new Favourited(author, article));
+    assertThat(delivered.get(2)).isInstanceOf(CommentAdded.class);
+    assertThat(delivered.get(3)).isEqualTo(new Followed(author, followee));
+    assertThat(handler.failures.get()).isEqualTo(1);
+    final var ids = handler.received.stream().mapToLong(PublishedEvent::id).toArray();
+    for (int i = 1; i < ids.length; i++) {
+      assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+    }
+    awaitEvents(
+        events ->
+            checkpointRepository.findById("test-recorder").orElseThrow().getLastEventId()
+                >= ids[ids.length - 1]);
+  }
+
+  @Test
+  public void rolledBackTransactionsPublishNothing() throws Exception {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          domainEventPublisher.publish(new ArticleUpdated(-1));
+          status.setRollbackOnly();
+        });
+    transactionTemplate.executeWithoutResult(
+        status -> domainEventPublisher.publish(new ArticleUpdated(-2)));
+
+    awaitEvents(events -> events.contains(new ArticleUpdated(-2)));
+    assertThat(handler.events()).doesNotContain(new ArticleUpdated(-1));
+  }
+
+  @Test
+  public void publishingOutsideATransactionFails() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> domainEventPublisher.publish(new ArticleUpdated(-3)));
+  }
+
+  private void awaitEvents(Predicate<List<DomainEvent>> condition) throws InterruptedException {
+    final var deadline = System.nanoTime() + 10_000_000_000L;
+    while (!condition.test(handler.events())) {
+      assertThat(System.nanoTime()).as("Timed out waiting for projection").isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.TestData.authenticate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.rest.api.LoginUserData;
+import io.realworld.backend.rest.api.LoginUserRequestData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs {@code EXPLAIN} on every statement the endpoints issue against a PostgreSQL database
+ * migrated by Flyway, and fails if one reads a large table with a sequential scan.
+ *
+ * <p>Opt-in, since it needs PostgreSQL 16 or later ({@code EXPLAIN (GENERIC_PLAN)}) and an empty
+ * database, e.g. {@code -Dconduit.test.postgres.url=jdbc:postgresql://localhost/conduit_plans};
+ * {@code conduit.test.postgres.username} and {@code .password} default to {@code postgres}.
+ * Sequential scans are disabled for the session, so one that remains means no index can serve the
+ * statement; with the handful of rows seeded here the planner would otherwise prefer them anyway.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=${conduit.test.postgres.url:}",
+      "spring.datasource.username=${conduit.test.postgres.username:postgres}",
+      "spring.datasource.password=${conduit.test.postgres.password:postgres}",
+      "jwt.secret=caa3e0593e2b968efb6278433206c1a8e3c19a92d57868fd86100aa95cf38771",
+      "jwt.sessionTime=86400",
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "io.realworld.backend.application.SqlStatementCounter"
+    })
+@ActiveProfiles("prod")
+@EnabledIfSystemProperty(named = "conduit.test.postgres.url", matches = ".+")
+public class QueryPlanTest {
+  /** Tables that grow with usage; small reference tables may be scanned. */
+  private static final Set<String> LARGE_TABLES =
+      Set.of(
+          "users",
+          "article",
+          "article_tag",
+          "articlesummary",
+          "comment",
+          "articlefavourite",
+          "followrelation");
+
+  /** Statements allowed to scan, matched on their SQL, with the reason. */
+  private static final Map<Pattern, String> ALLOWED_SCANS =
+      Map.of(
+          Pattern.compile("(?i)\\bis null or\\b"),
+          "catch-all article filters: a generic plan cannot tell which filter is set");
+
+  private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final UserService userService;
+  private final DataSource dataSource;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final TestData testData;
+
+  @Autowired
+  public QueryPlanTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      UserService userService,
+      DataSource dataSource,
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.userService = userService;
+    this.dataSource = dataSource;
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void noSequentialScansOnLargeTables() throws SQLException {
+    final var statements =
+        new LinkedHashSet<>(SqlStatementCounter.record(this::exercise).statements());
+    final var violations = new ArrayList<String>();
+    try (var connection = dataSource.getConnection();
+        var statement = connection.createStatement()) {
+      statement.execute("SET enable_seqscan = off");
+      for (final var sql : statements) {
+        if (!isExplainable(sql) || isAllowedScan(sql)) {
+          continue;
+        }
+        final var plan = explain(statement, sql);
+        final var matcher = SEQ_SCAN.matcher(plan);
+        while (matcher.find()) {
+          if (LARGE_TABLES.contains(matcher.group(1))) {
+            violations.add(String.format("%s%n%s", sql, plan));
+            break;
+          }
+        }
+      }
+    }
+    assertThat(violations)
+        .as("Sequential scans on large tables:%n%s", String.join("\n\n", violations))
+        .isEmpty();
+  }
+
+  /** Calls every read and write path once, as an anonymous and as an authenticated user. */
+  private Void exercise() {
+    testData.createUser("plan-reader");
+    testData.createUser("plan-author");
+    authenticate("plan-author");
+    final var slug = testData.createArticle("plan article");
+    testData.comment("plan-reader", slug);
+    authenticate("plan-reader");
+    profileService.followUserByUsername("plan-author");
+    articleService.createArticleFavorite(slug);
+    TestData.awaitProjections(outboxEventRepository, checkpointRepository);
+    articleService.getArticles(null, null, null, 20, 0);
+    articleService.getArticles("budget", "plan-author", "plan-reader", 20, 0);
+    articleService.getArticlesFeed(20, 0);
+    articleService.getArticle(slug);
+    articleService.getArticleComments(slug);
+    articleService.getTrendingArticles(20);
+    articleService.tagsGet();
+    profileService.getProfileByUsername("plan-author");
+    profileService.getProfileFollowers("plan-author", 20, 0);
+    profileService.getProfileFollowing("plan-reader", 20, 0);
+    articleService.deleteArticleFavorite(slug);
+    profileService.unfollowUserByUsername("plan-author");
+    SecurityContextHolder.clearContext();
+    final var user = new LoginUserData();
+    user.setEmail(TestData.email("plan-reader"));
+    user.setPassword(TestData.PASSWORD);
+    final var req = new LoginUserRequestData();
+    req.setUser(user);
+    userService.login(req);
+    return null;
+  }
+
+  private static boolean isExplainable(String sql) {
+    final var lower = sql.stripLeading().toLowerCase(Locale.ROOT);
+    return lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete");
+  }
+
+  private static boolean isAllowedScan(String sql) {
+    return ALLOWED_SCANS.keySet().stream().anyMatch(p -> p.matcher(sql.strip()).find());
+  }
+
+  private static String explain(Statement statement, String sql) throws SQLException {
+    final var lines = new ArrayList<String>();
+    try (var rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+      while (rs.next()) {
+        lines.add(rs.getString(1));
+      }
+    }
+    return String.join("\n", lines);
+  }
+
+  /** Rewrites JDBC {@code ?} placeholders to the {@code $n} form {@code GENERIC_PLAN} accepts. */
+  private static String numberParameters(String sql) {
+    final var sb = new StringBuilder(sql.length() + 16);
+    var parameter = 0;
+    var quoted = false;
+    for (final var c : sql.toCharArray()) {
+      if (c == '\'') {
+        quoted = !quoted;
+      }
+      if (c == '?' && !quoted) {
+        sb.append('$').append(++parameter);
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+}
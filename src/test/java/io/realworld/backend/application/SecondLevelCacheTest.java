@@ -0,0 +1,210 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.SqlStatementCounter.record;
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.TestData.email;
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.exception.ArticleNotFoundException;
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.rest.api.UpdateArticleData;
+import io.realworld.backend.rest.api.UpdateArticleRequestData;
+import io.realworld.backend.rest.api.UpdateUserData;
+import io.realworld.backend.rest.api.UpdateUserRequestData;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks that users and articles are served from the second-level cache, and that the cache agrees
+ * with the database after concurrent updates.
+ */
+@SpringBootTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "io.realworld.backend.application.SqlStatementCounter")
+@ActiveProfiles("dev")
+public class SecondLevelCacheTest {
+  private static final int THREADS = 4;
+  private static final int ITERATIONS = 25;
+
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final UserService userService;
+  private final UserRepository userRepository;
+  private final ArticleRepository articleRepository;
+  private final EntityManagerFactory entityManagerFactory;
+  private final JdbcTemplate jdbcTemplate;
+  private final TestData testData;
+
+  @Autowired
+  public SecondLevelCacheTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      UserService userService,
+      UserRepository userRepository,
+      ArticleRepository articleRepository,
+      EntityManagerFactory entityManagerFactory,
+      JdbcTemplate jdbcTemplate) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.userService = userService;
+    this.userRepository = userRepository;
+    this.articleRepository = articleRepository;
+    this.entityManagerFactory = entityManagerFactory;
+    this.jdbcTemplate = jdbcTemplate;
+    this.testData = new TestData(userService, articleService);
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void lookupsByNaturalIdAndUsernameHitTheCache() {
+    testData.createUser("cache-lookup");
+    authenticate("cache-lookup");
+    final var slug = testData.createArticle("cache lookup article");
+    userRepository.findByEmail(email("cache-lookup"));
+    userRepository.findByUsername("cache-lookup");
+    articleRepository.findBySlug(slug);
+
+    final var byEmail = record(() -> userRepository.findByEmail(email("cache-lookup")));
+    final var byUsername = record(() -> userRepository.findByUsername("cache-lookup"));
+    final var bySlug = record(() -> articleRepository.findBySlug(slug));
+
+    assertThat(byEmail.result()).isPresent();
+    assertThat(byEmail.statements()).as(byEmail.describe()).isEmpty();
+    assertThat(byUsername.result()).isPresent();
+    assertThat(byUsername.statements()).as(byUsername.describe()).isEmpty();
+    assertThat(bySlug.result()).isPresent();
+    assertThat(bySlug.statements()).as(bySlug.describe()).isEmpty();
+  }
+
+  @Test
+  public void concurrentProfileUpdatesLeaveCacheConsistentWithDatabase() throws Exception {
+    testData.createUser("cache-writer");
+    final Set<String> written = ConcurrentHashMap.newKeySet();
+    final Set<String> observed = ConcurrentHashMap.newKeySet();
+    runConcurrently(
+        2 * THREADS,
+        thread -> {
+          authenticate("cache-writer");
+          for (int i = 0; i < ITERATIONS; i++) {
+            if (thread < THREADS) {
+              final var bio = "bio " + thread + "-" + i;
+              written.add(bio);
+              final var update = new UpdateUserData();
+              update.setBio(bio);
+              final var req = new UpdateUserRequestData();
+              req.setUser(update);
+              userService.updateCurrentUser(req);
+            } else {
+              final var profile = validateBody(profileService.getProfileByUsername("cache-writer"));
+              if (profile.getProfile().getBio() != null) {
+                observed.add(profile.getProfile().getBio());
+              }
+            }
+          }
+        });
+
+    assertThat(written).containsAll(observed);
+    final var cached = userRepository.findByEmail(email("cache-writer")).orElseThrow();
+    assertThat(entityManagerFactory.getCache().contains(User.class, cached.getId())).isTrue();
+    final var stored =
+        jdbcTemplate.queryForObject(
+            "SELECT bio FROM users WHERE email = ?", String.class, email("cache-writer"));
+    assertThat(cached.getBio()).isEqualTo(stored);
+  }
+
+  @Test
+  public void concurrentRenamesLeaveOnlyTheCurrentSlugResolvable() throws Exception {
+    testData.createUser("cache-renamer");
+    authenticate("cache-renamer");
+    final var initial = testData.createArticle("cache rename article");
+    final var id =
+        jdbcTemplate.queryForObject("SELECT id FROM article WHERE slug = ?", Long.class, initial);
+    final Set<String> slugs = ConcurrentHashMap.newKeySet();
+    slugs.add(initial);
+    runConcurrently(
+        THREADS,
+        thread -> {
+          for (int i = 0; i < ITERATIONS; i++) {
+            final var current =
+                jdbcTemplate.queryForObject(
+                    "SELECT slug FROM article WHERE id = ?", String.class, id);
+            final var update = new UpdateArticleData();
+            update.setTitle("renamed " + thread + " " + i);
+            final var req = new UpdateArticleRequestData();
+            req.setArticle(update);
+            try {
+              final var updated = validateBody(articleService.updateArticle(current, req));
+              slugs.add(updated.getArticle().getSlug());
+            } catch (ArticleNotFoundException e) {
+              // Renamed by another thread in between; the next iteration reads the new slug
+            }
+          }
+        });
+
+    final var stored =
+        jdbcTemplate.queryForObject("SELECT slug FROM article WHERE id = ?", String.class, id);
+    assertThat(articleRepository.findBySlug(stored))
+        .hasValueSatisfying(a -> assertThat(a.getId()).isEqualTo(id));
+    final var stale = new HashSet<>(slugs);
+    stale.remove(stored);
+    for (final var slug : stale) {
+      assertThat(articleRepository.findBySlug(slug)).as(slug).isEmpty();
+    }
+  }
+
+  /** Runs {@code task} on {@code threads} threads at once and rethrows the first failure. */
+  private static void runConcurrently(int threads, IntConsumer task) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final var start = new CountDownLatch(1);
+      final var futures = new ArrayList<Future<?>>();
+      for (int t = 0; t < threads; t++) {
+        final var thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  try {
+                    task.accept(thread);
+                  } finally {
+                    SecurityContextHolder.clearContext();
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (final var future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.util.SingleFlightCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightCacheTest {
+  private static final Duration SOFT_TTL = Duration.ofSeconds(1);
+  private static final Duration HARD_TTL = Duration.ofSeconds(10);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrentMissesShareOneLoad() throws Exception {
+    final var cache = cache();
+    final var loads = new AtomicInteger();
+    final var loading = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var first =
+        executor.submit(
+            () ->
+                cache.get(
+                    "key",
+                    k -> {
+                      loads.incrementAndGet();
+                      loading.countDown();
+                      await(release);
+                      return "value";
+                    }));
+    assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+    final var waiters = new ArrayList<Future<String>>();
+    for (int i = 0; i < 8; i++) {
+      waiters.add(
+          executor.submit(
+              () ->
+                  cache.get(
+                      "key",
+                      k -> {
+                        loads.incrementAndGet();
+                        return "other";
+                      })));
+    }
+    awaitCount("collapsed", 8);
+    release.countDown();
+
+    assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+    for (final var waiter : waiters) {
+      assertThat(waiter.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(count("miss")).isEqualTo(1);
+  }
+
+  @Test
+  public void testStaleValueIsServedWhileOneRefreshRuns() {
+    final var cache = cache();
+    final var version = new AtomicInteger();
+    assertThat(cache.get("key", k -> "v" + version.incrementAndGet())).isEqualTo("v1");
+
+    nanos.addAndGet(SOFT_TTL.toNanos());
+    assertThat(cache.get("key", k -> "v" + version.incrementAndGet())).isEqualTo("v1");
+    assertThat(cache.get("key", k -> "v" + version.incrementAndGet())).isEqualTo("v1");
+    assertThat(refreshes).hasSize(1);
+    assertThat(version).hasValue(1);
+
+    refreshes.remove(0).run();
+    assertThat(cache.get("key", k -> "v" + version.incrementAndGet())).isEqualTo("v2");
+    assertThat(count("stale")).isEqualTo(2);
+    assertThat(count("hit")).isEqualTo(1);
+  }
+
+  @Test
+  public void testValuesPastTheHardTtlAreLoadedAgain() {
+    final var cache = cache();
+    cache.get("key", k -> "old");
+    nanos.addAndGet(HARD_TTL.toNanos());
+    assertThat(cache.get("key", k -> "new")).isEqualTo("new");
+    assertThat(refreshes).isEmpty();
+  }
+
+  @Test
+  public void testLoadRacingAnInvalidationIsNotKept() {
+    final var cache = cache();
+    assertThat(
+            cache.get(
+                "key",
+                k -> {
+                  cache.invalidate(List.of("key"));
+                  return "before";
+                }))
+        .isEqualTo("before");
+    assertThat(cache.get("key", k -> "after")).isEqualTo("after");
+  }
+
+  @Test
+  public void testFailuresAreSharedButNotCached() {
+    final var cache = cache();
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.get(
+                "key",
+                k -> {
+                  throw new IllegalStateException("not found");
+                }));
+    assertThat(cache.get("key", k -> "found")).isEqualTo("found");
+  }
+
+  @Test
+  public void testRefusedRefreshKeepsServingTheStaleValue() {
+    final var cache =
+        new SingleFlightCache<String, String>(
+            "refused",
+            100,
+            SOFT_TTL,
+            HARD_TTL,
+            task -> {
+              throw new RejectedExecutionException();
+            },
+            registry,
+            ticker);
+    cache.get("key", k -> "old");
+    nanos.addAndGet(SOFT_TTL.toNanos());
+    assertThat(cache.get("key", k -> "new")).isEqualTo("old");
+    assertThat(cache.get("key", k -> "new")).isEqualTo("old");
+  }
+
+  private SingleFlightCache<String, String> cache() {
+    return new SingleFlightCache<>(
+        "test", 100, SOFT_TTL, HARD_TTL, refreshes::add, registry, ticker);
+  }
+
+  private double count(String outcome) {
+    return registry
+        .get("conduit.single-flight.requests")
+        .tag("cache", "test")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private void awaitCount(String outcome, int expected) throws InterruptedException {
+    final var deadline = System.nanoTime() + 10_000_000_000L;
+    while (count(outcome) < expected) {
+      assertThat(System.nanoTime()).as("Timed out waiting for %s", outcome).isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
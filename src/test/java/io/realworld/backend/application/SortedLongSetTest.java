@@ -0,0 +1,40 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.util.SortedLongSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SortedLongSetTest {
+
+  @Test
+  public void testOfSortsAndDeduplicates() {
+    final var set = SortedLongSet.of(List.of(5L, 1L, 3L, 5L));
+    assertThat(set.toList()).containsExactly(1L, 3L, 5L);
+    assertThat(set.contains(3)).isTrue();
+    assertThat(set.contains(4)).isFalse();
+    assertThat(SortedLongSet.of(List.of())).isSameAs(SortedLongSet.EMPTY);
+  }
+
+  @Test
+  public void testWithAndWithoutCopy() {
+    final var set = SortedLongSet.of(List.of(1L, 5L));
+    final var added = set.with(3).with(7).with(0);
+    assertThat(added.toList()).containsExactly(0L, 1L, 3L, 5L, 7L);
+    assertThat(set.toList()).containsExactly(1L, 5L);
+    assertThat(added.with(3)).isSameAs(added);
+    assertThat(added.without(3).without(0).without(7)).isEqualTo(set);
+    assertThat(set.without(2)).isSameAs(set);
+    assertThat(set.without(1).without(5)).isSameAs(SortedLongSet.EMPTY);
+  }
+
+  @Test
+  public void testSlice() {
+    final var set = SortedLongSet.of(List.of(1L, 2L, 3L, 4L, 5L));
+    assertThat(set.slice(1, 2)).containsExactly(2L, 3L);
+    assertThat(set.slice(3, 20)).containsExactly(4L, 5L);
+    assertThat(set.slice(10, 20)).isEmpty();
+    assertThat(set.slice(0, Integer.MAX_VALUE)).hasSize(5);
+  }
+}
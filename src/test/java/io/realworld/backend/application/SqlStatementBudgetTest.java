@@ -0,0 +1,359 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.SqlStatementCounter.assertWithinBudget;
+import static io.realworld.backend.application.TestData.authenticate;
+import static io.realworld.backend.application.TestData.awaitProjections;
+import static io.realworld.backend.application.TestData.email;
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileCache;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.rest.api.BatchArticlesRequestData;
+import io.realworld.backend.rest.api.BatchProfilesRequestData;
+import io.realworld.backend.rest.api.LoginUserData;
+import io.realworld.backend.rest.api.LoginUserRequestData;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Asserts how many SQL statements each endpoint may issue.
+ *
+ * <p>Budgets are upper bounds for the current implementation. Lowering one is always welcome;
+ * raising one needs a reason in the commit that does it. List endpoints are additionally checked
+ * to issue the same number of statements for a page of 5 and a page of 20, which is what catches
+ * N+1 loads; they are measured with the follow graph already warm and the second-level cache
+ * empty, so rows cached by earlier tests cannot hide a load per row. The public read cache is off,
+ * so anonymous reads reach the database every time.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "io.realworld.backend.application.SqlStatementCounter",
+      "conduit.public-read-cache.enabled=false"
+    })
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SqlStatementBudgetTest {
+  /** Article summary page, total count. */
+  private static final int LIST_ARTICLES_BUDGET = 2;
+  /** As above, plus the viewer and their favourites. */
+  private static final int LIST_ARTICLES_AUTHENTICATED_BUDGET = 4;
+  /** Viewer, article summary page, total count, viewer favourites. */
+  private static final int FEED_BUDGET = 4;
+  /** Article, tags, author, favourite count. */
+  private static final int GET_ARTICLE_BUDGET = 4;
+  /** Article, tags, article author, comments, comment authors. */
+  private static final int GET_COMMENTS_BUDGET = 5;
+  /** Viewer, articles by slug, authors, tags, favourite counts, viewer favourites. */
+  private static final int ARTICLES_BATCH_BUDGET = 6;
+  /** Users and their follower, following and article counts, for profiles not cached. */
+  private static final int PROFILES_BATCH_BUDGET = 4;
+  /** Article summaries by id; ranking itself is in memory. */
+  private static final int TRENDING_BUDGET = 1;
+  /** User and its follower, following and article counts, on a profile cache miss. */
+  private static final int GET_PROFILE_BUDGET = 4;
+  /** Nothing once the profile is cached. */
+  private static final int GET_PROFILE_CACHED_BUDGET = 0;
+  /** Viewer, viewer followees if not cached yet; the profile itself is cached. */
+  private static final int GET_PROFILE_AUTHENTICATED_BUDGET = 2;
+  /** User, follower ids if not cached yet, follower users. */
+  private static final int GET_FOLLOWERS_BUDGET = 3;
+  /**
+   * Viewer, article, tags, author, upsert, outbox event, viewer followees if not cached yet,
+   * favourite count.
+   */
+  private static final int FAVOURITE_BUDGET = 8;
+  /** Viewer, upsert, outbox event; the followed profile is cached. */
+  private static final int FOLLOW_BUDGET = 3;
+  /** User by email. */
+  private static final int LOGIN_BUDGET = 1;
+  /** Nothing for names the availability filter has never seen. */
+  private static final int AVAILABILITY_BUDGET = 0;
+
+  private static final int ARTICLES_PER_AUTHOR = 12;
+
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final ProfileCache profileCache;
+  private final UserService userService;
+  private final TestData testData;
+  private final EntityManagerFactory entityManagerFactory;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ProjectionCheckpointRepository checkpointRepository;
+  private final List<String> authors = new ArrayList<>();
+  private final List<String> slugs = new ArrayList<>();
+
+  @Autowired
+  public SqlStatementBudgetTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      ProfileCache profileCache,
+      UserService userService,
+      EntityManagerFactory entityManagerFactory,
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.profileCache = profileCache;
+    this.userService = userService;
+    this.testData = new TestData(userService, articleService);
+    this.entityManagerFactory = entityManagerFactory;
+    this.outboxEventRepository = outboxEventRepository;
+    this.checkpointRepository = checkpointRepository;
+  }
+
+  /**
+   * Three authors with twelve articles each; the reader follows the first two. Waits for the
+   * article summaries the list endpoints read.
+   */
+  @BeforeAll
+  public void seed() {
+    testData.createUser("reader");
+    for (int a = 0; a < 3; a++) {
+      final var author = "budget-author-" + a;
+      authors.add(author);
+      testData.createUser(author);
+      authenticate(author);
+      for (int i = 0; i < ARTICLES_PER_AUTHOR; i++) {
+        slugs.add(testData.createArticle(author + " article " + i));
+      }
+    }
+    authenticate("reader");
+    profileService.followUserByUsername(authors.get(0));
+    profileService.followUserByUsername(authors.get(1));
+    final var slug = slugs.get(0);
+    for (final var commenter : List.of("reader", authors.get(1), authors.get(2))) {
+      testData.comment(commenter, slug);
+    }
+    SecurityContextHolder.clearContext();
+    awaitProjections(outboxEventRepository, checkpointRepository);
+  }
+
+  @AfterEach
+  public void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void listArticles() {
+    assertPageSizeIndependent(
+        "GET /articles",
+        LIST_ARTICLES_BUDGET,
+        limit -> validateBody(articleService.getArticles(null, null, null, limit, 0)));
+  }
+
+  @Test
+  public void listArticlesAuthenticated() {
+    authenticate("reader");
+    assertPageSizeIndependent(
+        "GET /articles (authenticated)",
+        LIST_ARTICLES_AUTHENTICATED_BUDGET,
+        limit -> validateBody(articleService.getArticles(null, null, null, limit, 0)));
+  }
+
+  @Test
+  public void feed() {
+    authenticate("reader");
+    assertPageSizeIndependent(
+        "GET /articles/feed",
+        FEED_BUDGET,
+        limit -> validateBody(articleService.getArticlesFeed(limit, 0)));
+  }
+
+  @Test
+  public void getArticle() {
+    assertWithinBudget(
+        "GET /articles/{slug}",
+        GET_ARTICLE_BUDGET,
+        () -> validateBody(articleService.getArticle(slugs.get(1))));
+  }
+
+  @Test
+  public void articlesBatch() {
+    authenticate("reader");
+    articleService.getArticlesBatch(articlesBatch(slugs.subList(0, 1)));
+    entityManagerFactory.getCache().evictAll();
+    final var smallBatch = articlesBatch(slugs.subList(5, 10));
+    final var small =
+        assertWithinBudget(
+            "POST /articles/batch (5 slugs)",
+            ARTICLES_BATCH_BUDGET,
+            () -> validateBody(articleService.getArticlesBatch(smallBatch)));
+    entityManagerFactory.getCache().evictAll();
+    final var requested = new ArrayList<>(slugs.subList(10, 30));
+    requested.add(5, "no-such-article");
+    final var large =
+        assertWithinBudget(
+            "POST /articles/batch (21 slugs)",
+            ARTICLES_BATCH_BUDGET,
+            () -> validateBody(articleService.getArticlesBatch(articlesBatch(requested))));
+    assertThat(large.statements())
+        .as("POST /articles/batch issues more statements for more slugs:%n%s", large.describe())
+        .hasSameSizeAs(small.statements());
+    assertThat(large.result().getArticles())
+        .extracting(r -> r.getSlug())
+        .containsExactlyElementsOf(requested);
+    assertThat(large.result().getArticles().get(5).getFound()).isFalse();
+    assertThat(large.result().getArticles().get(6).getArticle().getSlug())
+        .isEqualTo(requested.get(6));
+  }
+
+  @Test
+  public void profilesBatch() {
+    final var requested = List.of(authors.get(2), "no-such-user", authors.get(0), "reader");
+    profileCache.evict(requested.toArray(String[]::new));
+    final var recorded =
+        assertWithinBudget(
+            "POST /profiles/batch",
+            PROFILES_BATCH_BUDGET,
+            () -> validateBody(profileService.getProfilesBatch(profilesBatch(requested))));
+    final var profiles = recorded.result().getProfiles();
+    assertThat(profiles).extracting(r -> r.getUsername()).containsExactlyElementsOf(requested);
+    assertThat(profiles).extracting(r -> r.getFound()).containsExactly(true, false, true, true);
+    assertThat(profiles.get(2).getProfile().getArticlesCount()).isEqualTo(ARTICLES_PER_AUTHOR);
+    assertThat(profiles.get(3).getProfile().getFollowingCount()).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  public void trendingArticles() {
+    articleService.getArticle(slugs.get(3));
+    final var recorded =
+        assertWithinBudget(
+            "GET /articles/trending",
+            TRENDING_BUDGET,
+            () -> validateBody(articleService.getTrendingArticles(20)));
+    assertThat(recorded.result().getArticles()).isNotEmpty();
+  }
+
+  @Test
+  public void getArticleComments() {
+    final var recorded =
+        assertWithinBudget(
+            "GET /articles/{slug}/comments",
+            GET_COMMENTS_BUDGET,
+            () -> validateBody(articleService.getArticleComments(slugs.get(0))));
+    assertThat(recorded.result().getComments()).hasSize(3);
+  }
+
+  @Test
+  public void getProfile() {
+    profileCache.evict(authors.get(0));
+    assertWithinBudget(
+        "GET /profiles/{username}",
+        GET_PROFILE_BUDGET,
+        () -> validateBody(profileService.getProfileByUsername(authors.get(0))));
+    final var recorded =
+        assertWithinBudget(
+            "GET /profiles/{username} (cached)",
+            GET_PROFILE_CACHED_BUDGET,
+            () -> validateBody(profileService.getProfileByUsername(authors.get(0))));
+    assertThat(recorded.result().getProfile().getArticlesCount()).isEqualTo(ARTICLES_PER_AUTHOR);
+    assertThat(recorded.result().getProfile().getFollowersCount()).isEqualTo(1);
+    authenticate("reader");
+    assertWithinBudget(
+        "GET /profiles/{username} (authenticated)",
+        GET_PROFILE_AUTHENTICATED_BUDGET,
+        () -> validateBody(profileService.getProfileByUsername(authors.get(0))));
+  }
+
+  @Test
+  public void getProfileFollowers() {
+    final var recorded =
+        assertWithinBudget(
+            "GET /profiles/{username}/followers",
+            GET_FOLLOWERS_BUDGET,
+            () -> validateBody(profileService.getProfileFollowers(authors.get(0), 20, 0)));
+    assertThat(recorded.result().getProfiles()).hasSize(1);
+    assertThat(recorded.result().getProfiles().get(0).getUsername()).isEqualTo("reader");
+  }
+
+  @Test
+  public void favouriteArticle() {
+    authenticate("reader");
+    final var recorded =
+        assertWithinBudget(
+            "POST /articles/{slug}/favorite",
+            FAVOURITE_BUDGET,
+            () -> validateBody(articleService.createArticleFavorite(slugs.get(2))));
+    assertThat(recorded.result().getArticle().getFavorited()).isTrue();
+    final var again = validateBody(articleService.createArticleFavorite(slugs.get(2)));
+    assertThat(again.getArticle().getFavoritesCount())
+        .isEqualTo(recorded.result().getArticle().getFavoritesCount());
+  }
+
+  @Test
+  public void followUser() {
+    profileService.getProfileByUsername(authors.get(2));
+    authenticate("reader");
+    assertWithinBudget(
+        "POST /profiles/{username}/follow",
+        FOLLOW_BUDGET,
+        () -> validateBody(profileService.followUserByUsername(authors.get(2))));
+  }
+
+  @Test
+  public void login() {
+    final var user = new LoginUserData();
+    user.setEmail(email("reader"));
+    user.setPassword(TestData.PASSWORD);
+    final var req = new LoginUserRequestData();
+    req.setUser(user);
+    assertWithinBudget(
+        "POST /users/login", LOGIN_BUDGET, () -> validateBody(userService.login(req)));
+  }
+
+  @Test
+  public void checkAvailability() {
+    final var recorded =
+        assertWithinBudget(
+            "GET /users/availability",
+            AVAILABILITY_BUDGET,
+            () -> validateBody(userService.checkUserAvailability("unseen", email("unseen"))));
+    assertThat(recorded.result().getUsername()).isTrue();
+    assertThat(recorded.result().getEmail()).isTrue();
+    assertThat(validateBody(userService.checkUserAvailability("reader", null)).getUsername())
+        .isFalse();
+  }
+
+  private static BatchArticlesRequestData articlesBatch(List<String> slugs) {
+    final var req = new BatchArticlesRequestData();
+    req.setSlugs(slugs);
+    return req;
+  }
+
+  private static BatchProfilesRequestData profilesBatch(List<String> usernames) {
+    final var req = new BatchProfilesRequestData();
+    req.setUsernames(usernames);
+    return req;
+  }
+
+  private void assertPageSizeIndependent(
+      String endpoint, int budget, IntFunction<MultipleArticlesResponseData> call) {
+    call.apply(1);
+    entityManagerFactory.getCache().evictAll();
+    final var small = assertWithinBudget(endpoint + "?limit=5", budget, () -> call.apply(5));
+    entityManagerFactory.getCache().evictAll();
+    final var large = assertWithinBudget(endpoint + "?limit=20", budget, () -> call.apply(20));
+    assertThat(small.result().getArticles()).hasSize(5);
+    assertThat(large.result().getArticles()).hasSize(20);
+    assertThat(large.statements())
+        .as("%s issues more statements for a larger page:%n%s", endpoint, large.describe())
+        .hasSameSizeAs(small.statements());
+  }
+}
@@ -0,0 +1,71 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that records every SQL statement while a budget check is
+ * running.
+ *
+ * <p>Registered through {@code hibernate.session_factory.statement_inspector}; Hibernate creates
+ * the instance, so recorded statements are kept in static state.
+ */
+public class SqlStatementCounter implements StatementInspector {
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+  private static volatile @Nullable Thread recording = null;
+
+  @Override
+  public String inspect(String sql) {
+    if (Thread.currentThread() == recording) {
+      STATEMENTS.add(sql);
+    }
+    return sql;
+  }
+
+  /**
+   * Runs {@code call} and returns its result together with the SQL it issued; statements of
+   * background threads such as the outbox poller are not counted.
+   */
+  public static synchronized <T> Recorded<T> record(Supplier<T> call) {
+    STATEMENTS.clear();
+    recording = Thread.currentThread();
+    try {
+      final var result = call.get();
+      return new Recorded<>(result, new ArrayList<>(STATEMENTS));
+    } finally {
+      recording = null;
+    }
+  }
+
+  /**
+   * Runs {@code call} and fails, listing the offending SQL, if it issued more than {@code budget}
+   * statements.
+   */
+  public static <T> Recorded<T> assertWithinBudget(String endpoint, int budget, Supplier<T> call) {
+    final var recorded = record(call);
+    if (recorded.statements().size() > budget) {
+      fail(
+          "%s issued %d SQL statements, budget is %d:%n%s",
+          endpoint, recorded.statements().size(), budget, recorded.describe());
+    }
+    return recorded;
+  }
+
+  /** Result of a recorded call. */
+  public record Recorded<T>(T result, List<String> statements) {
+    /** Numbered statement listing for failure messages. */
+    public String describe() {
+      final var sb = new StringBuilder();
+      for (int i = 0; i < statements.size(); i++) {
+        sb.append(String.format("  %2d. %s%n", i + 1, statements.get(i)));
+      }
+      return sb.toString();
+    }
+  }
+}
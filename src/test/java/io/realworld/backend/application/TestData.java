@@ -0,0 +1,104 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.Util.validateBody;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.UserService;
+import io.realworld.backend.domain.aggregate.outbox.OutboxEventRepository;
+import io.realworld.backend.domain.aggregate.outbox.ProjectionCheckpointRepository;
+import io.realworld.backend.rest.api.NewArticleData;
+import io.realworld.backend.rest.api.NewArticleRequestData;
+import io.realworld.backend.rest.api.NewCommentData;
+import io.realworld.backend.rest.api.NewCommentRequestData;
+import io.realworld.backend.rest.api.NewUserData;
+import io.realworld.backend.rest.api.NewUserRequestData;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/** Creates users, articles and comments through the services for integration tests. */
+final class TestData {
+  static final String PASSWORD = "password";
+
+  private final UserService userService;
+  private final ArticleService articleService;
+
+  TestData(UserService userService, ArticleService articleService) {
+    this.userService = userService;
+    this.articleService = articleService;
+  }
+
+  void createUser(String username) {
+    final var user = new NewUserData();
+    user.setUsername(username);
+    user.setEmail(email(username));
+    user.setPassword(PASSWORD);
+    final var req = new NewUserRequestData();
+    req.setUser(user);
+    userService.createUser(req);
+  }
+
+  /** Creates an article as the authenticated user and returns its slug. */
+  String createArticle(String title) {
+    final var article = new NewArticleData();
+    article.setTitle(title);
+    article.setDescription("description");
+    article.setBody("body");
+    article.setTagList(List.of("budget", "tag-" + (title.length() % 3)));
+    final var req = new NewArticleRequestData();
+    req.setArticle(article);
+    return validateBody(articleService.createArticle(req)).getArticle().getSlug();
+  }
+
+  /** Comments on {@code slug} as {@code username}. */
+  void comment(String username, String slug) {
+    authenticate(username);
+    final var comment = new NewCommentData();
+    comment.setBody("comment by " + username);
+    final var req = new NewCommentRequestData();
+    req.setComment(comment);
+    articleService.createArticleComment(slug, req);
+  }
+
+  /** Authenticates the way {@code JwtTokenFilter} does, with the email as principal name. */
+  static void authenticate(String username) {
+    final var userDetails =
+        org.springframework.security.core.userdetails.User.withUsername(email(username))
+            .password("")
+            .authorities(List.of())
+            .build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                userDetails, "token", userDetails.getAuthorities()));
+  }
+
+  static String email(String username) {
+    return username + "@budget.example";
+  }
+
+  /** Waits until every projection has applied the outbox events committed so far. */
+  static void awaitProjections(
+      OutboxEventRepository outboxEventRepository,
+      ProjectionCheckpointRepository checkpointRepository) {
+    final var lastEventId = outboxEventRepository.findMaxId();
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (true) {
+      final var checkpoints = checkpointRepository.findAll();
+      if (!checkpoints.isEmpty()
+          && checkpoints.stream().allMatch(c -> c.getLastEventId() >= lastEventId)) {
+        return;
+      }
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Projections did not reach outbox event " + lastEventId);
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError("Interrupted waiting for projections", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.realworld.backend.application.service.TrendingService;
+import io.realworld.backend.domain.aggregate.trending.TrendingScore;
+import io.realworld.backend.domain.aggregate.trending.TrendingScoreRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+public class TrendingServiceTest {
+  private final TrendingScoreRepository repository = mock(TrendingScoreRepository.class);
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+  @Test
+  public void testRanksByWeightedEvents() {
+    final var trending = create();
+    trending.viewed(1);
+    trending.viewed(1);
+    trending.commented(2);
+    trending.favourited(3);
+    assertThat(trending.top(10)).containsExactly(3L, 2L, 1L);
+    assertThat(trending.top(2)).containsExactly(3L, 2L);
+  }
+
+  @Test
+  public void testOlderActivityDecays() {
+    final var trending = create();
+    trending.favourited(1);
+    trending.favourited(1);
+    clock.advance(Duration.ofHours(12));
+    trending.favourited(2);
+    assertThat(trending.top(10)).containsExactly(2L, 1L);
+
+    clock.advance(Duration.ofHours(13));
+    trending.rescore();
+    assertThat(trending.top(10)).containsExactly(2L);
+    trending.forget(2);
+    assertThat(trending.top(10)).isEmpty();
+  }
+
+  @Test
+  public void testScoresSurviveRestart() {
+    final var trending = create();
+    trending.favourited(1);
+    trending.viewed(2);
+    trending.persist();
+    final var ids = ArgumentCaptor.forClass(Long.class);
+    final var scores = ArgumentCaptor.forClass(Double.class);
+    final var now = clock.instant();
+    verify(repository, times(2))
+        .upsert(ids.capture(), scores.capture(), eq(now), eq(now.minus(Duration.ofMinutes(5))));
+    verify(repository).deleteScoredBefore(now.minus(Duration.ofHours(24)));
+    assertThat(ids.getAllValues()).containsExactly(1L, 2L);
+    assertThat(scores.getAllValues()).containsExactly(5.0, 1.0);
+
+    given(repository.findAll())
+        .willReturn(List.of(new TrendingScore(1, 5.0, now), new TrendingScore(2, 1.0, now)));
+    final var restarted = create();
+    restarted.seed();
+    assertThat(restarted.top(10)).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void testEmptySnapshotSeedsNothing() {
+    given(repository.findAll()).willReturn(List.of());
+    final var trending = create();
+    trending.seed();
+    assertThat(trending.top(10)).isEmpty();
+    trending.persist();
+    verify(repository, never()).upsert(anyLong(), anyDouble(), any(), any());
+    verify(repository).deleteScoredBefore(any());
+  }
+
+  @Test
+  public void testConcurrentEventsAreAllCounted() throws InterruptedException {
+    final var trending = create();
+    final var threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final var articleId = t + 1L;
+      threads[t] =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int i = 0; i < 1000 * articleId; i++) {
+                      trending.viewed(articleId);
+                      if (i % 100 == 0) {
+                        trending.top(1);
+                      }
+                    }
+                  });
+    }
+    for (final var thread : threads) {
+      thread.join();
+    }
+    assertThat(trending.top(10)).containsExactly(4L, 3L, 2L, 1L);
+  }
+
+  private TrendingService create() {
+    return new TrendingService(
+        repository,
+        TransactionOperations.withoutTransaction(),
+        clock,
+        100,
+        Duration.ofHours(6),
+        Duration.ofMinutes(1),
+        Duration.ofMinutes(5));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
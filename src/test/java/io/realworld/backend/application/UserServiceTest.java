@@ -6,6 +6,8 @@ import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNul
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -13,10 +15,14 @@ import static org.mockito.MockitoAnnotations.openMocks;
 import io.realworld.backend.application.exception.EmailAlreadyUsedException;
 import io.realworld.backend.application.exception.InvalidPasswordException;
 import io.realworld.backend.application.exception.UsernameAlreadyUsedException;
+import io.realworld.backend.application.service.ProfileCache;
+import io.realworld.backend.application.service.UserAvailabilityFilter;
 import io.realworld.backend.application.service.UserService;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.event.DomainEvent.ProfileUpdated;
 import io.realworld.backend.domain.service.AuthenticationService;
+import io.realworld.backend.domain.service.DomainEventPublisher;
 import io.realworld.backend.domain.service.JwtService;
 import io.realworld.backend.rest.api.LoginUserData;
 import io.realworld.backend.rest.api.LoginUserRequestData;
@@ -24,6 +30,7 @@ import io.realworld.backend.rest.api.NewUserData;
 import io.realworld.backend.rest.api.NewUserRequestData;
 import io.realworld.backend.rest.api.UpdateUserData;
 import io.realworld.backend.rest.api.UpdateUserRequestData;
+import java.sql.SQLException;
 import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -31,22 +38,42 @@ import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
 
 public class UserServiceTest {
   private @MonotonicNonNull UserService userService;
   @Mock private @MonotonicNonNull UserRepository userRepository;
   @Mock private @MonotonicNonNull JwtService jwtService;
+  @Mock private @MonotonicNonNull ProfileCache profileCache;
+  @Mock private @MonotonicNonNull UserAvailabilityFilter userAvailabilityFilter;
+  @Mock private @MonotonicNonNull DomainEventPublisher domainEventPublisher;
   @Mock private @MonotonicNonNull AuthenticationService authenticationService;
 
   @BeforeEach
-  @RequiresNonNull({"userRepository", "jwtService", "authenticationService"})
+  @RequiresNonNull({
+    "userRepository",
+    "jwtService",
+    "profileCache",
+    "userAvailabilityFilter",
+    "domainEventPublisher",
+    "authenticationService"
+  })
   public void setUp() {
     openMocks(this);
     given(authenticationService.getCurrentUser())
         .willReturn(Optional.of(new User("email@example.com", "example", "hash")));
     given(authenticationService.getCurrentToken()).willReturn(Optional.of("token"));
     given(jwtService.generateToken(any())).willReturn("token");
-    userService = new UserService(userRepository, jwtService, authenticationService);
+    given(userAvailabilityFilter.mightHaveUsername(any())).willReturn(true);
+    given(userAvailabilityFilter.mightHaveEmail(any())).willReturn(true);
+    userService =
+        new UserService(
+            userRepository,
+            jwtService,
+            profileCache,
+            userAvailabilityFilter,
+            domainEventPublisher,
+            authenticationService);
   }
 
   @Test
@@ -55,7 +82,7 @@ public class UserServiceTest {
     final var newUser = new User("email@example.com", "example", "hash");
     newUser.setId(1);
 
-    given(userRepository.save(any())).willReturn(newUser);
+    given(userRepository.saveAndFlush(any())).willReturn(newUser);
     final var resp = userService.createUser(newUser("email@example.com", "example", "123"));
     final var body = validateBody(resp);
     final var user = body.getUser();
@@ -63,7 +90,22 @@ public class UserServiceTest {
     assertThat(user.getEmail()).isEqualTo("email@example.com");
     assertThat(user.getToken()).isNotBlank();
 
-    verify(userRepository, times(1)).save(any());
+    verify(userRepository, times(1)).saveAndFlush(any());
+    verify(userAvailabilityFilter).add("example", "email@example.com");
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userAvailabilityFilter", "userService"})
+  public void testCheckUserAvailability_filter_miss_skips_database() {
+    given(userAvailabilityFilter.mightHaveUsername("free")).willReturn(false);
+    final var user = new User("email@example.com", "example", "hash");
+    given(userRepository.findByEmail("email@example.com")).willReturn(Optional.of(user));
+
+    final var body = validateBody(userService.checkUserAvailability("free", "email@example.com"));
+
+    assertThat(body.getUsername()).isTrue();
+    assertThat(body.getEmail()).isFalse();
+    verify(userRepository, never()).findByUsername(any());
   }
 
   @Test
@@ -92,6 +134,46 @@ public class UserServiceTest {
         });
   }
 
+  @Test
+  @RequiresNonNull({"userRepository", "userAvailabilityFilter", "userService"})
+  public void testCreateUser_username_taken_elsewhere() {
+    given(userAvailabilityFilter.mightHaveUsername(any())).willReturn(false);
+    given(userAvailabilityFilter.mightHaveEmail(any())).willReturn(false);
+    given(userRepository.saveAndFlush(any()))
+        .willThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException(
+                    "duplicate key value violates unique constraint \"users_username_uk\"")));
+    final var userService = this.userService;
+    assertThrows(
+        UsernameAlreadyUsedException.class,
+        () -> {
+          userService.createUser(newUser("email@example.com", "example", "123"));
+        });
+    verify(userAvailabilityFilter, never()).add(any(), any());
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userService"})
+  public void testUpdateUser_email_taken_elsewhere() {
+    final var user = new User("email@example.com", "example", "hash");
+    given(userRepository.findByEmail("email@example.com")).willReturn(Optional.of(user));
+    willThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException(
+                    "Unique index or primary key violation: \"PUBLIC.USERS_EMAIL_UK_INDEX_4\"")))
+        .given(userRepository)
+        .flush();
+    final var userService = this.userService;
+    assertThrows(
+        EmailAlreadyUsedException.class,
+        () -> {
+          userService.updateCurrentUser(updateUser(null, "email2@example.com", null, null));
+        });
+  }
+
   @Test
   @RequiresNonNull({"userRepository", "userService", "authenticationService", "jwtService"})
   public void testLogin_normal() {
@@ -135,7 +217,7 @@ public class UserServiceTest {
   }
 
   @Test
-  @RequiresNonNull({"userRepository", "userService"})
+  @RequiresNonNull({"userRepository", "profileCache", "domainEventPublisher", "userService"})
   public void testUpdateUser_normal() {
     final var user = new User("email@example.com", "example", "hash");
     given(userRepository.findByEmail("email@example.com")).willReturn(Optional.of(user));
@@ -144,6 +226,8 @@ public class UserServiceTest {
     final var updatedUserWithToken = validateBody(resp).getUser();
     assertThat(castNonNull(updatedUserWithToken.getBio())).isEqualTo("bio");
     assertThat(castNonNull(updatedUserWithToken.getImage())).isEqualTo("image");
+    verify(profileCache).evict("example", "example");
+    verify(domainEventPublisher).publish(new ProfileUpdated(0));
   }
 
   @Test
@@ -0,0 +1,120 @@
+package io.realworld.backend.infrastructure.favourite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.realworld.backend.domain.event.DomainEvent.Favourited;
+import io.realworld.backend.domain.event.DomainEvent.Unfavourited;
+import io.realworld.backend.domain.service.DomainEventPublisher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class WriteBehindFavouriteBufferTest {
+  @TempDir Path journalDir;
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+  private final DomainEventPublisher domainEventPublisher = mock(DomainEventPublisher.class);
+  private final List<WriteBehindFavouriteBuffer> buffers = new ArrayList<>();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    final var query = mock(Query.class);
+    given(query.setParameter(anyString(), any())).willReturn(query);
+    given(entityManager.createQuery(anyString())).willReturn(query);
+    willAnswer(
+            invocation -> {
+              ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+              return null;
+            })
+        .given(transactionTemplate)
+        .executeWithoutResult(any());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    buffers.forEach(WriteBehindFavouriteBuffer::stop);
+  }
+
+  @Test
+  public void testPendingIntentIsVisibleAndFlushed() throws Exception {
+    final var buffer = start();
+    buffer.record(1, 2, true, () -> false);
+    assertThat(buffer.pendingState(1, 2)).contains(true);
+    assertThat(buffer.pendingCountDelta(2)).isEqualTo(1);
+
+    buffer.flush();
+    verify(entityManager).createQuery(startsWith("INSERT INTO ArticleFavourite"));
+    verify(domainEventPublisher).publish(new Favourited(1, 2));
+    assertThat(buffer.pendingState(1, 2)).isEmpty();
+    assertThat(buffer.pendingCountDelta(2)).isZero();
+  }
+
+  @Test
+  public void testTogglesCancelOut() throws Exception {
+    final var buffer = start();
+    assertThat(buffer.record(1, 2, true, () -> false)).isTrue();
+    assertThat(buffer.record(1, 2, false, () -> false)).isTrue();
+    assertThat(buffer.pendingState(1, 2)).contains(false);
+    assertThat(buffer.pendingCountDelta(2)).isZero();
+
+    buffer.flush();
+    verify(entityManager, never()).createQuery(anyString());
+    verify(domainEventPublisher, never()).publish(any());
+  }
+
+  @Test
+  public void testRepeatedIntentIsNotAChange() throws Exception {
+    final var buffer = start();
+    assertThat(buffer.record(1, 2, true, () -> true)).isFalse();
+    assertThat(buffer.record(1, 3, true, () -> false)).isTrue();
+    assertThat(buffer.record(1, 3, true, () -> false)).isFalse();
+    assertThat(buffer.pendingCountDelta(3)).isEqualTo(1);
+  }
+
+  @Test
+  public void testUnflushedIntentsAreReplayedOnStart() throws Exception {
+    final var crashed = create();
+    crashed.start();
+    crashed.record(1, 2, false, () -> true);
+    verify(entityManager, never()).createQuery(anyString());
+
+    start();
+    verify(entityManager).createQuery(startsWith("DELETE FROM ArticleFavourite"));
+    verify(domainEventPublisher).publish(new Unfavourited(1, 2));
+  }
+
+  private WriteBehindFavouriteBuffer create() {
+    return new WriteBehindFavouriteBuffer(
+        entityManager,
+        transactionTemplate,
+        domainEventPublisher,
+        new FavouriteJournal(journalDir),
+        Duration.ofHours(1));
+  }
+
+  private WriteBehindFavouriteBuffer start() {
+    final var buffer = create();
+    buffer.start();
+    buffers.add(buffer);
+    return buffer;
+  }
+}
@@ -0,0 +1,160 @@
+package io.realworld.backend.infrastructure.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.infrastructure.limiter.ConcurrencyLimitFilter.Endpoint;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ConcurrencyLimitFilterTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testRequestsOverTheLimitAreRejectedWithRetryAfter() throws Exception {
+    final var filter = filter(2, 8);
+    final var entered = new CountDownLatch(2);
+    final var first = hold(filter, request("GET", "/api/articles"), entered);
+    final var second = hold(filter, request("GET", "/api/articles"), entered);
+    assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+    final var overLimit = new MockHttpServletResponse();
+    filter.doFilter(request("GET", "/api/profiles/x"), overLimit, (req, res) -> {});
+    final var write = new MockHttpServletResponse();
+    filter.doFilter(request("PUT", "/api/user"), write, (req, res) -> {});
+
+    assertThat(overLimit.getStatus()).isEqualTo(503);
+    assertThat(overLimit.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(write.getStatus()).isEqualTo(200);
+    assertThat(rejected("read")).isEqualTo(1);
+    assertThat(inflight("read")).isEqualTo(2);
+    release.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    assertThat(inflight("read")).isZero();
+  }
+
+  @Test
+  public void testHealthChecksBypassAndLoginsYieldToSaturatedReads() throws Exception {
+    final var filter = filter(1, 8);
+    final var entered = new CountDownLatch(1);
+    final var read = hold(filter, request("GET", "/api/articles"), entered);
+    assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+    final var health = new MockHttpServletResponse();
+    filter.doFilter(request("GET", "/actuator/health/liveness"), health, (req, res) -> {});
+    final var tags = new MockHttpServletResponse();
+    filter.doFilter(request("GET", "/api/tags"), tags, (req, res) -> {});
+    final var notHealth = new MockHttpServletResponse();
+    filter.doFilter(request("GET", "/api/tagsearch"), notHealth, (req, res) -> {});
+    final var login = new MockHttpServletResponse();
+    filter.doFilter(request("POST", "/api/users/login"), login, (req, res) -> {});
+
+    assertThat(health.getStatus()).isEqualTo(200);
+    assertThat(tags.getStatus()).isEqualTo(200);
+    assertThat(notHealth.getStatus()).isEqualTo(503);
+    assertThat(login.getStatus()).isEqualTo(503);
+    assertThat(rejected("auth")).isEqualTo(1);
+    release.countDown();
+    read.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testRequestsAreClassified() {
+    assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/profiles/x")))
+        .isEqualTo(Endpoint.READ);
+    assertThat(ConcurrencyLimitFilter.classify(request("POST", "/api/articles/batch")))
+        .isEqualTo(Endpoint.WRITE);
+    assertThat(ConcurrencyLimitFilter.classify(request("POST", "/api/users")))
+        .isEqualTo(Endpoint.AUTH);
+    assertThat(ConcurrencyLimitFilter.classify(request("POST", "/api/users/login")))
+        .isEqualTo(Endpoint.AUTH);
+  }
+
+  @Test
+  public void testLimitGrowsAtSteadyLatencyAndShrinksWhenRequestsQueue() {
+    final var limit = new GradientLimit(10, 2, 100);
+    for (int i = 0; i < 200; i++) {
+      limit.release(limit.limit(), 1_000_000);
+    }
+    final var grown = limit.limit();
+    assertThat(grown).isGreaterThan(10);
+
+    for (int i = 0; i < 50; i++) {
+      limit.release(limit.limit(), 10_000_000);
+    }
+    assertThat(limit.limit()).isLessThan(grown / 2);
+    assertThat(limit.limit()).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  public void testLimitIsUnchangedWhileMostlyIdle() {
+    final var limit = new GradientLimit(10, 2, 100);
+    for (int i = 0; i < 100; i++) {
+      limit.release(1, i % 2 == 0 ? 1_000_000 : 50_000_000);
+    }
+    assertThat(limit.limit()).isEqualTo(10);
+  }
+
+  private ConcurrencyLimitFilter filter(int readLimit, int authLimit) {
+    return new ConcurrencyLimitFilter(
+        true,
+        List.of("/api/tags", "/actuator/health"),
+        Map.of(
+            Endpoint.READ, new GradientLimit(readLimit, 1, readLimit),
+            Endpoint.WRITE, new GradientLimit(4, 1, 4),
+            Endpoint.AUTH, new GradientLimit(authLimit, 1, authLimit)),
+        Duration.ofSeconds(1),
+        registry);
+  }
+
+  /** Sends {@code request} through {@code filter} on another thread and holds it in the chain. */
+  private Future<?> hold(
+      ConcurrencyLimitFilter filter, MockHttpServletRequest request, CountDownLatch entered) {
+    final FilterChain chain =
+        (req, res) -> {
+          entered.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    return executor.submit(
+        () -> {
+          filter.doFilter(request, new MockHttpServletResponse(), chain);
+          return null;
+        });
+  }
+
+  private double rejected(String endpoint) {
+    return registry.get("conduit.concurrency.rejected").tag("endpoint", endpoint).counter().count();
+  }
+
+  private double inflight(String endpoint) {
+    return registry.get("conduit.concurrency.inflight").tag("endpoint", endpoint).gauge().value();
+  }
+
+  private static MockHttpServletRequest request(String method, String path) {
+    return new MockHttpServletRequest(method, path);
+  }
+}
@@ -0,0 +1,135 @@
+package io.realworld.backend.infrastructure.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class TracingFilterTest {
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+  private static final String PARENT_ID = "00f067aa0ba902b7";
+
+  private final List<Span> exported = new CopyOnWriteArrayList<>();
+  private final TracingFilter filter = new TracingFilter(new Tracer(1.0, exported::add));
+
+  @Test
+  public void testRequestContinuesCallerTraceWithChildSpansAndSanitizedSql() throws Exception {
+    final var request = request("/api/articles/how-to-train-your-dragon");
+    request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+    request.addHeader("tracestate", "vendor=value");
+    final var response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        request,
+        response,
+        (req, res) -> {
+          try (var scope = Tracer.startSpan("ArticleRepository.findBySlug")) {
+            Tracer.recordSql("select a.id from Article a where a.slug='it''s' and a.id=42");
+          }
+          req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/articles/{slug}");
+        });
+
+    assertThat(exported).hasSize(2);
+    final var child = exported.get(0);
+    final var server = exported.get(1);
+    assertThat(server.getName()).isEqualTo("GET /api/articles/{slug}");
+    assertThat(server.getTraceId()).isEqualTo(TRACE_ID);
+    assertThat(server.getParentSpanId()).isEqualTo(PARENT_ID);
+    assertThat(server.getTraceState()).isEqualTo("vendor=value");
+    assertThat(server.getAttributes())
+        .containsEntry("http.route", "/api/articles/{slug}")
+        .containsEntry("http.response.status_code", 200L);
+    assertThat(child.getTraceId()).isEqualTo(TRACE_ID);
+    assertThat(child.getParentSpanId()).isEqualTo(server.getSpanId());
+    assertThat(child.getEvents())
+        .singleElement()
+        .extracting(e -> e.attributes().get("db.query.text"))
+        .isEqualTo("select a.id from Article a where a.slug=? and a.id=?");
+    assertThat(response.getHeader("traceresponse"))
+        .isEqualTo("00-" + TRACE_ID + "-" + server.getSpanId() + "-01");
+    assertThat(Tracer.currentSpan()).isNull();
+  }
+
+  @Test
+  public void testCallerDecisionNotToSampleIsKept() throws Exception {
+    final var request = request("/api/tags");
+    request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-00");
+    final var response = new MockHttpServletResponse();
+
+    filter.doFilter(
+        request,
+        response,
+        (req, res) -> {
+          assertThat(Tracer.currentSpan()).isNull();
+          assertThat(Tracer.startSpan("ignored")).isSameAs(Tracer.Scope.NOOP);
+        });
+
+    assertThat(exported).isEmpty();
+    assertThat(response.getHeader("traceresponse")).isNull();
+  }
+
+  @Test
+  public void testMalformedTraceParentStartsNewTrace() throws Exception {
+    final var request = request("/api/tags");
+    request.addHeader("traceparent", "00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01");
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {});
+
+    assertThat(exported).hasSize(1);
+    assertThat(exported.get(0).getTraceId()).hasSize(32).isNotEqualTo(TRACE_ID.toLowerCase());
+    assertThat(exported.get(0).getParentSpanId()).isNull();
+  }
+
+  @Test
+  public void testTraceParentParsing() {
+    assertThat(TraceParent.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-01"))
+        .isEqualTo(new TraceParent(TRACE_ID, PARENT_ID, true));
+    assertThat(TraceParent.parse("01-" + TRACE_ID + "-" + PARENT_ID + "-03-future"))
+        .isEqualTo(new TraceParent(TRACE_ID, PARENT_ID, true));
+    assertThat(TraceParent.parse("ff-" + TRACE_ID + "-" + PARENT_ID + "-01")).isNull();
+    assertThat(TraceParent.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-01-extra")).isNull();
+    assertThat(TraceParent.parse("00-" + "0".repeat(32) + "-" + PARENT_ID + "-01")).isNull();
+    assertThat(TraceParent.parse("00-" + TRACE_ID + "-" + "0".repeat(16) + "-01")).isNull();
+    assertThat(TraceParent.parse(null)).isNull();
+  }
+
+  @Test
+  public void testDisabledTracerLeavesRequestsUntouched() throws Exception {
+    final var disabled = new TracingFilter(Tracer.DISABLED);
+    final var response = new MockHttpServletResponse();
+
+    disabled.doFilter(
+        request("/api/tags"), response, (req, res) -> assertThat(Tracer.currentSpan()).isNull());
+
+    assertThat(response.getHeader("traceresponse")).isNull();
+  }
+
+  @Test
+  public void testSpansEncodeAsOtlpJson() throws Exception {
+    filter.doFilter(
+        request("/api/user"),
+        new MockHttpServletResponse(),
+        (req, res) -> {
+          Objects.requireNonNull(Tracer.currentSpan()).recordError(new IllegalStateException("boom"));
+        });
+
+    final var json = new OtlpJson("conduit").encode(exported);
+
+    assertThat(json)
+        .contains("\"service.name\"")
+        .contains("\"traceId\":\"" + exported.get(0).getTraceId() + "\"")
+        .contains("\"kind\":2")
+        .contains("\"intValue\":\"200\"")
+        .contains("\"code\":2")
+        .contains("\"message\":\"boom\"");
+  }
+
+  private static MockHttpServletRequest request(String path) {
+    return new MockHttpServletRequest("GET", path);
+  }
+}
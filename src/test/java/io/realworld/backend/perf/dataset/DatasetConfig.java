@@ -0,0 +1,76 @@
+package io.realworld.backend.perf.dataset;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dataset generator settings, read from {@code --key=value} arguments.
+ *
+ * <pre>
+ *   --jdbc-url=jdbc:h2:file:./target/conduit;AUTO_SERVER=TRUE   target database
+ *   --db-user=sa --db-password=                                  credentials
+ *   --users=200000 --articles=1000000 --comments=2000000         entity counts
+ *   --follows-per-user=15 --favourites-per-user=15               mean out-degrees (power law)
+ *   --tags=500                                                   size of the tag vocabulary
+ *   --seed=42 --threads=8 --batch-size=5000                      determinism and parallelism
+ *   --copy=true                                                  use COPY when target is Postgres
+ *   --truncate=false                                             empty the tables first
+ *   --user-prefix=load --password=password                       credentials of generated users
+ * </pre>
+ *
+ * <p>The defaults produce roughly 10M rows. Usernames and emails follow the {@code LoadGenerator}
+ * convention ({@code load42}, {@code load42@load.example}) so it can log in as generated users.
+ */
+public record DatasetConfig(
+    String jdbcUrl,
+    String dbUser,
+    String dbPassword,
+    int users,
+    int articles,
+    int comments,
+    double followsPerUser,
+    double favouritesPerUser,
+    int tags,
+    long seed,
+    int threads,
+    int batchSize,
+    boolean copy,
+    boolean truncate,
+    String userPrefix,
+    String password) {
+
+  /** Parses command line arguments, falling back to defaults for missing keys. */
+  public static DatasetConfig parse(String... args) {
+    final Map<String, String> values = new HashMap<>();
+    for (final var arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+      }
+      final var eq = arg.indexOf('=');
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    return new DatasetConfig(
+        values.getOrDefault("jdbc-url", "jdbc:h2:file:./target/conduit;AUTO_SERVER=TRUE"),
+        values.getOrDefault("db-user", "sa"),
+        values.getOrDefault("db-password", ""),
+        Integer.parseInt(values.getOrDefault("users", "200000")),
+        Integer.parseInt(values.getOrDefault("articles", "1000000")),
+        Integer.parseInt(values.getOrDefault("comments", "2000000")),
+        Double.parseDouble(values.getOrDefault("follows-per-user", "15")),
+        Double.parseDouble(values.getOrDefault("favourites-per-user", "15")),
+        Integer.parseInt(values.getOrDefault("tags", "500")),
+        Long.parseLong(values.getOrDefault("seed", "42")),
+        Integer.parseInt(
+            values.getOrDefault(
+                "threads", Integer.toString(Runtime.getRuntime().availableProcessors()))),
+        Integer.parseInt(values.getOrDefault("batch-size", "5000")),
+        Boolean.parseBoolean(values.getOrDefault("copy", "true")),
+        Boolean.parseBoolean(values.getOrDefault("truncate", "false")),
+        values.getOrDefault("user-prefix", "load"),
+        values.getOrDefault("password", "password"));
+  }
+
+  public boolean isPostgres() {
+    return jdbcUrl.startsWith("jdbc:postgresql:");
+  }
+}
@@ -0,0 +1,441 @@
+package io.realworld.backend.perf.dataset;
+
+import io.realworld.backend.perf.load.ZipfianGenerator;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Writes a synthetic, power-law shaped Conduit dataset straight into the database.
+ *
+ * <ul>
+ *   <li>article authorship, tag usage, follow in-degree (celebrities) and favourites (hot
+ *       articles) are Zipf distributed; follow and favourite out-degrees are Pareto distributed;
+ *   <li>every entity range is split into fixed chunks seeded from {@code seed} and the chunk
+ *       index, so the output does not depend on the number of threads or their scheduling;
+ *   <li>rows go through JDBC batches, or Postgres {@code COPY} when available;
+ *   <li>article summaries are written last with one {@code INSERT ... SELECT} per chunk, so the
+ *       read model matches the generated articles.
+ * </ul>
+ *
+ * <p>The schema must already exist: start the application once against the same database (dev
+ * profile with {@code DB_URL=jdbc:h2:file:./target/conduit;AUTO_SERVER=TRUE} and {@code
+ * JPA_DDL_AUTO=update}, or a migrated Postgres). Run with {@code make dataset}.
+ */
+public final class DatasetGenerator {
+  private static final int CHUNK = 10_000;
+  private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+  private static final long SPAN_SECONDS = ChronoUnit.DAYS.getDuration().getSeconds() * 730;
+
+  // Logical names, as the entities declare them; see physical()
+  private static final String[] USER_COLUMNS = {
+    "id", "email", "username", "passwordHash", "bio", "image"
+  };
+  private static final String[] ARTICLE_COLUMNS = {
+    "id", "slug", "title", "description", "body", "author_id", "createdAt", "updatedAt"
+  };
+  private static final String[] TAG_COLUMNS = {"id", "name"};
+  private static final String[] ARTICLE_TAG_COLUMNS = {"article_id", "tag_id"};
+  private static final String[] COMMENT_COLUMNS = {
+    "id", "article_id", "author_id", "body", "createdAt", "updatedAt"
+  };
+  private static final String[] FOLLOW_COLUMNS = {"followerId", "followeeId"};
+  private static final String[] FAVOURITE_COLUMNS = {"userId", "articleId"};
+
+  /**
+   * Summarizes the articles with ids in a range as the article-summary projection would, so list
+   * endpoints see generated articles without waiting for a backfill. Tags are ordered like {@code
+   * Article.getTagNames()}.
+   */
+  private static final String SUMMARY_INSERT =
+      "INSERT INTO ArticleSummary (articleId, slug, title, description, body, tags, authorId, "
+          + "authorUsername, authorBio, authorImage, favouritesCount, createdAt, updatedAt) "
+          + "SELECT a.id, a.slug, a.title, a.description, a.body, "
+          + "ARRAY(SELECT t.name FROM article_tag x JOIN Tag t ON t.id = x.tag_id "
+          + "WHERE x.article_id = a.id ORDER BY t.name%s), "
+          + "u.id, u.username, u.bio, u.image, "
+          + "(SELECT count(*) FROM ArticleFavourite f WHERE f.articleId = a.id), "
+          + "a.createdAt, a.updatedAt "
+          + "FROM Article a JOIN users u ON u.id = a.author_id WHERE a.id BETWEEN ? AND ?";
+
+  private static final Pattern CAMEL_CASE = Pattern.compile("([a-z0-9])([A-Z])");
+
+  private static final String[] WORDS = {
+    "spring", "domain", "aggregate", "article", "latency", "query", "index", "cache", "follow",
+    "favourite", "tag", "feed", "profile", "comment", "throughput", "postgres", "java", "batch"
+  };
+
+  private final DatasetConfig config;
+  private final BlockingQueue<Connection> connections;
+  private final AtomicLong rows = new AtomicLong();
+  private final ZipfianGenerator authorPopularity;
+  private final ZipfianGenerator userPopularity;
+  private final ZipfianGenerator articlePopularity;
+  private final ZipfianGenerator tagPopularity;
+  private final String passwordHash;
+
+  DatasetGenerator(DatasetConfig config) throws SQLException {
+    this.config = config;
+    this.connections = new ArrayBlockingQueue<>(config.threads());
+    for (int i = 0; i < config.threads(); i++) {
+      final var connection =
+          DriverManager.getConnection(config.jdbcUrl(), config.dbUser(), config.dbPassword());
+      connection.setAutoCommit(false);
+      connections.add(connection);
+    }
+    this.authorPopularity = new ZipfianGenerator(config.users(), 0.8);
+    this.userPopularity = new ZipfianGenerator(config.users(), 1.0);
+    this.articlePopularity = new ZipfianGenerator(config.articles(), 1.1);
+    this.tagPopularity = new ZipfianGenerator(config.tags(), 1.0);
+    this.passwordHash = new BCryptPasswordEncoder().encode(config.password());
+  }
+
+  public static void main(String[] args) throws Exception {
+    final var generator = new DatasetGenerator(DatasetConfig.parse(args));
+    try {
+      generator.generate();
+    } finally {
+      generator.closeConnections();
+    }
+  }
+
+  /** Generates every table in foreign key order. */
+  void generate() throws Exception {
+    final var start = System.nanoTime();
+    try (ExecutorService executor = Executors.newFixedThreadPool(config.threads())) {
+      if (config.truncate()) {
+        truncate();
+      }
+      phase(executor, "users", config.users(), this::users);
+      phase(executor, "tags", config.tags(), this::tags);
+      phase(executor, "articles", config.articles(), this::articles);
+      phase(executor, "comments", config.comments(), this::comments);
+      phase(executor, "follows", config.users(), this::follows);
+      phase(executor, "favourites", config.users(), this::favourites);
+      phase(executor, "summaries", config.articles(), this::summaries);
+    }
+    advanceSequences();
+    final var seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf(
+        Locale.ROOT,
+        "Done: %,d rows in %.1f s (%,.0f rows/s)%n",
+        rows.get(),
+        seconds,
+        rows.get() / seconds);
+  }
+
+  @FunctionalInterface
+  private interface ChunkTask {
+    long write(Connection connection, SplittableRandom random, int from, int to)
+        throws SQLException;
+  }
+
+  private void phase(ExecutorService executor, String name, int count, ChunkTask task)
+      throws Exception {
+    final var start = System.nanoTime();
+    final var before = rows.get();
+    final var phaseSeed = config.seed() * 0x9E3779B97F4A7C15L + name.hashCode();
+    final List<Future<?>> futures = new ArrayList<>();
+    for (int from = 0; from < count; from += CHUNK) {
+      final var chunkFrom = from;
+      final var chunkTo = Math.min(count, from + CHUNK);
+      final var random = new SplittableRandom(phaseSeed + chunkFrom);
+      futures.add(
+          executor.submit(
+              () -> {
+                final var connection = connections.take();
+                try {
+                  rows.addAndGet(task.write(connection, random, chunkFrom, chunkTo));
+                  connection.commit();
+                } catch (SQLException e) {
+                  connection.rollback();
+                  throw e;
+                } finally {
+                  connections.put(connection);
+                }
+                return null;
+              }));
+    }
+    for (final var f : futures) {
+      f.get();
+    }
+    final var seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf(
+        Locale.ROOT,
+        "%-10s %,12d rows in %6.1f s (%,.0f rows/s)%n",
+        name,
+        rows.get() - before,
+        seconds,
+        (rows.get() - before) / seconds);
+  }
+
+  private long users(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    try (var out = writer(connection, "users", USER_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        final var username = config.userPrefix() + i;
+        final var bio = random.nextInt(4) == 0 ? null : "Bio of " + username;
+        final var image =
+            random.nextInt(3) == 0 ? null : "https://images.example/u/" + (i % 1000) + ".png";
+        out.row(userId(i), username + "@load.example", username, passwordHash, bio, image);
+      }
+    }
+    return to - from;
+  }
+
+  private long tags(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    try (var out = writer(connection, "Tag", TAG_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        out.row(tagId(i), "tag" + i);
+      }
+    }
+    return to - from;
+  }
+
+  private long articles(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    // Article tags reference articles, so they are written once the article batches are flushed.
+    final var tagRows = new ArrayList<long[]>();
+    try (var out = writer(connection, "Article", ARTICLE_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        final var id = articleId(i);
+        final var created = timestamp(random);
+        final var updated =
+            random.nextInt(5) == 0 ? created.plusSeconds(random.nextLong(86_400 * 30)) : created;
+        final var author = userId(scramble(authorPopularity.next(random), config.users()));
+        final var title = "Dataset article " + i;
+        out.row(
+            id,
+            "dataset-article-" + i,
+            title,
+            "Description of " + title,
+            body(random, 20 + random.nextInt(200)),
+            author,
+            created,
+            updated);
+        final var tagCount = 1 + random.nextInt(5);
+        final var chosen = new HashSet<Integer>();
+        for (int t = 0; t < tagCount; t++) {
+          final var tag = tagPopularity.next(random);
+          if (chosen.add(tag)) {
+            tagRows.add(new long[] {id, tag});
+          }
+        }
+      }
+    }
+    try (var tags = writer(connection, "article_tag", ARTICLE_TAG_COLUMNS)) {
+      for (final var tagRow : tagRows) {
+        tags.row(tagRow[0], tagId((int) tagRow[1]));
+      }
+    }
+    return (to - from) + tagRows.size();
+  }
+
+  private long comments(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    try (var out = writer(connection, "Comment", COMMENT_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        final var created = timestamp(random);
+        out.row(
+            (long) i + 1,
+            articleId(scramble(articlePopularity.next(random), config.articles())),
+            userId(random.nextInt(config.users())),
+            body(random, 5 + random.nextInt(40)),
+            created,
+            created);
+      }
+    }
+    return to - from;
+  }
+
+  private long follows(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    long written = 0;
+    try (var out = writer(connection, "FollowRelation", FOLLOW_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        final var degree = pareto(random, config.followsPerUser(), config.users() - 1);
+        final var followees = new HashSet<Integer>();
+        for (int k = 0; k < degree * 2 && followees.size() < degree; k++) {
+          final var followee = scramble(userPopularity.next(random), config.users());
+          if (followee != i && followees.add(followee)) {
+            out.row(userId(i), userId(followee));
+            written++;
+          }
+        }
+      }
+    }
+    return written;
+  }
+
+  private long favourites(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    long written = 0;
+    try (var out = writer(connection, "ArticleFavourite", FAVOURITE_COLUMNS)) {
+      for (int i = from; i < to; i++) {
+        final var degree = pareto(random, config.favouritesPerUser(), config.articles());
+        final var favourites = new HashSet<Integer>();
+        for (int k = 0; k < degree * 2 && favourites.size() < degree; k++) {
+          final var article = scramble(articlePopularity.next(random), config.articles());
+          if (favourites.add(article)) {
+            out.row(userId(i), articleId(article));
+            written++;
+          }
+        }
+      }
+    }
+    return written;
+  }
+
+  private long summaries(Connection connection, SplittableRandom random, int from, int to)
+      throws SQLException {
+    final var sql =
+        physical(String.format(SUMMARY_INSERT, config.isPostgres() ? " COLLATE \"C\"" : ""));
+    try (var statement = connection.prepareStatement(sql)) {
+      statement.setLong(1, articleId(from));
+      statement.setLong(2, articleId(to - 1));
+      return statement.executeUpdate();
+    }
+  }
+
+  private RowWriter writer(Connection connection, String table, String[] columns)
+      throws SQLException {
+    final var physicalColumns = new String[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      physicalColumns[i] = physical(columns[i]);
+    }
+    return RowWriter.open(
+        connection, physical(table), physicalColumns, config.batchSize(), config.copy());
+  }
+
+  /**
+   * The physical name of a table, column or statement. Migrated Postgres schemas keep the logical
+   * names ({@code PhysicalNamingStrategyStandardImpl}, folded to lower case as they are unquoted);
+   * the schema Hibernate creates on H2 uses Spring's default strategy, which turns camel case into
+   * snake case ({@code passwordHash} becomes {@code password_hash}).
+   */
+  private String physical(String names) {
+    if (config.isPostgres()) {
+      return names;
+    }
+    return CAMEL_CASE.matcher(names).replaceAll("$1_$2").toLowerCase(Locale.ROOT);
+  }
+
+  private void truncate() throws Exception {
+    final var connection = connections.take();
+    try (var statement = connection.createStatement()) {
+      for (final var table :
+          List.of(
+              "ArticleSummary",
+              "ArticleFavourite",
+              "FollowRelation",
+              "Comment",
+              "article_tag",
+              "Article",
+              "Tag",
+              "users")) {
+        statement.executeUpdate("DELETE FROM " + physical(table));
+      }
+      connection.commit();
+    } finally {
+      connections.put(connection);
+    }
+  }
+
+  /**
+   * Moves the Hibernate id sequences past the generated ids, so the application can keep inserting
+   * after the import. Sequence names are looked up rather than assumed; the tag id is an identity
+   * column and is restarted directly.
+   */
+  private void advanceSequences() throws Exception {
+    final var connection = connections.take();
+    try (var statement = connection.createStatement()) {
+      final var sequences = new ArrayList<String>();
+      try (var rs =
+          statement.executeQuery(
+              "SELECT sequence_name FROM information_schema.sequences "
+                  + "WHERE lower(sequence_name) IN "
+                  + "('user_seq', 'users_seq', 'article_seq', 'comment_seq')")) {
+        while (rs.next()) {
+          sequences.add(rs.getString(1));
+        }
+      }
+      for (final var sequence : sequences) {
+        final var lower = sequence.toLowerCase(Locale.ROOT);
+        final long max =
+            lower.startsWith("article")
+                ? config.articles()
+                : lower.startsWith("comment") ? config.comments() : config.users();
+        // Pooled optimizers hand out the block below the sequence value, so leave a margin.
+        statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (max + 100));
+      }
+      statement.execute(
+          physical("ALTER TABLE Tag ALTER COLUMN id RESTART WITH ") + tagId(config.tags()));
+      connection.commit();
+    } finally {
+      connections.put(connection);
+    }
+  }
+
+  void closeConnections() throws SQLException {
+    for (final var connection : connections) {
+      connection.close();
+    }
+  }
+
+  private static long userId(int index) {
+    return index + 1L;
+  }
+
+  private static long articleId(int index) {
+    return index + 1L;
+  }
+
+  private static long tagId(int index) {
+    return index + 1L;
+  }
+
+  /** Spreads popularity ranks over ids, so the hottest rows are not all the oldest ones. */
+  private static int scramble(int rank, int n) {
+    return (int) ((rank * 0x9E3779B1L) % n);
+  }
+
+  private static int pareto(SplittableRandom random, double mean, int max) {
+    final var alpha = 1.5;
+    final var scale = mean * (alpha - 1) / alpha;
+    final var value = scale / Math.pow(1.0 - random.nextDouble(), 1.0 / alpha);
+    return (int) Math.min(max, Math.floor(value));
+  }
+
+  private static OffsetDateTime timestamp(SplittableRandom random) {
+    return EPOCH.plusSeconds(random.nextLong(SPAN_SECONDS)).atOffset(ZoneOffset.UTC);
+  }
+
+  private static String body(SplittableRandom random, int words) {
+    final var sb = new StringBuilder(words * 6);
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,122 @@
+package io.realworld.backend.perf.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import io.realworld.backend.rest.api.ArticleData;
+import io.realworld.backend.rest.api.MultipleArticlesResponseData;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Generates a small dataset into the schema the application created and reads it back through
+ * the services, so table and column names must match the entities and the article summaries must
+ * be filled. {@link PostgresDatasetGeneratorTest} runs the same checks against a migrated Postgres.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:dataset;DB_CLOSE_DELAY=-1",
+      "conduit.public-read-cache.enabled=false"
+    })
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DatasetGeneratorTest {
+  private static final int USERS = 50;
+  private static final int ARTICLES = 120;
+
+  private final ArticleService articleService;
+  private final ProfileService profileService;
+  private final DataSource dataSource;
+  private final Environment environment;
+
+  @Autowired
+  public DatasetGeneratorTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      DataSource dataSource,
+      Environment environment) {
+    this.articleService = articleService;
+    this.profileService = profileService;
+    this.dataSource = dataSource;
+    this.environment = environment;
+  }
+
+  @BeforeAll
+  public void generate() throws Exception {
+    final String url;
+    try (var connection = dataSource.getConnection()) {
+      url = connection.getMetaData().getURL();
+    }
+    final var generator =
+        new DatasetGenerator(
+            DatasetConfig.parse(
+                "--jdbc-url=" + url,
+                "--db-user=" + environment.getProperty("spring.datasource.username", "sa"),
+                "--db-password=" + environment.getProperty("spring.datasource.password", ""),
+                "--users=" + USERS,
+                "--articles=" + ARTICLES,
+                "--comments=200",
+                "--tags=10",
+                "--threads=2",
+                "--truncate=true"));
+    try {
+      generator.generate();
+    } finally {
+      generator.closeConnections();
+    }
+  }
+
+  @Test
+  public void generatedArticlesAreListedFromTheirSummaries() {
+    final var page = articles(null, null);
+
+    assertThat(page.getArticlesCount()).isEqualTo(ARTICLES);
+    assertThat(page.getArticles()).hasSize(20);
+    assertThat(page.getArticles())
+        .isSortedAccordingTo(Comparator.comparing(ArticleData::getCreatedAt).reversed());
+    for (final var article : page.getArticles()) {
+      assertThat(article.getTagList()).isNotEmpty().isSorted();
+      assertThat(article.getAuthor().getUsername()).startsWith("load");
+    }
+  }
+
+  @Test
+  public void tagAndAuthorFiltersFindGeneratedRows() throws SQLException {
+    final var tagged = articles("tag0", null);
+    final var byAuthor = articles(null, "load0");
+
+    assertThat(tagged.getArticlesCount()).isEqualTo(count("tag0"));
+    assertThat(tagged.getArticles()).allMatch(a -> a.getTagList().contains("tag0"));
+    assertThat(byAuthor.getArticles()).allMatch(a -> "load0".equals(a.getAuthor().getUsername()));
+    assertThat(profileService.getProfileByUsername("load0").getStatusCode().is2xxSuccessful())
+        .isTrue();
+  }
+
+  private MultipleArticlesResponseData articles(String tag, String author) {
+    return Objects.requireNonNull(articleService.getArticles(tag, author, null, 20, 0).getBody());
+  }
+
+  private int count(String tag) throws SQLException {
+    try (var connection = dataSource.getConnection();
+        var statement =
+            connection.prepareStatement(
+                "SELECT count(*) FROM article_tag x JOIN tag t ON t.id = x.tag_id "
+                    + "WHERE t.name = ?")) {
+      statement.setString(1, tag);
+      try (var rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package io.realworld.backend.perf.dataset;
+
+import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.ProfileService;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link DatasetGeneratorTest} against a PostgreSQL database migrated by Flyway, through {@code
+ * COPY}.
+ *
+ * <p>Opt-in like {@code QueryPlanTest}: {@code -Dconduit.test.postgres.url=jdbc:postgresql://...}
+ * with {@code conduit.test.postgres.username} and {@code .password} defaulting to {@code
+ * postgres}. Every table the generator writes is emptied first.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=${conduit.test.postgres.url:}",
+      "spring.datasource.username=${conduit.test.postgres.username:postgres}",
+      "spring.datasource.password=${conduit.test.postgres.password:postgres}",
+      "jwt.secret=caa3e0593e2b968efb6278433206c1a8e3c19a92d57868fd86100aa95cf38771",
+      "jwt.sessionTime=86400",
+      "conduit.public-read-cache.enabled=false"
+    })
+@ActiveProfiles("prod")
+@EnabledIfSystemProperty(named = "conduit.test.postgres.url", matches = ".+")
+public class PostgresDatasetGeneratorTest extends DatasetGeneratorTest {
+
+  @Autowired
+  public PostgresDatasetGeneratorTest(
+      ArticleService articleService,
+      ProfileService profileService,
+      DataSource dataSource,
+      Environment environment) {
+    super(articleService, profileService, dataSource, environment);
+  }
+}
@@ -0,0 +1,124 @@
+package io.realworld.backend.perf.dataset;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.postgresql.PGConnection;
+
+/** Appends rows to one table; implementations batch internally and flush on {@link #close()}. */
+interface RowWriter extends AutoCloseable {
+
+  /** Appends one row; values are in the column order given at creation. */
+  void row(Object... values) throws SQLException;
+
+  @Override
+  void close() throws SQLException;
+
+  /** Opens the fastest writer available for the connection. */
+  static RowWriter open(
+      Connection connection, String table, String[] columns, int batchSize, boolean copy)
+      throws SQLException {
+    if (copy && connection.isWrapperFor(PGConnection.class)) {
+      return new CopyWriter(connection, table, columns);
+    }
+    return new BatchWriter(connection, table, columns, batchSize);
+  }
+
+  /** Multi-row JDBC batches through a single prepared INSERT. */
+  final class BatchWriter implements RowWriter {
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private int pending = 0;
+
+    BatchWriter(Connection connection, String table, String[] columns, int batchSize)
+        throws SQLException {
+      final var placeholders = "?" + ",?".repeat(columns.length - 1);
+      this.statement =
+          connection.prepareStatement(
+              "INSERT INTO "
+                  + table
+                  + " ("
+                  + String.join(", ", columns)
+                  + ") VALUES ("
+                  + placeholders
+                  + ")");
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+      for (int i = 0; i < values.length; i++) {
+        statement.setObject(i + 1, values[i]);
+      }
+      statement.addBatch();
+      if (++pending >= batchSize) {
+        statement.executeBatch();
+        pending = 0;
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        if (pending > 0) {
+          statement.executeBatch();
+        }
+      } finally {
+        statement.close();
+      }
+    }
+  }
+
+  /** Postgres {@code COPY ... FROM STDIN} in CSV format, buffered per chunk. */
+  final class CopyWriter implements RowWriter {
+    private static final int FLUSH_CHARS = 8 * 1024 * 1024;
+
+    private final PGConnection connection;
+    private final String sql;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+
+    CopyWriter(Connection connection, String table, String[] columns) throws SQLException {
+      this.connection = connection.unwrap(PGConnection.class);
+      this.sql =
+          "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          buffer.append(',');
+        }
+        final var value = values[i];
+        if (value instanceof String s) {
+          buffer.append('"').append(s.replace("\"", "\"\"")).append('"');
+        } else if (value != null) {
+          buffer.append(value);
+        }
+      }
+      buffer.append('\n');
+      if (buffer.length() >= FLUSH_CHARS) {
+        flush();
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      flush();
+    }
+
+    private void flush() throws SQLException {
+      if (buffer.length() == 0) {
+        return;
+      }
+      try {
+        connection.getCopyAPI().copyIn(sql, new StringReader(buffer.toString()));
+      } catch (IOException e) {
+        throw new SQLException("COPY failed: " + sql, e);
+      }
+      buffer.setLength(0);
+    }
+  }
+}
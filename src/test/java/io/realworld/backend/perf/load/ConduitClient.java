@@ -0,0 +1,169 @@
+package io.realworld.backend.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/** Thin blocking client for the Conduit endpoints exercised by {@link LoadGenerator}. */
+public final class ConduitClient {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final HttpClient httpClient;
+  private final String baseUrl;
+  private final Duration timeout;
+
+  /** Creates a client for {@code baseUrl}, e.g. {@code http://localhost:8080/api}. */
+  public ConduitClient(String baseUrl, Duration timeout) {
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.timeout = timeout;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+  }
+
+  /** Result of one call: status code and parsed body (may be {@code null} for empty bodies). */
+  public record Response(int status, @Nullable JsonNode body) {
+    public boolean isSuccess() {
+      return status >= 200 && status < 300;
+    }
+  }
+
+  /** Registers a user and returns its token, or logs in if the user already exists. */
+  public String registerOrLogin(String username, String email, String password)
+      throws IOException, InterruptedException {
+    final var user = Map.of("username", username, "email", email, "password", password);
+    final var registered = send("POST", "/users", Map.of("user", user), null);
+    if (registered.isSuccess()) {
+      return token(registered);
+    }
+    return login(email, password);
+  }
+
+  /** Logs in and returns the token. */
+  public String login(String email, String password) throws IOException, InterruptedException {
+    final var credentials = Map.of("email", email, "password", password);
+    final var resp = send("POST", "/users/login", Map.of("user", credentials), null);
+    if (!resp.isSuccess()) {
+      throw new IOException("Login failed for " + email + ": HTTP " + resp.status());
+    }
+    return token(resp);
+  }
+
+  /** Creates an article and returns its slug. */
+  public String createArticle(String token, String title, List<String> tags)
+      throws IOException, InterruptedException {
+    final var article =
+        Map.of(
+            "title", title,
+            "description", "Description of " + title,
+            "body", "Body of " + title,
+            "tagList", tags);
+    final var resp = send("POST", "/articles", Map.of("article", article), token);
+    if (!resp.isSuccess() || resp.body() == null) {
+      throw new IOException("Article creation failed: HTTP " + resp.status());
+    }
+    return resp.body().path("article").path("slug").asText();
+  }
+
+  public Response listArticles(@Nullable String token, int limit, int offset)
+      throws IOException, InterruptedException {
+    return send("GET", "/articles?limit=" + limit + "&offset=" + offset, null, token);
+  }
+
+  public Response listArticlesByTag(String tag, int limit, int offset)
+      throws IOException, InterruptedException {
+    final var query = "?tag=" + encode(tag) + "&limit=" + limit + "&offset=" + offset;
+    return send("GET", "/articles" + query, null, null);
+  }
+
+  public Response feed(String token, int limit, int offset)
+      throws IOException, InterruptedException {
+    return send("GET", "/articles/feed?limit=" + limit + "&offset=" + offset, null, token);
+  }
+
+  public Response getArticle(@Nullable String token, String slug)
+      throws IOException, InterruptedException {
+    return send("GET", "/articles/" + encode(slug), null, token);
+  }
+
+  public Response favourite(String token, String slug, boolean favourite)
+      throws IOException, InterruptedException {
+    return send(
+        favourite ? "POST" : "DELETE", "/articles/" + encode(slug) + "/favorite", null, token);
+  }
+
+  public Response follow(String token, String username, boolean follow)
+      throws IOException, InterruptedException {
+    return send(
+        follow ? "POST" : "DELETE", "/profiles/" + encode(username) + "/follow", null, token);
+  }
+
+  public Response comments(@Nullable String token, String slug)
+      throws IOException, InterruptedException {
+    return send("GET", "/articles/" + encode(slug) + "/comments", null, token);
+  }
+
+  public Response addComment(String token, String slug, String body)
+      throws IOException, InterruptedException {
+    return send(
+        "POST",
+        "/articles/" + encode(slug) + "/comments",
+        Map.of("comment", Map.of("body", body)),
+        token);
+  }
+
+  public Response profile(@Nullable String token, String username)
+      throws IOException, InterruptedException {
+    return send("GET", "/profiles/" + encode(username), null, token);
+  }
+
+  public Response tags() throws IOException, InterruptedException {
+    return send("GET", "/tags", null, null);
+  }
+
+  private Response send(String method, String path, @Nullable Object body, @Nullable String token)
+      throws IOException, InterruptedException {
+    final var builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Accept", "application/json");
+    if (token != null) {
+      builder.header("Authorization", "Token " + token);
+    }
+    if (body != null) {
+      builder
+          .header("Content-Type", "application/json")
+          .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+    } else {
+      builder.method(method, HttpRequest.BodyPublishers.noBody());
+    }
+    final var resp = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    final var bytes = resp.body();
+    final JsonNode json = bytes.length == 0 ? null : MAPPER.readTree(bytes);
+    return new Response(resp.statusCode(), json);
+  }
+
+  private static String token(Response resp) throws IOException {
+    final var body = resp.body();
+    if (body == null) {
+      throw new IOException("Missing user body");
+    }
+    return body.path("user").path("token").asText();
+  }
+
+  private static String encode(String segment) {
+    return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+  }
+}
@@ -0,0 +1,117 @@
+package io.realworld.backend.perf.load;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-operation HDR latency histograms plus success/error counters.
+ *
+ * <p>Latencies are recorded in microseconds from the <em>intended</em> start time of a request,
+ * so queueing inside the generator is charged to the system under test (no coordinated omission).
+ */
+public final class LatencyReport {
+  private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+  private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+  private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+  private final LongAdder dropped = new LongAdder();
+
+  /** Creates an empty report. */
+  public LatencyReport() {
+    for (final var op : Operation.values()) {
+      recorders.put(op, new Recorder(MAX_TRACKABLE_MICROS, 3));
+      totals.put(op, new Histogram(MAX_TRACKABLE_MICROS, 3));
+      errors.put(op, new LongAdder());
+    }
+  }
+
+  /** Records a completed call; thread safe. */
+  public void record(Operation op, long latencyNanos, boolean success) {
+    final var micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS);
+    recorders.get(op).recordValue(Math.max(micros, 1));
+    if (!success) {
+      errors.get(op).increment();
+    }
+  }
+
+  /** Counts an arrival that was not sent because the in-flight limit was reached. */
+  public void drop() {
+    dropped.increment();
+  }
+
+  /** Prints the interval since the previous call and folds it into the run totals. */
+  public synchronized void printInterval(PrintStream out, double intervalSeconds) {
+    out.printf(
+        "%n%-44s %9s %9s %9s %9s %9s%n",
+        "interval",
+        "req/s",
+        "p50 ms",
+        "p99 ms",
+        "max ms",
+        "errors");
+    for (final var op : Operation.values()) {
+      final var interval = recorders.get(op).getIntervalHistogram();
+      totals.get(op).add(interval);
+      if (interval.getTotalCount() == 0) {
+        continue;
+      }
+      out.printf(
+          "%-44s %9.1f %9.2f %9.2f %9.2f %9d%n",
+          op.getEndpoint(),
+          interval.getTotalCount() / intervalSeconds,
+          interval.getValueAtPercentile(50) / 1000.0,
+          interval.getValueAtPercentile(99) / 1000.0,
+          interval.getMaxValue() / 1000.0,
+          errors.get(op).sum());
+    }
+  }
+
+  /** Prints the whole-run summary. */
+  public synchronized void printSummary(PrintStream out, double runSeconds) {
+    printInterval(new PrintStream(PrintStream.nullOutputStream()), runSeconds);
+    out.printf(
+        "%n%-44s %9s %8s %8s %8s %8s %8s %8s %7s%n",
+        "summary",
+        "req/s",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms",
+        "count",
+        "errors");
+    final var all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+    for (final var op : Operation.values()) {
+      final var h = totals.get(op);
+      if (h.getTotalCount() == 0) {
+        continue;
+      }
+      all.add(h);
+      printRow(out, op.getEndpoint(), h, runSeconds, errors.get(op).sum());
+    }
+    final var totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+    printRow(out, "all", all, runSeconds, totalErrors);
+    out.printf("dropped arrivals (in-flight limit reached): %d%n", dropped.sum());
+  }
+
+  private static void printRow(
+      PrintStream out, String name, Histogram h, double seconds, long errorCount) {
+    out.printf(
+        "%-44s %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8d %7d%n",
+        name,
+        h.getTotalCount() / seconds,
+        h.getValueAtPercentile(50) / 1000.0,
+        h.getValueAtPercentile(90) / 1000.0,
+        h.getValueAtPercentile(99) / 1000.0,
+        h.getValueAtPercentile(99.9) / 1000.0,
+        h.getMaxValue() / 1000.0,
+        h.getTotalCount(),
+        errorCount);
+  }
+}
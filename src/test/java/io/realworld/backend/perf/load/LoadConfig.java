@@ -0,0 +1,81 @@
+package io.realworld.backend.perf.load;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load generator settings, read from {@code --key=value} arguments.
+ *
+ * <pre>
+ *   --url=http://localhost:8080/api   base URL of the running instance
+ *   --rate=200                        target arrivals per second (open model)
+ *   --duration=60s                    measured run length
+ *   --warmup=10s                      unmeasured warm-up at the same rate
+ *   --mix=read-heavy                  preset or op:weight list, see {@link WorkloadMix}
+ *   --users=50                        users registered (or logged in) during setup
+ *   --articles=500                    articles created during setup
+ *   --zipf=1.1                        skew of article popularity (0 = uniform)
+ *   --max-in-flight=2000              arrivals beyond this many outstanding calls are dropped
+ *   --poisson=true                    exponential inter-arrival times instead of fixed spacing
+ *   --seed=42                         random seed for setup and arrivals
+ *   --user-prefix=load                prefix of generated usernames/emails
+ *   --password=password               password of generated users
+ *   --report-interval=5s              how often interval histograms are printed
+ * </pre>
+ */
+public record LoadConfig(
+    String url,
+    double rate,
+    Duration duration,
+    Duration warmup,
+    WorkloadMix mix,
+    int users,
+    int articles,
+    double zipf,
+    int maxInFlight,
+    boolean poisson,
+    long seed,
+    String userPrefix,
+    String password,
+    Duration reportInterval) {
+
+  /** Parses command line arguments, falling back to defaults for missing keys. */
+  public static LoadConfig parse(String... args) {
+    final Map<String, String> values = new HashMap<>();
+    for (final var arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+      }
+      final var eq = arg.indexOf('=');
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    return new LoadConfig(
+        values.getOrDefault("url", "http://localhost:8080/api"),
+        Double.parseDouble(values.getOrDefault("rate", "200")),
+        duration(values.getOrDefault("duration", "60s")),
+        duration(values.getOrDefault("warmup", "10s")),
+        WorkloadMix.parse(values.getOrDefault("mix", "read-heavy")),
+        Integer.parseInt(values.getOrDefault("users", "50")),
+        Integer.parseInt(values.getOrDefault("articles", "500")),
+        Double.parseDouble(values.getOrDefault("zipf", "1.1")),
+        Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+        Boolean.parseBoolean(values.getOrDefault("poisson", "true")),
+        Long.parseLong(values.getOrDefault("seed", "42")),
+        values.getOrDefault("user-prefix", "load"),
+        values.getOrDefault("password", "password"),
+        duration(values.getOrDefault("report-interval", "5s")));
+  }
+
+  /** Parses {@code 500ms}, {@code 30s} or {@code 2m}. */
+  public static Duration duration(String value) {
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    } else if (value.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+    } else if (value.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+    return Duration.ofSeconds(Long.parseLong(value));
+  }
+}
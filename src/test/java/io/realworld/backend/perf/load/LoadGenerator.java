@@ -0,0 +1,222 @@
+package io.realworld.backend.perf.load;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for a locally running Conduit instance.
+ *
+ * <p>Requests arrive at a fixed (or Poisson) rate independent of how fast the server answers, each
+ * one is executed on its own virtual thread, and its latency is measured from the moment it was
+ * scheduled to start. The setup phase registers users, creates articles and a follow graph through
+ * the public API, so it works against an empty dev (H2) instance or a local Postgres.
+ *
+ * <p>Run with {@code make load-test} or {@code ./mvnw -Pperf test-compile exec:java
+ * -Dexec.mainClass=io.realworld.backend.perf.load.LoadGenerator -Dexec.args="--rate=300"}.
+ */
+public final class LoadGenerator {
+  private static final List<String> TAGS =
+      List.of(
+          "java", "spring", "ddd", "jpa", "postgres", "h2", "performance", "testing", "security",
+          "docker", "kotlin", "react", "angular", "devops", "cloud", "design", "architecture",
+          "career", "rust", "go");
+
+  private final LoadConfig config;
+  private final ConduitClient client;
+  private final List<String> tokens = new ArrayList<>();
+  private final List<String> usernames = new ArrayList<>();
+  private final List<String> slugs = new ArrayList<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger commentCounter = new AtomicInteger();
+  private ZipfianGenerator articlePopularity = new ZipfianGenerator(1, 0);
+
+  LoadGenerator(LoadConfig config) {
+    this.config = config;
+    this.client = new ConduitClient(config.url(), Duration.ofSeconds(30));
+  }
+
+  public static void main(String[] args) throws Exception {
+    final var config = LoadConfig.parse(args);
+    final var generator = new LoadGenerator(config);
+    generator.setUp();
+    generator.run();
+  }
+
+  /** Creates users, articles and follow relations through the API. */
+  void setUp() throws Exception {
+    System.out.printf(
+        "Setting up %d users and %d articles against %s%n",
+        config.users(), config.articles(), config.url());
+    final var random = new Random(config.seed());
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final List<Future<String>> userTokens = new ArrayList<>();
+      for (int i = 0; i < config.users(); i++) {
+        final var username = config.userPrefix() + i;
+        usernames.add(username);
+        userTokens.add(
+            executor.submit(
+                () ->
+                    client.registerOrLogin(
+                        username, username + "@load.example", config.password())));
+      }
+      for (final var f : userTokens) {
+        tokens.add(f.get());
+      }
+
+      final var tagPopularity = new ZipfianGenerator(TAGS.size(), 1.0);
+      final List<Future<String>> articleSlugs = new ArrayList<>();
+      for (int i = 0; i < config.articles(); i++) {
+        final var token = tokens.get(i % tokens.size());
+        final var tags = new ArrayList<String>();
+        final var tagCount = 1 + random.nextInt(3);
+        for (int t = 0; t < tagCount; t++) {
+          final var tag = TAGS.get(tagPopularity.next(random));
+          if (!tags.contains(tag)) {
+            tags.add(tag);
+          }
+        }
+        final var title = "Load article " + config.seed() + "-" + i;
+        articleSlugs.add(executor.submit(() -> client.createArticle(token, title, tags)));
+      }
+      for (final var f : articleSlugs) {
+        slugs.add(f.get());
+      }
+
+      final List<Future<ConduitClient.Response>> follows = new ArrayList<>();
+      for (int i = 0; i < tokens.size(); i++) {
+        final var token = tokens.get(i);
+        for (int k = 0; k < Math.min(5, usernames.size() - 1); k++) {
+          final var followee = usernames.get(random.nextInt(usernames.size()));
+          if (!followee.equals(usernames.get(i))) {
+            follows.add(executor.submit(() -> client.follow(token, followee, true)));
+          }
+        }
+      }
+      for (final var f : follows) {
+        f.get();
+      }
+    }
+    articlePopularity = new ZipfianGenerator(slugs.size(), config.zipf());
+    System.out.printf("Setup done, workload mix: %s%n", config.mix());
+  }
+
+  /** Runs the warm-up and the measured phase, then prints the summary. */
+  void run() throws InterruptedException {
+    final var warmupReport = new LatencyReport();
+    drive(warmupReport, config.warmup(), false);
+
+    final var report = new LatencyReport();
+    final var reporter = Executors.newSingleThreadScheduledExecutor();
+    final var intervalMillis = config.reportInterval().toMillis();
+    reporter.scheduleAtFixedRate(
+        () -> report.printInterval(System.out, intervalMillis / 1000.0),
+        intervalMillis,
+        intervalMillis,
+        TimeUnit.MILLISECONDS);
+    final var start = System.nanoTime();
+    drive(report, config.duration(), true);
+    reporter.shutdownNow();
+    final var seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%nTarget rate %.1f req/s over %.1f s%n", config.rate(), seconds);
+    report.printSummary(System.out, seconds);
+  }
+
+  private void drive(LatencyReport report, Duration length, boolean measured)
+      throws InterruptedException {
+    if (length.isZero()) {
+      return;
+    }
+    final var random = new Random(config.seed() + (measured ? 1 : 0));
+    final var meanIntervalNanos = 1e9 / config.rate();
+    final var start = System.nanoTime();
+    final var end = start + length.toNanos();
+    double nextArrival = start;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while (true) {
+        final var intended = (long) nextArrival;
+        if (intended - end >= 0) {
+          break;
+        }
+        final var wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        final var op = config.mix().next(random);
+        if (inFlight.get() >= config.maxInFlight()) {
+          report.drop();
+        } else {
+          inFlight.incrementAndGet();
+          executor.execute(() -> execute(op, intended, report));
+        }
+        nextArrival +=
+            config.poisson()
+                ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+      }
+    }
+  }
+
+  private void execute(Operation op, long intendedStart, LatencyReport report) {
+    boolean success = false;
+    try {
+      success = call(op, ThreadLocalRandom.current()).isSuccess();
+    } catch (IOException e) {
+      success = false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      report.record(op, System.nanoTime() - intendedStart, success);
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private ConduitClient.Response call(Operation op, Random random)
+      throws IOException, InterruptedException {
+    final var userIndex = random.nextInt(tokens.size());
+    final var token = tokens.get(userIndex);
+    return switch (op) {
+      case LOGIN ->
+          new ConduitClient.Response(
+              loginStatus(usernames.get(userIndex) + "@load.example"), null);
+      case LIST_ARTICLES -> {
+        final var pages = Math.max(1, slugs.size() / 20);
+        final var viewer = random.nextBoolean() ? token : null;
+        yield client.listArticles(viewer, 20, 20 * random.nextInt(pages));
+      }
+      case FEED -> client.feed(token, 20, 0);
+      case GET_ARTICLE -> client.getArticle(random.nextBoolean() ? token : null, hotSlug(random));
+      case FAVOURITE -> client.favourite(token, hotSlug(random), random.nextBoolean());
+      case FOLLOW -> {
+        final var followee = usernames.get(random.nextInt(usernames.size()));
+        yield client.follow(token, followee, random.nextBoolean());
+      }
+      case GET_COMMENTS -> client.comments(random.nextBoolean() ? token : null, hotSlug(random));
+      case ADD_COMMENT ->
+          client.addComment(token, hotSlug(random), "Comment " + commentCounter.incrementAndGet());
+      case TAGS -> client.tags();
+    };
+  }
+
+  private int loginStatus(String email) throws InterruptedException {
+    try {
+      client.login(email, config.password());
+      return 200;
+    } catch (IOException e) {
+      return 500;
+    }
+  }
+
+  private String hotSlug(Random random) {
+    return slugs.get(articlePopularity.next(random));
+  }
+}
@@ -0,0 +1,24 @@
+package io.realworld.backend.perf.load;
+
+/** Conduit API operations driven by the load generator; each one gets its own histogram. */
+public enum Operation {
+  LOGIN("POST /api/users/login"),
+  LIST_ARTICLES("GET /api/articles"),
+  FEED("GET /api/articles/feed"),
+  GET_ARTICLE("GET /api/articles/{slug}"),
+  FAVOURITE("POST|DELETE /api/articles/{slug}/favorite"),
+  FOLLOW("POST|DELETE /api/profiles/{username}/follow"),
+  GET_COMMENTS("GET /api/articles/{slug}/comments"),
+  ADD_COMMENT("POST /api/articles/{slug}/comments"),
+  TAGS("GET /api/tags");
+
+  private final String endpoint;
+
+  Operation(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+}
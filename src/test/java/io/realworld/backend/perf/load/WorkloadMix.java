@@ -0,0 +1,105 @@
+package io.realworld.backend.perf.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of {@link Operation}s.
+ *
+ * <p>A mix is either a preset name ({@code read-heavy}, {@code balanced}, {@code write-heavy}) or
+ * an explicit list such as {@code get_article:60,list_articles:25,favourite:15}.
+ */
+public final class WorkloadMix {
+  private final Operation[] operations;
+  private final double[] cumulative;
+
+  private WorkloadMix(Map<Operation, Double> weights) {
+    final var entries = weights.entrySet().stream().filter(e -> e.getValue() > 0).toList();
+    if (entries.isEmpty()) {
+      throw new IllegalArgumentException("Workload mix has no positive weights");
+    }
+    operations = new Operation[entries.size()];
+    cumulative = new double[entries.size()];
+    final var total = entries.stream().mapToDouble(Map.Entry::getValue).sum();
+    double acc = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      operations[i] = entries.get(i).getKey();
+      acc += entries.get(i).getValue() / total;
+      cumulative[i] = acc;
+    }
+    cumulative[cumulative.length - 1] = 1.0;
+  }
+
+  /** Parses a preset name or an explicit {@code operation:weight} list. */
+  public static WorkloadMix parse(String spec) {
+    final Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+    switch (spec) {
+      case "read-heavy" -> {
+        weights.put(Operation.GET_ARTICLE, 45.0);
+        weights.put(Operation.LIST_ARTICLES, 25.0);
+        weights.put(Operation.FEED, 10.0);
+        weights.put(Operation.GET_COMMENTS, 8.0);
+        weights.put(Operation.TAGS, 5.0);
+        weights.put(Operation.FAVOURITE, 3.0);
+        weights.put(Operation.FOLLOW, 1.5);
+        weights.put(Operation.ADD_COMMENT, 1.5);
+        weights.put(Operation.LOGIN, 1.0);
+      }
+      case "balanced" -> {
+        weights.put(Operation.GET_ARTICLE, 25.0);
+        weights.put(Operation.LIST_ARTICLES, 20.0);
+        weights.put(Operation.FEED, 15.0);
+        weights.put(Operation.GET_COMMENTS, 10.0);
+        weights.put(Operation.FAVOURITE, 12.0);
+        weights.put(Operation.FOLLOW, 6.0);
+        weights.put(Operation.ADD_COMMENT, 8.0);
+        weights.put(Operation.LOGIN, 4.0);
+      }
+      case "write-heavy" -> {
+        weights.put(Operation.GET_ARTICLE, 20.0);
+        weights.put(Operation.LIST_ARTICLES, 10.0);
+        weights.put(Operation.FAVOURITE, 35.0);
+        weights.put(Operation.FOLLOW, 15.0);
+        weights.put(Operation.ADD_COMMENT, 20.0);
+      }
+      default -> {
+        for (final var part : spec.split(",")) {
+          final var kv = part.trim().split(":");
+          if (kv.length != 2) {
+            throw new IllegalArgumentException("Invalid mix entry: " + part);
+          }
+          weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Double.parseDouble(kv[1]));
+        }
+      }
+    }
+    return new WorkloadMix(weights);
+  }
+
+  /** Picks the next operation. */
+  public Operation next(Random random) {
+    final var u = random.nextDouble();
+    for (int i = 0; i < cumulative.length; i++) {
+      if (u < cumulative[i]) {
+        return operations[i];
+      }
+    }
+    return operations[operations.length - 1];
+  }
+
+  @Override
+  public String toString() {
+    final var sb = new StringBuilder();
+    double prev = 0;
+    for (int i = 0; i < operations.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(operations[i].name().toLowerCase())
+          .append('=')
+          .append(String.format("%.1f%%", (cumulative[i] - prev) * 100));
+      prev = cumulative[i];
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,49 @@
+package io.realworld.backend.perf.load;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks in {@code [0, n)} following a Zipf distribution with exponent {@code s}.
+ *
+ * <p>The cumulative distribution is precomputed once, so each draw is a binary search. Rank 0 is
+ * the most popular item.
+ */
+public final class ZipfianGenerator {
+  private final double[] cdf;
+
+  /** Creates a generator over {@code n} items with skew {@code s} (0 means uniform). */
+  public ZipfianGenerator(int n, double s) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive: " + n);
+    }
+    cdf = new double[n];
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += 1.0 / Math.pow(i + 1, s);
+      cdf[i] = sum;
+    }
+    for (int i = 0; i < n; i++) {
+      cdf[i] /= sum;
+    }
+  }
+
+  /** Returns the next rank. */
+  public int next(RandomGenerator random) {
+    final var u = random.nextDouble();
+    int lo = 0;
+    int hi = cdf.length - 1;
+    while (lo < hi) {
+      final var mid = (lo + hi) >>> 1;
+      if (cdf[mid] < u) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  public int size() {
+    return cdf.length;
+  }
+}
@@ -0,0 +1,438 @@
+package io.realworld.backend.perf.reactive;
+
+import io.realworld.backend.perf.load.ConduitClient;
+import io.realworld.backend.perf.load.LoadConfig;
+import io.realworld.backend.perf.load.ZipfianGenerator;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Servlet against reactive read path under the same anonymous read load.
+ *
+ * <p>Starts each stack in turn as a child process with the same JVM options against the same
+ * PostgreSQL database, drives it with an open-model mix of the public {@code GET}s (article list
+ * pages, some filtered by tag, single articles and profiles with Zipf popularity, and the tag
+ * list), and samples every {@code --sample-interval}: requests in flight, the database
+ * connections of the stack (open, and busy in a statement or transaction, from {@code
+ * pg_stat_activity}), and the threads and resident memory of the child. Memory per in-flight
+ * request is the resident memory under load above the idle baseline, divided by the mean number
+ * of requests in flight; it is coarse, but it shows stacks and thread pools growing with load.
+ *
+ * <pre>
+ *   --jdbc-url=jdbc:postgresql://localhost:5432/conduit   database of both stacks, also sampled
+ *   --r2dbc-url=                     defaults to the JDBC URL with the r2dbc scheme
+ *   --username= --password=          database credentials, default DB_USERNAME and DB_PASSWORD
+ *   --stacks=servlet,reactive        stacks to run, in this order
+ *   --rate=300                       target arrivals per second (open model)
+ *   --warmup=15s --duration=60s      unmeasured warm-up, then the measured run
+ *   --zipf=1.1                       skew of article and profile popularity
+ *   --max-in-flight=5000             arrivals beyond this many outstanding calls are dropped
+ *   --sample-interval=100ms          how often connections, threads and memory are sampled
+ *   --port=18080                     port the child listens on
+ *   --jvm-args=-Xmx512m              space separated JVM options of both children
+ *   --servlet-args=                  program arguments of the servlet child; by default its
+ *                                    public read cache and load shedding are off, so both
+ *                                    stacks query the database for every request
+ *   --timeout=90s                    give up on a start after this long
+ * </pre>
+ *
+ * <p>Run with {@code make read-path-comparison} on a database nobody else uses, since every
+ * client connection counts. The servlet child also writes trending views and runs its outbox
+ * poller, which the reactive path does not.
+ */
+public final class ReadPathComparison {
+  private static final String SERVLET_MAIN = "io.realworld.backend.BackendApplication";
+  private static final String REACTIVE_MAIN = "io.realworld.reactive.ReactiveReadApplication";
+  private static final String DEFAULT_SERVLET_ARGS =
+      "--conduit.public-read-cache.enabled=false --conduit.concurrency-limit.enabled=false";
+  private static final String CONNECTIONS =
+      "SELECT COUNT(*), COUNT(*) FILTER (WHERE state <> 'idle') FROM pg_stat_activity "
+          + "WHERE datname = current_database() AND pid <> pg_backend_pid() "
+          + "AND backend_type = 'client backend'";
+
+  private final Map<String, String> config;
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+  private final List<String> slugs = new ArrayList<>();
+  private final List<String> usernames = new ArrayList<>();
+  private final List<String> tags = new ArrayList<>();
+
+  private ReadPathComparison(Map<String, String> config) {
+    this.config = config;
+  }
+
+  /** Latencies and samples of one phase of load. */
+  private record Phase(
+      Histogram latency, long errors, long dropped, double seconds, Sampler samples) {}
+
+  /** A measured phase of one stack, with the child's idle baseline. */
+  private record Run(String stack, Phase phase, long idleThreads, long idleResidentKilobytes) {}
+
+  /** Mean and maximum of a sampled value. */
+  private static final class Stats {
+    private long count;
+    private double sum;
+    private long max;
+
+    void add(long value) {
+      count++;
+      sum += value;
+      max = Math.max(max, value);
+    }
+
+    double mean() {
+      return count == 0 ? 0 : sum / count;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final Map<String, String> config = new HashMap<>();
+    for (final var arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+      }
+      final var eq = arg.indexOf('=');
+      config.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    new ReadPathComparison(config).run();
+  }
+
+  private void run() throws Exception {
+    final var runs = new ArrayList<Run>();
+    for (final var stack : config.getOrDefault("stacks", "servlet,reactive").split(",")) {
+      runs.add(measure(stack.strip()));
+    }
+    System.out.printf(
+        "%n%-9s %8s %8s %8s %7s %9s %11s %11s %9s %10s %12s%n",
+        "stack",
+        "req/s",
+        "p50 ms",
+        "p99 ms",
+        "errors",
+        "in flight",
+        "conns open",
+        "conns busy",
+        "threads",
+        "RSS MiB",
+        "KiB/request");
+    for (final var run : runs) {
+      final var phase = run.phase();
+      final var samples = phase.samples();
+      final var meanInFlight = samples.inFlight.mean();
+      final var grownKilobytes =
+          Math.max(0, samples.residentKilobytes.mean() - run.idleResidentKilobytes());
+      System.out.printf(
+          "%-9s %8.1f %8.2f %8.2f %7d %9.1f %5.1f/%-5d %5.1f/%-5d %4d/%-4d %10.0f %12.1f%n",
+          run.stack(),
+          phase.latency().getTotalCount() / phase.seconds(),
+          phase.latency().getValueAtPercentile(50) / 1000.0,
+          phase.latency().getValueAtPercentile(99) / 1000.0,
+          phase.errors(),
+          meanInFlight,
+          samples.openConnections.mean(),
+          samples.openConnections.max,
+          samples.busyConnections.mean(),
+          samples.busyConnections.max,
+          run.idleThreads(),
+          samples.threads.max,
+          samples.residentKilobytes.mean() / 1024,
+          meanInFlight == 0 ? 0 : grownKilobytes / meanInFlight);
+      if (phase.dropped() > 0) {
+        System.out.printf(
+            "%s: %d arrivals dropped at the in-flight limit%n", run.stack(), phase.dropped());
+      }
+    }
+    System.out.println(
+        "conns open/busy and threads idle/loaded are mean/max; KiB/request is the resident memory"
+            + " above idle per request in flight");
+  }
+
+  private Run measure(String stack) throws Exception {
+    final var port = config.getOrDefault("port", "18080");
+    final var process = start(stack, port);
+    try (Connection database = openDatabase()) {
+      awaitStarted(process, port);
+      final var client =
+          new ConduitClient("http://localhost:" + port + "/api", Duration.ofSeconds(30));
+      if (slugs.isEmpty()) {
+        discoverKeys(client);
+      }
+      // Let start-up allocation settle before the idle baseline
+      Thread.sleep(2000);
+      final var idleThreads = procStatus(process.pid(), "Threads:").orElse(0);
+      final var idleRss = procStatus(process.pid(), "VmRSS:").orElse(0);
+      System.out.printf(
+          "%s: idle with %d threads, RSS %d MiB%n", stack, idleThreads, idleRss / 1024);
+
+      drive(client, duration("warmup", "15s"), false, database, process.pid());
+      final var measured =
+          drive(client, duration("duration", "60s"), true, database, process.pid());
+      return new Run(stack, measured, idleThreads, idleRss);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private Process start(String stack, String port) throws IOException {
+    final List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(words(config.getOrDefault("jvm-args", "-Xmx512m")));
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    final var builder = new ProcessBuilder(command).redirectErrorStream(true);
+    builder.redirectOutput(Path.of("target", "read-path-" + stack + ".log").toFile());
+    final var env = builder.environment();
+    env.put("DB_USERNAME", username());
+    env.put("DB_PASSWORD", password());
+    switch (stack) {
+      case "servlet" -> {
+        command.add(SERVLET_MAIN);
+        command.addAll(words(config.getOrDefault("servlet-args", DEFAULT_SERVLET_ARGS)));
+        env.put("SPRING_PROFILE", "prod");
+        env.put("DB_URL", jdbcUrl());
+        env.put("PORT", port);
+        env.put("MANAGEMENT_PORT", "0");
+      }
+      case "reactive" -> {
+        command.add(REACTIVE_MAIN);
+        env.put(
+            "R2DBC_URL",
+            config.getOrDefault("r2dbc-url", "r2dbc:" + jdbcUrl().substring("jdbc:".length())));
+        env.put("REACTIVE_PORT", port);
+      }
+      default -> throw new IllegalArgumentException("Unknown stack: " + stack);
+    }
+    System.out.printf("%s: starting, output in target/read-path-%s.log%n", stack, stack);
+    return builder.start();
+  }
+
+  private void awaitStarted(Process process, String port) throws IOException, InterruptedException {
+    final var timeout = duration("timeout", "90s");
+    final var request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tags"))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+    final var deadline = System.nanoTime() + timeout.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IOException("Child exited with " + process.exitValue());
+      }
+      try {
+        if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // Not listening yet
+      }
+      Thread.sleep(50);
+    }
+    throw new IOException("No successful /api/tags within " + timeout);
+  }
+
+  /** Reads the slugs, authors and tags the workload draws from, most recent articles first. */
+  private void discoverKeys(ConduitClient client) throws IOException, InterruptedException {
+    final var authors = new LinkedHashSet<String>();
+    final var articles = Objects.requireNonNull(client.listArticles(null, 500, 0).body());
+    for (final var article : articles.path("articles")) {
+      slugs.add(article.path("slug").asText());
+      authors.add(article.path("author").path("username").asText());
+    }
+    usernames.addAll(authors);
+    Objects.requireNonNull(client.tags().body())
+        .path("tags")
+        .forEach(tag -> tags.add(tag.asText()));
+    if (slugs.isEmpty() || tags.isEmpty()) {
+      throw new IOException("The database has no articles or tags; run make dataset first");
+    }
+    System.out.printf(
+        "Workload over %d articles, %d authors and %d tags%n",
+        slugs.size(), usernames.size(), tags.size());
+  }
+
+  /** One phase of load at the target rate; samples only when {@code measured}. */
+  private Phase drive(
+      ConduitClient client, Duration length, boolean measured, Connection database, long pid)
+      throws InterruptedException {
+    final var rate = Double.parseDouble(config.getOrDefault("rate", "300"));
+    final var zipf = Double.parseDouble(config.getOrDefault("zipf", "1.1"));
+    final var maxInFlight = Integer.parseInt(config.getOrDefault("max-in-flight", "5000"));
+    final var articlePopularity = new ZipfianGenerator(slugs.size(), zipf);
+    final var authorPopularity = new ZipfianGenerator(usernames.size(), zipf);
+    final var tagPopularity = new ZipfianGenerator(tags.size(), 1.0);
+    final var random = new Random(measured ? 43 : 42);
+    final var latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+    final var errors = new LongAdder();
+    final var dropped = new LongAdder();
+    final var inFlight = new AtomicInteger();
+    final var samples = new Sampler(inFlight, database, pid);
+    final var sampler = Executors.newSingleThreadScheduledExecutor();
+    if (measured) {
+      final var interval = duration("sample-interval", "100ms").toMillis();
+      sampler.scheduleAtFixedRate(samples::sample, 0, interval, TimeUnit.MILLISECONDS);
+    }
+    final var meanIntervalNanos = 1e9 / rate;
+    final var start = System.nanoTime();
+    final var end = start + length.toNanos();
+    double nextArrival = start;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while ((long) nextArrival - end < 0) {
+        final var intended = (long) nextArrival;
+        final var wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        final var pick = random.nextInt(100);
+        final var slug = slugs.get(articlePopularity.next(random));
+        final var username = usernames.get(authorPopularity.next(random));
+        final var tag = tags.get(tagPopularity.next(random));
+        final var page = random.nextInt(Math.max(1, Math.min(10, slugs.size() / 20)));
+        if (inFlight.get() >= maxInFlight) {
+          dropped.increment();
+        } else {
+          inFlight.incrementAndGet();
+          executor.execute(
+              () -> {
+                var success = false;
+                try {
+                  final ConduitClient.Response response;
+                  if (pick < 30) {
+                    response = client.listArticles(null, 20, 20 * page);
+                  } else if (pick < 40) {
+                    response = client.listArticlesByTag(tag, 20, 0);
+                  } else if (pick < 75) {
+                    response = client.getArticle(null, slug);
+                  } else if (pick < 90) {
+                    response = client.profile(null, username);
+                  } else {
+                    response = client.tags();
+                  }
+                  success = response.isSuccess();
+                } catch (IOException e) {
+                  success = false;
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                } finally {
+                  final var micros =
+                      TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                  latency.recordValue(
+                      Math.max(1, Math.min(micros, latency.getHighestTrackableValue())));
+                  if (!success) {
+                    errors.increment();
+                  }
+                  inFlight.decrementAndGet();
+                }
+              });
+        }
+        nextArrival += -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos;
+      }
+    } finally {
+      sampler.shutdownNow();
+      sampler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    final var seconds = (System.nanoTime() - start) / 1e9;
+    return new Phase(latency, errors.sum(), dropped.sum(), seconds, samples);
+  }
+
+  /** Periodic samples of one run; only the sampler thread writes them. */
+  private static final class Sampler {
+    private final AtomicInteger requestsInFlight;
+    private final Connection database;
+    private final long pid;
+    final Stats inFlight = new Stats();
+    final Stats openConnections = new Stats();
+    final Stats busyConnections = new Stats();
+    final Stats threads = new Stats();
+    final Stats residentKilobytes = new Stats();
+
+    Sampler(AtomicInteger requestsInFlight, Connection database, long pid) {
+      this.requestsInFlight = requestsInFlight;
+      this.database = database;
+      this.pid = pid;
+    }
+
+    void sample() {
+      inFlight.add(requestsInFlight.get());
+      try (var statement = database.createStatement();
+          var rows = statement.executeQuery(CONNECTIONS)) {
+        rows.next();
+        openConnections.add(rows.getLong(1));
+        busyConnections.add(rows.getLong(2));
+      } catch (SQLException e) {
+        System.err.println("Could not sample connections: " + e.getMessage());
+      }
+      procStatus(pid, "Threads:").ifPresent(threads::add);
+      procStatus(pid, "VmRSS:").ifPresent(residentKilobytes::add);
+    }
+  }
+
+  private Connection openDatabase() throws SQLException {
+    return DriverManager.getConnection(jdbcUrl(), username(), password());
+  }
+
+  private String jdbcUrl() {
+    final var url = config.get("jdbc-url");
+    if (url == null) {
+      throw new IllegalArgumentException("--jdbc-url is required");
+    }
+    return url;
+  }
+
+  private String username() {
+    return config.getOrDefault("username", System.getenv().getOrDefault("DB_USERNAME", ""));
+  }
+
+  private String password() {
+    return config.getOrDefault("password", System.getenv().getOrDefault("DB_PASSWORD", ""));
+  }
+
+  private Duration duration(String key, String defaultValue) {
+    return LoadConfig.duration(config.getOrDefault(key, defaultValue));
+  }
+
+  private static List<String> words(String value) {
+    return value.isBlank() ? List.of() : Arrays.asList(value.strip().split("\\s+"));
+  }
+
+  /** A numeric field of procfs status, e.g. {@code VmRSS:} in kB; empty where unavailable. */
+  private static OptionalLong procStatus(long pid, String field) {
+    final var status = Path.of("/proc", Long.toString(pid), "status");
+    try {
+      return Files.readAllLines(status).stream()
+          .filter(line -> line.startsWith(field))
+          .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+          .findFirst();
+    } catch (IOException e) {
+      return OptionalLong.empty();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.realworld.backend.perf.serialization;
+
+import io.realworld.backend.application.dto.ArticleListResponseData;
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
+import io.realworld.backend.application.util.SortedLongSet;
+import io.realworld.backend.domain.readmodel.ArticleListItem;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Article list serialization: the mapped {@code MultipleArticlesResponseData} written by Jackson
+ * against the streaming {@link ArticleListResponseData} serializer, for one page of rows.
+ *
+ * <p>Run with {@code make serialization-benchmark}, which adds {@code -prof gc} so the report
+ * includes bytes allocated per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleListSerializationBenchmark {
+  /** Default settings, like the application's mapper. */
+  private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+  @Param({"20", "100"})
+  public int pageSize;
+
+  private List<ArticleListItem> articles = List.of();
+  private MultipleFavouriteInfo favourites = new MultipleFavouriteInfo(Set.of(), Map.of());
+  private SortedLongSet following = SortedLongSet.EMPTY;
+
+  @Setup
+  public void setUp() {
+    final var rows = new ArrayList<ArticleListItem>(pageSize);
+    final var favourited = new HashSet<Long>();
+    final var counts = new HashMap<Long, Long>();
+    final var followed = new HashSet<Long>();
+    final var now = Instant.parse("2025-06-01T12:00:00.123456Z");
+    for (int i = 0; i < pageSize; i++) {
+      final long authorId = i % 7;
+      final var createdAt = now.minusSeconds(3_600L * i).minusNanos(1_000L * i);
+      rows.add(
+          new ArticleListItem(
+              i,
+              "how-to-train-your-dragon-" + i,
+              "How to train your dragon, part " + i,
+              "Ever wonder how?",
+              "It takes a Jacobian. ".repeat(20),
+              List.of("dragons", "training", "tag-" + (i % 5)),
+              authorId,
+              "author-" + authorId,
+              i % 2 == 0 ? null : "I work at statefarm",
+              i % 3 == 0 ? null : "https://api.realworld.io/images/smiley-cyrus.jpg",
+              i * 3L,
+              createdAt,
+              i % 4 == 0 ? createdAt : createdAt.plusSeconds(60)));
+      counts.put((long) i, i * 3L);
+      if (i % 3 == 0) {
+        favourited.add((long) i);
+      }
+      if (authorId % 2 == 0) {
+        followed.add(authorId);
+      }
+    }
+    articles = rows;
+    favourites = new MultipleFavouriteInfo(favourited, counts);
+    following = SortedLongSet.of(followed);
+  }
+
+  @Benchmark
+  public byte[] mapped() {
+    return MAPPER.writeValueAsBytes(
+        Mappers.toMultipleArticlesResponseData(articles, favourites, following, 500));
+  }
+
+  @Benchmark
+  public byte[] streamed() {
+    return MAPPER.writeValueAsBytes(
+        new ArticleListResponseData(articles, favourites, following, 500));
+  }
+}
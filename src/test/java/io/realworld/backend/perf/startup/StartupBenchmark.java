@@ -0,0 +1,159 @@
+package io.realworld.backend.perf.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start benchmark.
+ *
+ * <p>Starts the packaged application as a child process several times and reports, per run, the
+ * time from process start to the first successful {@code GET /api/tags} and the resident memory of
+ * the process at that moment. Comparing a plain build with {@code -Paot} and a CDS archive shows
+ * what the fast-start mode buys.
+ *
+ * <pre>
+ *   --jar=target/backend-0.0.1-SNAPSHOT.jar   application jar (or the extracted one)
+ *   --jvm-args=                               space separated, e.g. -Dspring.aot.enabled=true
+ *                                             -XX:SharedArchiveFile=application.jsa
+ *   --runs=5                                  measured starts
+ *   --port=18080                              port the child listens on
+ *   --profile=dev                             SPRING_PROFILE of the child
+ *   --timeout=60s                             give up on a start after this long
+ * </pre>
+ *
+ * <p>Run with {@code make startup-benchmark}. The child inherits the environment, so a prod
+ * profile run needs the usual {@code DB_*} variables.
+ */
+public final class StartupBenchmark {
+  private final Map<String, String> config;
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+  private StartupBenchmark(Map<String, String> config) {
+    this.config = config;
+  }
+
+  /** One measured start. */
+  private record Run(long millisToFirstRequest, OptionalLong residentKilobytes) {}
+
+  public static void main(String[] args) throws Exception {
+    final Map<String, String> config = new HashMap<>();
+    for (final var arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+      }
+      final var eq = arg.indexOf('=');
+      config.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    new StartupBenchmark(config).run();
+  }
+
+  private void run() throws IOException, InterruptedException {
+    final var runs = Integer.parseInt(config.getOrDefault("runs", "5"));
+    final var results = new ArrayList<Run>();
+    for (int i = 0; i < runs; i++) {
+      final var result = start();
+      results.add(result);
+      System.out.printf(
+          "run %d: first /api/tags after %d ms, RSS %s%n",
+          i + 1, result.millisToFirstRequest(), formatRss(result.residentKilobytes()));
+    }
+    final var millis = results.stream().mapToLong(Run::millisToFirstRequest).sorted().toArray();
+    final var rss =
+        results.stream()
+            .map(Run::residentKilobytes)
+            .filter(OptionalLong::isPresent)
+            .mapToLong(OptionalLong::getAsLong)
+            .sorted()
+            .toArray();
+    System.out.printf(
+        "time to first request: min %d ms, median %d ms, max %d ms%n",
+        millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+    if (rss.length > 0) {
+      System.out.printf("resident memory: median %d MiB%n", rss[rss.length / 2] / 1024);
+    }
+  }
+
+  private Run start() throws IOException, InterruptedException {
+    final var port = config.getOrDefault("port", "18080");
+    final var timeout = Duration.parse("PT" + config.getOrDefault("timeout", "60s"));
+    final List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    final var jvmArgs = config.getOrDefault("jvm-args", "").trim();
+    if (!jvmArgs.isEmpty()) {
+      command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+    }
+    command.add("-jar");
+    command.add(config.getOrDefault("jar", "target/backend-0.0.1-SNAPSHOT.jar"));
+    final var builder = new ProcessBuilder(command).redirectErrorStream(true);
+    builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+    builder.environment().put("PORT", port);
+    builder.environment().put("MANAGEMENT_PORT", "0");
+    builder.environment().put("SPRING_PROFILE", config.getOrDefault("profile", "dev"));
+
+    final var started = System.nanoTime();
+    final var process = builder.start();
+    try {
+      final var request =
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tags"))
+              .timeout(Duration.ofSeconds(5))
+              .GET()
+              .build();
+      final var deadline = started + timeout.toNanos();
+      while (System.nanoTime() < deadline) {
+        if (!process.isAlive()) {
+          throw new IOException("Application exited with " + process.exitValue());
+        }
+        if (isOk(request)) {
+          final var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+          return new Run(elapsed, residentKilobytes(process.pid()));
+        }
+        Thread.sleep(10);
+      }
+      throw new IOException("No successful /api/tags within " + timeout);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private boolean isOk(HttpRequest request) throws InterruptedException {
+    try {
+      return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /** VmRSS from procfs; empty where that is not available. */
+  private static OptionalLong residentKilobytes(long pid) {
+    final var status = Path.of("/proc", Long.toString(pid), "status");
+    try {
+      return Files.readAllLines(status).stream()
+          .filter(line -> line.startsWith("VmRSS:"))
+          .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+          .findFirst();
+    } catch (IOException e) {
+      return OptionalLong.empty();
+    }
+  }
+
+  private static String formatRss(OptionalLong kilobytes) {
+    return kilobytes.isPresent() ? kilobytes.getAsLong() / 1024 + " MiB" : "n/a";
+  }
+}